@@ -0,0 +1,94 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.listener;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.pitest.mutationtest.ClassMutationResults;
+import org.pitest.mutationtest.MutationResult;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.engine.MutationDetails;
+
+/**
+ * Writes each mutation result to the binary report as soon as pitest reports it.
+ */
+class BinaryReportListener implements MutationResultListener {
+
+  /**
+   * Killing test description of pitest when no test killed the mutant.
+   */
+  private static final String NO_KILLING_TEST = "none";
+
+  private final File reportFile;
+  private BinaryReportWriter writer;
+
+  BinaryReportListener(File reportFile) {
+    this.reportFile = reportFile;
+  }
+
+  @Override
+  public void runStart() {
+    File directory = reportFile.getAbsoluteFile().getParentFile();
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new UncheckedIOException(new IOException("Unable to create directory " + directory));
+    }
+    try {
+      writer = new BinaryReportWriter(new FileOutputStream(reportFile));
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to create binary report " + reportFile, e);
+    }
+  }
+
+  @Override
+  public void handleMutationResult(ClassMutationResults results) {
+    try {
+      for (MutationResult result : results.getMutations()) {
+        MutationDetails details = result.getDetails();
+        String killingTest = result.getKillingTestDescription();
+        writer.writeMutant(
+          details.getFilename(),
+          details.getClassName().asJavaName(),
+          details.getMethod().name(),
+          details.getId().getLocation().getMethodDesc(),
+          details.getLineNumber(),
+          details.getMutator(),
+          details.getFirstIndex(),
+          details.getBlock(),
+          details.getDescription(),
+          NO_KILLING_TEST.equals(killingTest) ? null : killingTest,
+          result.getStatus().name(),
+          result.getStatus().isDetected());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to write binary report " + reportFile, e);
+    }
+  }
+
+  @Override
+  public void runEnd() {
+    try {
+      writer.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to close binary report " + reportFile, e);
+    }
+  }
+}
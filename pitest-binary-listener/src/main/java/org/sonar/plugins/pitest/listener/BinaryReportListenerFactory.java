@@ -0,0 +1,53 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.listener;
+
+import java.io.File;
+import java.util.Properties;
+import org.pitest.mutationtest.ListenerArguments;
+import org.pitest.mutationtest.MutationResultListener;
+import org.pitest.mutationtest.MutationResultListenerFactory;
+
+/**
+ * Pitest output format "BINARY", enabled with outputFormats. The report file is set with the binaryReportFile
+ * plugin configuration property. The {@link ListenerArguments} of pitest only let its listeners write text files to
+ * the report directory, so the default, target/pit-reports/mutations.bin, is relative to the working directory of
+ * the build: multi-module builds must set the property per module, e.g. from the build directory of the module.
+ */
+public class BinaryReportListenerFactory implements MutationResultListenerFactory {
+
+  static final String REPORT_FILE_PROPERTY = "binaryReportFile";
+  static final String DEFAULT_REPORT_FILE = "target/pit-reports/mutations.bin";
+
+  @Override
+  public MutationResultListener getListener(Properties props, ListenerArguments args) {
+    return new BinaryReportListener(new File(props.getProperty(REPORT_FILE_PROPERTY, DEFAULT_REPORT_FILE)));
+  }
+
+  @Override
+  public String name() {
+    return "BINARY";
+  }
+
+  @Override
+  public String description() {
+    return "Binary report for the SonarQube pitest plugin";
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.listener;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the binary pitest report read by the SonarQube pitest plugin (BinaryReportReader).
+ * <p>
+ * All values are big-endian. The report starts with the magic bytes "PITB" and an int version, followed by entries,
+ * each starting with a tag byte:
+ * <ul>
+ * <li>{@link #STRING}: int byte length and UTF-8 bytes of a string. Strings are numbered from 0 in order of
+ * appearance and are written once, before the first record referencing them.</li>
+ * <li>{@link #MUTANT}: fixed-width record of ints: source file, mutated class, mutated method, method description,
+ * line number, mutator, index, basic block, description, killing test (-1 when none) and status; then a detected
+ * byte. Strings are referenced by number. The block, added in version 2, matches the mutants with the line coverage
+ * exported by pitest.</li>
+ * <li>{@link #END}: int number of mutant records. A report without it is truncated.</li>
+ * </ul>
+ */
+public class BinaryReportWriter implements Closeable {
+
+  public static final byte[] MAGIC = {'P', 'I', 'T', 'B'};
+  public static final int VERSION = 2;
+  public static final byte STRING = 1;
+  public static final byte MUTANT = 2;
+  public static final byte END = 3;
+  public static final int NONE = -1;
+
+  private final DataOutputStream out;
+  private final Map<String, Integer> dictionary = new HashMap<>();
+  private int mutants;
+
+  public BinaryReportWriter(OutputStream outputStream) throws IOException {
+    this.out = new DataOutputStream(new BufferedOutputStream(outputStream, 64 * 1024));
+    out.write(MAGIC);
+    out.writeInt(VERSION);
+  }
+
+  public void writeMutant(String sourceFile, String mutatedClass, String mutatedMethod, String methodDescription, int lineNumber,
+    String mutator, int index, int block, String description, String killingTest, String status, boolean detected) throws IOException {
+    int[] record = {
+      id(sourceFile),
+      id(mutatedClass),
+      id(mutatedMethod),
+      id(methodDescription),
+      lineNumber,
+      id(mutator),
+      index,
+      block,
+      id(description),
+      killingTest == null ? NONE : id(killingTest),
+      id(status)
+    };
+    out.writeByte(MUTANT);
+    for (int value : record) {
+      out.writeInt(value);
+    }
+    out.writeBoolean(detected);
+    mutants++;
+  }
+
+  private int id(String value) throws IOException {
+    String nonNull = value == null ? "" : value;
+    Integer id = dictionary.get(nonNull);
+    if (id == null) {
+      id = dictionary.size();
+      dictionary.put(nonNull, id);
+      byte[] bytes = nonNull.getBytes(StandardCharsets.UTF_8);
+      out.writeByte(STRING);
+      out.writeInt(bytes.length);
+      out.write(bytes);
+    }
+    return id;
+  }
+
+  int mutantCount() {
+    return mutants;
+  }
+
+  /**
+   * Writes the end marker and closes the report.
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      out.writeByte(END);
+      out.writeInt(mutants);
+    } finally {
+      out.close();
+    }
+  }
+}
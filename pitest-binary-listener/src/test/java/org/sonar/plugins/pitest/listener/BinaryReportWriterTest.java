@@ -0,0 +1,84 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.listener;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BinaryReportWriterTest {
+
+  @Test
+  public void should_write_strings_once_and_fixed_width_records() throws IOException {
+    // given
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+    // when
+    try (BinaryReportWriter writer = new BinaryReportWriter(bytes)) {
+      writer.writeMutant("Bar.java", "com.foo.Bar", "compute", "(I)I", 10, "MathMutator", 3, 0, "changed", "com.foo.BarTest", "KILLED", true);
+      writer.writeMutant("Bar.java", "com.foo.Bar", "compute", "(I)I", 12, "MathMutator", 4, 2, "changed", null, "SURVIVED", false);
+    }
+
+    // then
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    byte[] magic = new byte[4];
+    in.readFully(magic);
+    assertThat(magic).isEqualTo(BinaryReportWriter.MAGIC);
+    assertThat(in.readInt()).isEqualTo(BinaryReportWriter.VERSION);
+
+    // strings of the first record: source file, class, method, description, mutator, description, killing test, status
+    for (String expected : new String[] {"Bar.java", "com.foo.Bar", "compute", "(I)I", "MathMutator", "changed", "com.foo.BarTest", "KILLED"}) {
+      assertThat(readString(in)).isEqualTo(expected);
+    }
+    assertThat(in.readByte()).isEqualTo(BinaryReportWriter.MUTANT);
+    assertThat(readRecord(in)).containsExactly(0, 1, 2, 3, 10, 4, 3, 0, 5, 6, 7);
+    assertThat(in.readBoolean()).isTrue();
+
+    // only the new status string is written for the second record
+    assertThat(readString(in)).isEqualTo("SURVIVED");
+    assertThat(in.readByte()).isEqualTo(BinaryReportWriter.MUTANT);
+    assertThat(readRecord(in)).containsExactly(0, 1, 2, 3, 12, 4, 4, 2, 5, BinaryReportWriter.NONE, 8);
+    assertThat(in.readBoolean()).isFalse();
+
+    assertThat(in.readByte()).isEqualTo(BinaryReportWriter.END);
+    assertThat(in.readInt()).isEqualTo(2);
+    assertThat(in.read()).isEqualTo(-1);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    assertThat(in.readByte()).isEqualTo(BinaryReportWriter.STRING);
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int[] readRecord(DataInputStream in) throws IOException {
+    int[] record = new int[11];
+    for (int i = 0; i < record.length; i++) {
+      record[i] = in.readInt();
+    }
+    return record;
+  }
+}
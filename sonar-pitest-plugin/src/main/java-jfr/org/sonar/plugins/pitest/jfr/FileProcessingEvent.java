@@ -0,0 +1,72 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.sonar.plugins.pitest.PitestEvents;
+
+@Name("org.sonar.pitest.FileProcessing")
+@Label("PIT Source File Processing")
+@Description("Coverage, measures and issues of the mutants of a source file")
+@Category({"SonarQube", "Pitest"})
+class FileProcessingEvent extends Event implements PitestEvents.Scope {
+
+  @Label("Source File")
+  String relativePath;
+
+  @Label("Mutants")
+  long mutants;
+
+  @Label("Issues")
+  @Description("Issues created while processing the file, issues deferred by the issue budget excluded")
+  long issues;
+
+  @Label("Measures")
+  long measures;
+
+  FileProcessingEvent(String relativePath) {
+    this.relativePath = relativePath;
+    begin();
+  }
+
+  @Override
+  public void mutants(long mutants) {
+    this.mutants = mutants;
+  }
+
+  @Override
+  public void issues(long issues) {
+    this.issues = issues;
+  }
+
+  @Override
+  public void measures(long measures) {
+    this.measures = measures;
+  }
+
+  @Override
+  public void close() {
+    commit();
+  }
+}
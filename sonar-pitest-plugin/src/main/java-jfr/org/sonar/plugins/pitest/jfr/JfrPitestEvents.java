@@ -0,0 +1,55 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.jfr;
+
+import jdk.jfr.EventType;
+import org.sonar.plugins.pitest.PitestEvents;
+
+/**
+ * Java Flight Recorder implementation of {@link PitestEvents}, loaded by name so that the plugin still works on JVMs
+ * without JFR. An event is only created while a recording enables its type.
+ */
+public class JfrPitestEvents implements PitestEvents {
+
+  private final EventType reportDiscovery = EventType.getEventType(ReportDiscoveryEvent.class);
+  private final EventType reportParse = EventType.getEventType(ReportParseEvent.class);
+  private final EventType fileProcessing = EventType.getEventType(FileProcessingEvent.class);
+  private final EventType compute = EventType.getEventType(ComputeEvent.class);
+
+  @Override
+  public Scope reportDiscovery(String reportDirectory) {
+    return reportDiscovery.isEnabled() ? new ReportDiscoveryEvent(reportDirectory) : NOOP_SCOPE;
+  }
+
+  @Override
+  public Scope reportParse(String report) {
+    return reportParse.isEnabled() ? new ReportParseEvent(report) : NOOP_SCOPE;
+  }
+
+  @Override
+  public Scope fileProcessing(String relativePath) {
+    return fileProcessing.isEnabled() ? new FileProcessingEvent(relativePath) : NOOP_SCOPE;
+  }
+
+  @Override
+  public Scope compute(String componentKey) {
+    return compute.isEnabled() ? new ComputeEvent(componentKey) : NOOP_SCOPE;
+  }
+}
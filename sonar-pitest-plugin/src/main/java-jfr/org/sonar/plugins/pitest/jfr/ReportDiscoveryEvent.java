@@ -0,0 +1,47 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.sonar.plugins.pitest.PitestEvents;
+
+@Name("org.sonar.pitest.ReportDiscovery")
+@Label("PIT Report Discovery")
+@Description("Search of the latest PIT report in the report directory")
+@Category({"SonarQube", "Pitest"})
+class ReportDiscoveryEvent extends Event implements PitestEvents.Scope {
+
+  @Label("Report Directory")
+  String reportDirectory;
+
+  ReportDiscoveryEvent(String reportDirectory) {
+    this.reportDirectory = reportDirectory;
+    begin();
+  }
+
+  @Override
+  public void close() {
+    commit();
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.sonar.plugins.pitest.PitestEvents;
+
+@Name("org.sonar.pitest.ReportParse")
+@Label("PIT Report Parse")
+@Description("Parse of a PIT report, or of a shard of it")
+@Category({"SonarQube", "Pitest"})
+class ReportParseEvent extends Event implements PitestEvents.Scope {
+
+  @Label("Report")
+  String report;
+
+  @Label("Report Size")
+  @DataAmount
+  long bytes;
+
+  @Label("Mutants")
+  @Description("Mutants kept by the source file filter")
+  long mutants;
+
+  ReportParseEvent(String report) {
+    this.report = report;
+    begin();
+  }
+
+  @Override
+  public void bytes(long bytes) {
+    this.bytes = bytes;
+  }
+
+  @Override
+  public void mutants(long mutants) {
+    this.mutants = mutants;
+  }
+
+  @Override
+  public void close() {
+    commit();
+  }
+}
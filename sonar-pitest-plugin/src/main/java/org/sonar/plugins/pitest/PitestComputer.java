@@ -0,0 +1,191 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest;
+
+import java.util.stream.Stream;
+import org.sonar.api.ExtensionPoint;
+import org.sonar.api.ce.ComputeEngineSide;
+import org.sonar.api.ce.measure.Measure;
+import org.sonar.api.ce.measure.MeasureComputer;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.pitest.domain.MutationScoreEstimate;
+import org.sonar.plugins.pitest.domain.MutatorDistribution;
+
+/**
+ * MeasureComputer that processes the aggregated quantitative metric for a component from all the quantitative metrics
+ * of its children.
+ */
+@ComputeEngineSide
+@ExtensionPoint
+public class PitestComputer implements MeasureComputer {
+
+  private static final Logger log = Loggers.get(PitestComputer.class);
+
+  private static final String[] measureKeys = {PitestMetrics.MUTATIONS_NOT_COVERED_KEY,
+    PitestMetrics.MUTATIONS_GENERATED_KEY,
+    PitestMetrics.MUTATIONS_KILLED_KEY,
+    PitestMetrics.MUTATIONS_SURVIVED_KEY,
+    PitestMetrics.MUTATIONS_ERROR_KEY,
+    PitestMetrics.MUTATIONS_UNKNOWN_KEY,
+    PitestMetrics.MUTATIONS_ADDED_KEY,
+    PitestMetrics.MUTATIONS_REMOVED_KEY,
+    PitestMetrics.MUTATIONS_STATUS_CHANGED_KEY
+  };
+  private static final int GENERATED_INDEX = 1;
+  private static final int KILLED_INDEX = 2;
+  /**
+   * The counters from this index on are only saved by analyses compared with a base report: they are aggregated only
+   * where a child has them, instead of being stored as 0 on every component.
+   */
+  private static final int FIRST_DIFF_INDEX = 6;
+  
+  private static final String[] derivedKeys = {PitestMetrics.MUTATIONS_DATA_KEY,
+    PitestMetrics.MUTATIONS_KILLED_PERCENT_KEY,
+    PitestMetrics.MUTATIONS_BY_MUTATOR_KEY,
+    PitestMetrics.WORST_METHOD_KILLED_PERCENT_KEY,
+    PitestMetrics.MUTATIONS_POPULATION_KEY,
+    PitestMetrics.MUTATIONS_KILLED_PERCENT_LOW_KEY,
+    PitestMetrics.MUTATIONS_KILLED_PERCENT_HIGH_KEY};
+
+  @Override
+  public MeasureComputerDefinition define(final MeasureComputerDefinitionContext defContext) {
+    return defContext.newDefinitionBuilder()
+      .setOutputMetrics(Stream.of(measureKeys, derivedKeys).flatMap(Stream::of).toArray(String[]::new))
+      .build();
+  }
+
+  @Override
+  // the event scope is closed by try-with-resources without being referenced in its body
+  @SuppressWarnings("try")
+  public void compute(final MeasureComputerContext context) {
+    try (PitestEvents.Scope event = PitestEvents.get().compute(componentKey(context))) {
+      computeMeasures(context);
+    }
+  }
+
+  private static String componentKey(final MeasureComputerContext context) {
+    return context.getComponent() == null ? null : context.getComponent().getKey();
+  }
+
+  private void computeMeasures(final MeasureComputerContext context) {
+    // one primitive accumulator per counter, filled from the component's own measure or folded from its children
+    final int[] totals = new int[measureKeys.length];
+    int failures = 0;
+    String failedKey = null;
+    IllegalStateException failure = null;
+
+    for (int i = 0; i < measureKeys.length; i++) {
+      final Measure own = context.getMeasure(measureKeys[i]);
+      if (own != null) {
+        totals[i] = own.getIntValue();
+        continue;
+      }
+      int sum = 0;
+      boolean present = false;
+      for (Measure m : context.getChildrenMeasures(measureKeys[i])) {
+        present = true;
+        try {
+          sum += m.getIntValue();
+        } catch (IllegalStateException e) {
+          failures++;
+          failedKey = measureKeys[i];
+          failure = e;
+        }
+      }
+      totals[i] = sum;
+      if (present || i < FIRST_DIFF_INDEX) {
+        context.addMeasure(measureKeys[i], sum);
+      }
+    }
+
+    if (failures > 0) {
+      log.error("Failed to compute {} child value(s), last one for {}.", failures, failedKey, failure);
+    }
+    computeDerived(context, totals[GENERATED_INDEX], totals[KILLED_INDEX]);
+    computeMutatorDistribution(context);
+    computeWorstMethod(context);
+    computeSampledEstimate(context, totals[GENERATED_INDEX], totals[KILLED_INDEX]);
+  }
+
+  private void computeMutatorDistribution(final MeasureComputerContext context) {
+    if (context.getMeasure(PitestMetrics.MUTATIONS_BY_MUTATOR_KEY) != null) {
+      return;
+    }
+    MutatorDistribution distribution = new MutatorDistribution();
+    for (Measure m : context.getChildrenMeasures(PitestMetrics.MUTATIONS_BY_MUTATOR_KEY)) {
+      try {
+        distribution.mergeEncoded(m.getStringValue());
+      } catch (IllegalStateException | IllegalArgumentException e) {
+        log.error("Failed to compute value for {}.", PitestMetrics.MUTATIONS_BY_MUTATOR_KEY, e);
+      }
+    }
+    if (!distribution.isEmpty()) {
+      context.addMeasure(PitestMetrics.MUTATIONS_BY_MUTATOR_KEY, distribution.encode());
+    }
+  }
+
+  private static void computeWorstMethod(final MeasureComputerContext context) {
+    if (context.getMeasure(PitestMetrics.WORST_METHOD_KILLED_PERCENT_KEY) != null) {
+      return;
+    }
+    double worst = Double.NaN;
+    for (Measure m : context.getChildrenMeasures(PitestMetrics.WORST_METHOD_KILLED_PERCENT_KEY)) {
+      worst = Double.isNaN(worst) ? m.getDoubleValue() : Math.min(worst, m.getDoubleValue());
+    }
+    if (!Double.isNaN(worst)) {
+      context.addMeasure(PitestMetrics.WORST_METHOD_KILLED_PERCENT_KEY, worst);
+    }
+  }
+
+  /**
+   * For a sampled run, publishes the confidence interval of the mutation coverage, the generated and killed mutations
+   * being those of the sample and the population the estimated number of mutations of a full run. The population is
+   * only saved on files of sampled runs, so that full runs get no interval.
+   */
+  private static void computeSampledEstimate(final MeasureComputerContext context, int sampled, int killed) {
+    Measure own = context.getMeasure(PitestMetrics.MUTATIONS_POPULATION_KEY);
+    int population;
+    if (own != null) {
+      population = own.getIntValue();
+    } else {
+      population = 0;
+      for (Measure m : context.getChildrenMeasures(PitestMetrics.MUTATIONS_POPULATION_KEY)) {
+        population += m.getIntValue();
+      }
+      if (population == 0) {
+        return;
+      }
+      context.addMeasure(PitestMetrics.MUTATIONS_POPULATION_KEY, population);
+    }
+    if (sampled > 0 && context.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_LOW_KEY) == null) {
+      MutationScoreEstimate estimate = MutationScoreEstimate.of(killed, sampled, population);
+      context.addMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_LOW_KEY, estimate.getLow());
+      context.addMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_HIGH_KEY, estimate.getHigh());
+    }
+  }
+
+  private static void computeDerived(final MeasureComputerContext context, int mutationsTotal, int killed) {
+    if (mutationsTotal > 0 && context.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_KEY) == null) {
+      final Double coverage = 100.0 * killed / mutationsTotal;
+      context.addMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_KEY, coverage);
+    }
+  }
+}
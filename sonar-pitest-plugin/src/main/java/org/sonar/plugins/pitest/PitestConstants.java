@@ -0,0 +1,111 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest;
+
+/**
+ * Constants for the PIT plugins
+ * There is a constant for each configuration key.
+ * Most of these configuration keys, and the javadoc comments are
+ * strongly inspired by the maven PIT plugin
+ *
+ */
+public final class PitestConstants {
+
+  private PitestConstants() {
+  }
+
+  public static final String REPOSITORY_KEY = "pitest";
+  public static final String REPOSITORY_NAME = "Pitest";
+
+  public static final String SURVIVED_MUTANT_RULE_KEY = "pitest.survived.mutant";
+
+  public static final String MUTANT_REGRESSION_RULE_KEY = "pitest.mutant.regression";
+
+  public static final String INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY = "pitest.insufficient.mutation.coverage";
+
+  public static final String COVERAGE_RATIO_PARAM = "minimumMutationCoverageRatio";
+
+  public static final String COVERAGE_RATIO_BY_PREFIX_PARAM = "minimumMutationCoverageRatioByPrefix";
+
+  public static final String METHOD_HOTSPOT_RULE_KEY = "pitest.method.hotspot";
+
+  public static final String MAX_METHODS_PARAM = "maxMethods";
+
+  public static final String MODE_KEY = "sonar.pitest.mode";
+
+  public static final String MODE_SKIP = "skip";
+
+  public static final String MODE_REUSE_REPORT = "reuseReport";
+
+  public static final String REPORT_DIRECTORY_KEY = "sonar.pitest.reportsDirectory";
+
+  public static final String REPORT_DIRECTORY_DEF = "target/pit-reports";
+
+  public static final String BASE_REPORT_KEY = "sonar.pitest.baseReportPath";
+
+  public static final String GROUP_SURVIVED_BY_LINE_KEY = "sonar.pitest.survivedMutants.groupByLine";
+
+  public static final String REPORT_CACHE_KEY = "sonar.pitest.reportCache";
+
+  public static final String PREFETCH_KEY = "sonar.pitest.prefetch";
+
+  public static final String PREFETCH_TIMEOUT_KEY = "sonar.pitest.prefetch.timeout";
+
+  public static final long PREFETCH_TIMEOUT_DEF = 300;
+
+  public static final String PROCESSING_MODE_KEY = "sonar.pitest.processingMode";
+
+  public static final String PROCESSING_MODE_AUTO = "auto";
+
+  public static final String PROCESSING_MODE_MEMORY = "memory";
+
+  public static final String PROCESSING_MODE_STREAMING = "streaming";
+
+  public static final String LENIENT_PARSING_KEY = "sonar.pitest.lenientParsing";
+
+  public static final String XML_BACKEND_KEY = "sonar.pitest.xmlBackend";
+
+  public static final String SAMPLING_PERCENT_KEY = "sonar.pitest.sampling.percent";
+
+  public static final double SAMPLING_PERCENT_DEF = 100d;
+
+  public static final String SAMPLING_ERROR_MARGIN_KEY = "sonar.pitest.sampling.errorMargin";
+
+  public static final double SAMPLING_ERROR_MARGIN_DEF = 5d;
+
+  public static final String EXCLUSIONS_CLASSES_KEY = "sonar.pitest.exclusions.classes";
+
+  public static final String EXCLUSIONS_PATHS_KEY = "sonar.pitest.exclusions.paths";
+
+  public static final String EXCLUSIONS_MUTATORS_KEY = "sonar.pitest.exclusions.mutators";
+
+  public static final String XML_BACKEND_JDK = "jdk";
+
+  public static final String XML_BACKEND_WOODSTOX = "woodstox";
+
+  public static final String XML_BACKEND_AALTO = "aalto";
+
+  public static final String LINE_COVERAGE_KEY = "sonar.pitest.lineCoverage";
+
+  public static final String MAX_ISSUES_PER_FILE_KEY = "sonar.pitest.issues.maxPerFile";
+
+  public static final String MAX_ISSUES_PER_MODULE_KEY = "sonar.pitest.issues.maxPerModule";
+
+}
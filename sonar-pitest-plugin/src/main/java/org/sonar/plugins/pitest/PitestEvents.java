@@ -0,0 +1,109 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest;
+
+import org.sonar.api.utils.log.Loggers;
+
+/**
+ * Events of the plugin hot paths, recorded by Java Flight Recorder when the plugin was built and runs on a JVM with
+ * JFR (11 or later). Otherwise, and while no recording enables them, events are no-ops.
+ * <pre>
+ * try (PitestEvents.Scope event = PitestEvents.get().reportParse(report.getPath())) {
+ *   ...
+ *   event.mutants(parsedMutants);
+ * }
+ * </pre>
+ */
+public interface PitestEvents {
+
+  String JFR_IMPLEMENTATION = "org.sonar.plugins.pitest.jfr.JfrPitestEvents";
+
+  Scope NOOP_SCOPE = new Scope() {
+  };
+
+  PitestEvents NOOP = new PitestEvents() {
+  };
+
+  static PitestEvents get() {
+    return Holder.INSTANCE;
+  }
+
+  default Scope reportDiscovery(String reportDirectory) {
+    return NOOP_SCOPE;
+  }
+
+  default Scope reportParse(String report) {
+    return NOOP_SCOPE;
+  }
+
+  default Scope fileProcessing(String relativePath) {
+    return NOOP_SCOPE;
+  }
+
+  default Scope compute(String componentKey) {
+    return NOOP_SCOPE;
+  }
+
+  /**
+   * An event in progress, committed when closed. Counters not relevant to the event are ignored.
+   */
+  interface Scope extends AutoCloseable {
+
+    /**
+     * @return false when the event is not recorded, so that its counters need not be computed
+     */
+    default boolean isEnabled() {
+      return false;
+    }
+
+    default void bytes(long bytes) {
+    }
+
+    default void mutants(long mutants) {
+    }
+
+    default void issues(long issues) {
+    }
+
+    default void measures(long measures) {
+    }
+
+    @Override
+    default void close() {
+    }
+  }
+
+  final class Holder {
+    static final PitestEvents INSTANCE = load();
+
+    private Holder() {
+    }
+
+    private static PitestEvents load() {
+      try {
+        return (PitestEvents) Class.forName(JFR_IMPLEMENTATION, true, PitestEvents.class.getClassLoader()).getConstructor().newInstance();
+      } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+        // plugin built without JFR support, or JVM without JFR
+        Loggers.get(PitestEvents.class).debug("Java Flight Recorder events are disabled: {}", e.toString());
+        return NOOP;
+      }
+    }
+  }
+}
@@ -100,6 +100,79 @@ public class PitestMetrics implements Metrics {
     .setWorstValue(0d)
     .create();
 
+  public static final String MUTATIONS_ADDED_KEY = "pitest_mutations_added";
+  public static final Metric<Serializable> MUTATIONS_ADDED = new Metric.Builder(MUTATIONS_ADDED_KEY, "Added Mutations", Metric.ValueType.INT)
+    .setDescription("Number of mutations not found in the base report")
+    .setDirection(Metric.DIRECTION_NONE)
+    .setQualitative(false)
+    .setDomain(PITEST_DOMAIN)
+    .create();
+
+  public static final String MUTATIONS_REMOVED_KEY = "pitest_mutations_removed";
+  public static final Metric<Serializable> MUTATIONS_REMOVED = new Metric.Builder(MUTATIONS_REMOVED_KEY, "Removed Mutations", Metric.ValueType.INT)
+    .setDescription("Number of mutations of the base report no longer generated")
+    .setDirection(Metric.DIRECTION_NONE)
+    .setQualitative(false)
+    .setDomain(PITEST_DOMAIN)
+    .create();
+
+  public static final String MUTATIONS_STATUS_CHANGED_KEY = "pitest_mutations_status_changed";
+  public static final Metric<Serializable> MUTATIONS_STATUS_CHANGED = new Metric.Builder(MUTATIONS_STATUS_CHANGED_KEY, "Mutations with changed status", Metric.ValueType.INT)
+    .setDescription("Number of mutations whose status differs from the base report")
+    .setDirection(Metric.DIRECTION_NONE)
+    .setQualitative(false)
+    .setDomain(PITEST_DOMAIN)
+    .create();
+
+  public static final String MUTATIONS_BY_MUTATOR_KEY = "pitest_mutations_by_mutator";
+  public static final Metric<Serializable> MUTATIONS_BY_MUTATOR = new Metric.Builder(MUTATIONS_BY_MUTATOR_KEY, "Mutations by Mutator", Metric.ValueType.DATA)
+    .setDescription("Number of mutations per mutator and status")
+    .setDirection(Metric.DIRECTION_NONE)
+    .setQualitative(false)
+    .setDomain(PITEST_DOMAIN)
+    .create();
+
+  public static final String WORST_METHOD_KILLED_PERCENT_KEY = "pitest_worst_method_killed_percent";
+  public static final Metric<Serializable> WORST_METHOD_KILLED_RATIO = new Metric.Builder(WORST_METHOD_KILLED_PERCENT_KEY, "Worst Method Mutations Coverage Ratio",
+    Metric.ValueType.PERCENT)
+    .setDescription("Lowest ratio of mutations found by tests among the methods")
+    .setDirection(Metric.DIRECTION_BETTER)
+    .setQualitative(true)
+    .setDomain(PITEST_DOMAIN)
+    .setBestValue(100d)
+    .setWorstValue(0d)
+    .create();
+
+  public static final String MUTATIONS_POPULATION_KEY = "pitest_mutations_population";
+  public static final Metric<Serializable> MUTATIONS_POPULATION = new Metric.Builder(MUTATIONS_POPULATION_KEY, "Estimated Total Mutations", Metric.ValueType.INT)
+    .setDescription("Estimated number of mutations of a full run, when the run analysed a sample of them")
+    .setDirection(Metric.DIRECTION_NONE)
+    .setQualitative(false)
+    .setDomain(PITEST_DOMAIN)
+    .create();
+
+  public static final String MUTATIONS_KILLED_PERCENT_LOW_KEY = "pitest_mutations_killed_percent_low";
+  public static final Metric<Serializable> MUTATIONS_KILLED_RATIO_LOW = new Metric.Builder(MUTATIONS_KILLED_PERCENT_LOW_KEY,
+    "Mutations Coverage Ratio Lower Bound", Metric.ValueType.PERCENT)
+    .setDescription("Lower bound of the 95% confidence interval of the mutations coverage ratio, when the run analysed a sample of the mutations")
+    .setDirection(Metric.DIRECTION_BETTER)
+    .setQualitative(true)
+    .setDomain(PITEST_DOMAIN)
+    .setBestValue(100d)
+    .setWorstValue(0d)
+    .create();
+
+  public static final String MUTATIONS_KILLED_PERCENT_HIGH_KEY = "pitest_mutations_killed_percent_high";
+  public static final Metric<Serializable> MUTATIONS_KILLED_RATIO_HIGH = new Metric.Builder(MUTATIONS_KILLED_PERCENT_HIGH_KEY,
+    "Mutations Coverage Ratio Upper Bound", Metric.ValueType.PERCENT)
+    .setDescription("Upper bound of the 95% confidence interval of the mutations coverage ratio, when the run analysed a sample of the mutations")
+    .setDirection(Metric.DIRECTION_BETTER)
+    .setQualitative(true)
+    .setDomain(PITEST_DOMAIN)
+    .setBestValue(100d)
+    .setWorstValue(0d)
+    .create();
+
   private static final List<Metric> METRICS;
 
   static {
@@ -112,6 +185,14 @@ public class PitestMetrics implements Metrics {
     METRICS.add(MUTATIONS_UNKNOWN);
     METRICS.add(MUTATIONS_DATA);
     METRICS.add(MUTATIONS_KILLED_RATIO);
+    METRICS.add(MUTATIONS_ADDED);
+    METRICS.add(MUTATIONS_REMOVED);
+    METRICS.add(MUTATIONS_STATUS_CHANGED);
+    METRICS.add(MUTATIONS_BY_MUTATOR);
+    METRICS.add(WORST_METHOD_KILLED_RATIO);
+    METRICS.add(MUTATIONS_POPULATION);
+    METRICS.add(MUTATIONS_KILLED_RATIO_LOW);
+    METRICS.add(MUTATIONS_KILLED_RATIO_HIGH);
   }
 
   @Override
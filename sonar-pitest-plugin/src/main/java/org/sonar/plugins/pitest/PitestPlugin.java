@@ -0,0 +1,227 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest;
+
+import com.google.common.collect.ImmutableList;
+import org.sonar.api.Plugin;
+import org.sonar.api.PropertyType;
+import org.sonar.api.config.PropertyDefinition;
+import org.sonar.api.resources.Qualifiers;
+import org.sonar.plugins.pitest.scanner.PitestSensor;
+import org.sonar.plugins.pitest.scanner.ProjectReport;
+import org.sonar.plugins.pitest.scanner.ReportCache;
+import org.sonar.plugins.pitest.scanner.XmlReportDiff;
+import org.sonar.plugins.pitest.scanner.XmlReportFinder;
+import org.sonar.plugins.pitest.scanner.XmlReportParser;
+import org.sonar.plugins.pitest.ws.PitestWebService;
+
+import static org.sonar.plugins.pitest.PitestConstants.BASE_REPORT_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.EXCLUSIONS_CLASSES_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.EXCLUSIONS_MUTATORS_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.EXCLUSIONS_PATHS_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.GROUP_SURVIVED_BY_LINE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.LENIENT_PARSING_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.LINE_COVERAGE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MAX_ISSUES_PER_FILE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MAX_ISSUES_PER_MODULE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MODE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MODE_REUSE_REPORT;
+import static org.sonar.plugins.pitest.PitestConstants.PREFETCH_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PREFETCH_TIMEOUT_DEF;
+import static org.sonar.plugins.pitest.PitestConstants.PREFETCH_TIMEOUT_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_AUTO;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_MEMORY;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_STREAMING;
+import static org.sonar.plugins.pitest.PitestConstants.REPORT_CACHE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.REPORT_DIRECTORY_DEF;
+import static org.sonar.plugins.pitest.PitestConstants.REPORT_DIRECTORY_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.SAMPLING_ERROR_MARGIN_DEF;
+import static org.sonar.plugins.pitest.PitestConstants.SAMPLING_ERROR_MARGIN_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.SAMPLING_PERCENT_DEF;
+import static org.sonar.plugins.pitest.PitestConstants.SAMPLING_PERCENT_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.XML_BACKEND_AALTO;
+import static org.sonar.plugins.pitest.PitestConstants.XML_BACKEND_JDK;
+import static org.sonar.plugins.pitest.PitestConstants.XML_BACKEND_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.XML_BACKEND_WOODSTOX;
+
+/**
+ * This class is the entry point for all PIT extensions
+ */
+public final class PitestPlugin implements Plugin {
+
+  @Override
+  public void define(Context context) {
+
+    ImmutableList.Builder<Object> builder = ImmutableList.builder();
+
+    builder.add(
+      PropertyDefinition.builder(MODE_KEY)
+        .defaultValue(MODE_REUSE_REPORT)
+        .name("PIT activation mode")
+        .description("Possible values:  'reuseReport' and 'skip'")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(REPORT_DIRECTORY_KEY)
+        .defaultValue(REPORT_DIRECTORY_DEF)
+        .name("Output directory for the PIT reports")
+        .description("This property is needed when the 'reuseReport' mode is activated and the reports are not " +
+          "located in the default directory (i.e. target/pit-reports)")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(REPORT_CACHE_KEY)
+        .defaultValue("false")
+        .type(PropertyType.BOOLEAN)
+        .name("Share the PIT report between modules")
+        .description("Parse each PIT report once per analysis and give each module the mutants of its own source files. " +
+          "Useful when all modules point to the same aggregated report")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(PREFETCH_KEY)
+        .defaultValue("false")
+        .type(PropertyType.BOOLEAN)
+        .name("Prefetch the PIT report")
+        .description("Find and read the PIT report of a module in the background once its files are indexed, " +
+          "while the sensors running before the PIT sensor are executed")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(PREFETCH_TIMEOUT_KEY)
+        .defaultValue(Long.toString(PREFETCH_TIMEOUT_DEF))
+        .type(PropertyType.INTEGER)
+        .name("PIT report prefetch timeout")
+        .description("Maximum time in seconds the PIT sensor waits for the prefetched report before failing the analysis")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(PROCESSING_MODE_KEY)
+        .defaultValue(PROCESSING_MODE_AUTO)
+        .type(PropertyType.SINGLE_SELECT_LIST)
+        .options(PROCESSING_MODE_AUTO, PROCESSING_MODE_MEMORY, PROCESSING_MODE_STREAMING)
+        .name("PIT report processing mode")
+        .description("'memory' loads all the mutants of the module before processing them. 'streaming' spills them to disk, sorted by " +
+          "source file, and processes one source file at a time: slower, but memory usage does not depend on the report size. " +
+          "'auto' chooses 'streaming' when the mutants estimated from the report size would not fit in the available heap")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(LENIENT_PARSING_KEY)
+        .defaultValue("false")
+        .type(PropertyType.BOOLEAN)
+        .name("Lenient PIT report parsing")
+        .description("Keep the mutants of a truncated or malformed PIT report read before the error, instead of failing the analysis. " +
+          "Useful when the PIT run was interrupted")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(XML_BACKEND_KEY)
+        .defaultValue(XML_BACKEND_JDK)
+        .type(PropertyType.SINGLE_SELECT_LIST)
+        .options(XML_BACKEND_JDK, XML_BACKEND_WOODSTOX, XML_BACKEND_AALTO)
+        .name("PIT report XML parser")
+        .description("StAX implementation used to parse PIT reports: 'jdk', or 'woodstox' and 'aalto', which are shipped with the plugin. " +
+          "The JDK parser is used if the selected one cannot be loaded")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(SAMPLING_PERCENT_KEY)
+        .defaultValue(Double.toString(SAMPLING_PERCENT_DEF))
+        .type(PropertyType.FLOAT)
+        .name("Sampled mutations percentage")
+        .description("Percentage of the mutations analysed by a PIT run on a random sample of them. Below 100, the mutations coverage " +
+          "is published with its 95% confidence interval and the total number of mutations is estimated")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(SAMPLING_ERROR_MARGIN_KEY)
+        .defaultValue(Double.toString(SAMPLING_ERROR_MARGIN_DEF))
+        .type(PropertyType.FLOAT)
+        .name("Sampling error margin")
+        .description("Target half-width, in percentage points, of the 95% confidence interval of the mutations coverage of a module " +
+          "analysed by a sampled run. The analysis logs the sample size it requires")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(EXCLUSIONS_CLASSES_KEY)
+        .multiValues(true)
+        .name("Excluded classes")
+        .description("Mutated classes whose mutants are ignored, such as *Builder or com.foo.dto.**: * matches any part of a package or class " +
+          "name, ** any number of packages, and a pattern without package applies to classes of any package")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(EXCLUSIONS_PATHS_KEY)
+        .multiValues(true)
+        .name("Excluded paths")
+        .description("Source files whose mutants are ignored, by path relative to the source directory, such as **/generated/**: " +
+          "* matches any part of a file or directory name and ** any number of directories")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(EXCLUSIONS_MUTATORS_KEY)
+        .multiValues(true)
+        .name("Excluded mutators")
+        .description("Mutators whose mutants are ignored, by name, such as EXPERIMENTAL_* or RETURN_VALS")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(LINE_COVERAGE_KEY)
+        .defaultValue("false")
+        .type(PropertyType.BOOLEAN)
+        .name("Import pitest line coverage")
+        .description("Import the linecoverage.xml file written next to the PIT report by the exportLineCoverage option as line coverage. " +
+          "Without it, only the lines of killed mutants are reported as covered")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(BASE_REPORT_KEY)
+        .name("Base PIT report")
+        .description("Path to the mutations.xml report of the base branch. When set, the analyzed report is compared with it " +
+          "and added, removed and status-changed mutations are reported")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(GROUP_SURVIVED_BY_LINE_KEY)
+        .defaultValue("false")
+        .type(PropertyType.BOOLEAN)
+        .name("Group survived mutants by line")
+        .description("Raise a single issue per line for all the mutants which survived on that line, instead of one issue per mutant")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(MAX_ISSUES_PER_FILE_KEY)
+        .defaultValue("0")
+        .type(PropertyType.INTEGER)
+        .name("Maximum survived mutant issues per file")
+        .description("When more survived mutant issues would be raised on a file, only the ones with the highest priority are kept " +
+          "and the others are summarized in a single issue on the file. 0 means no limit")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+      PropertyDefinition.builder(MAX_ISSUES_PER_MODULE_KEY)
+        .defaultValue("0")
+        .type(PropertyType.INTEGER)
+        .name("Maximum survived mutant issues per module")
+        .description("When more survived mutant issues would be raised on a module, only the ones with the highest priority are kept " +
+          "and the others are summarized in a single issue on each file. 0 means no limit")
+        .onQualifiers(Qualifiers.PROJECT)
+        .build(),
+
+      PitestRulesDefinition.class,
+      PitestMetrics.class,
+      PitestSensor.class,
+      PitestComputer.class,
+      ProjectReport.class,
+      ReportCache.class,
+      XmlReportParser.class,
+      XmlReportFinder.class,
+      XmlReportDiff.class,
+      PitestWebService.class);
+
+    context.addExtensions(builder.build());
+
+  }
+}
@@ -22,10 +22,15 @@ package org.sonar.plugins.pitest;
 import org.sonar.api.rule.RuleStatus;
 import org.sonar.api.rule.Severity;
 import org.sonar.api.rules.RuleType;
+import org.sonar.api.server.rule.RuleParamType;
 import org.sonar.api.server.rule.RulesDefinition;
 
+import static org.sonar.plugins.pitest.PitestConstants.COVERAGE_RATIO_BY_PREFIX_PARAM;
 import static org.sonar.plugins.pitest.PitestConstants.COVERAGE_RATIO_PARAM;
 import static org.sonar.plugins.pitest.PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MAX_METHODS_PARAM;
+import static org.sonar.plugins.pitest.PitestConstants.METHOD_HOTSPOT_RULE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MUTANT_REGRESSION_RULE_KEY;
 import static org.sonar.plugins.pitest.PitestConstants.REPOSITORY_KEY;
 import static org.sonar.plugins.pitest.PitestConstants.REPOSITORY_NAME;
 import static org.sonar.plugins.pitest.PitestConstants.SURVIVED_MUTANT_RULE_KEY;
@@ -46,7 +51,7 @@ public class PitestRulesDefinition implements RulesDefinition {
      * Current thinking is that a survived mutant is at least as severe as missing code coverage, probably more severe.
      * Reason for more severe: a test covers this code, so there may be a false sense of security regarding test coverage
      */
-    repository.createRule(SURVIVED_MUTANT_RULE_KEY)
+    NewRule survivedMutantRule = repository.createRule(SURVIVED_MUTANT_RULE_KEY)
       .setName("Survived mutant")
       .setHtmlDescription(
         "An issue is created when an existing test fails to identify a mutation in the code. For more information, review the <a href=\"http://pitest.org/quickstart/mutators\">PIT documentation</a>")
@@ -54,6 +59,25 @@ public class PitestRulesDefinition implements RulesDefinition {
       .setSeverity(Severity.MAJOR)
       .setType(RuleType.BUG)
       .setTags(TAG_TEST_QUALITY)
+      .setActivatedByDefault(false)
+      .setGapDescription("Number of survived mutants");
+
+    // only issues grouped by line carry the number of survived mutants as gap: an issue without gap counts as one
+    // mutant, costing 10min, and the mutants of a line share part of the effort
+    survivedMutantRule.setDebtRemediationFunction(survivedMutantRule.debtRemediationFunctions().linearWithOffset("5min", "5min"));
+
+    /*
+     * Rule: Regressed Mutant
+     * Only raised when a base report is configured, for mutants that were killed in the base report
+     */
+    repository.createRule(MUTANT_REGRESSION_RULE_KEY)
+      .setName("Regressed mutant")
+      .setHtmlDescription(
+        "An issue is created when a mutant killed in the base report (see sonar.pitest.baseReportPath) is no longer killed by the tests.")
+      .setStatus(RuleStatus.READY)
+      .setSeverity(Severity.MAJOR)
+      .setType(RuleType.BUG)
+      .setTags(TAG_TEST_QUALITY)
       .setActivatedByDefault(false);
 
     /*
@@ -74,6 +98,35 @@ public class PitestRulesDefinition implements RulesDefinition {
       .setDefaultValue("65")
       .setDescription("The minimum required mutation coverage ratio");
 
+    insufficientMutationCoverageRule
+      .createParam(COVERAGE_RATIO_BY_PREFIX_PARAM)
+      .setType(RuleParamType.TEXT)
+      .setDescription("Minimum required mutation coverage ratios of the files under some packages or paths, overriding the one above: "
+        + "comma-separated list of prefix=ratio, such as com.foo.domain=90,com/foo/generated=20. The longest matching prefix applies");
+
+    /*
+     * Rule: Mutation hotspot method
+     * Points at the methods where tests should be improved first, the survived mutants themselves being raised by the
+     * survived mutant rule
+     */
+    NewRule methodHotspotRule = repository.createRule(METHOD_HOTSPOT_RULE_KEY)
+      .setName("Mutation hotspot method")
+      .setHtmlDescription(
+        "An issue is created on the methods of a file with the most survived mutants, up to the given number of methods per file. It gives the number of survived mutants of the method.")
+      .setStatus(RuleStatus.READY)
+      .setSeverity(Severity.MAJOR)
+      .setType(RuleType.CODE_SMELL)
+      .setTags(TAG_TEST_QUALITY)
+      .setActivatedByDefault(false)
+      .setGapDescription("Number of survived mutants");
+
+    methodHotspotRule.setDebtRemediationFunction(methodHotspotRule.debtRemediationFunctions().linear("10min"));
+
+    methodHotspotRule
+      .createParam(MAX_METHODS_PARAM)
+      .setDefaultValue("3")
+      .setDescription("The maximum number of methods reported per file");
+
     repository.done();
   }
 }
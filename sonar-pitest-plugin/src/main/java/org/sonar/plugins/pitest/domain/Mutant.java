@@ -27,6 +27,11 @@ import javax.annotation.Nullable;
  */
 public final class Mutant {
 
+  /**
+   * Block of reports written by pitest versions before 1.2, or in formats without it.
+   */
+  public static final int UNKNOWN_BLOCK = -1;
+
   public final boolean detected;
   public final MutantStatus mutantStatus;
   public final MutantLocation mutantLocation;
@@ -34,15 +39,37 @@ public final class Mutant {
   public final int index;
   public final String description;
   public final String killingTest;
+  /**
+   * Basic block of the mutated method, as numbered in the pitest line coverage export.
+   */
+  public final int block;
+  /**
+   * Mutator key of the report when it is not the key of {@link #mutator}, as for the mutators unknown to the plugin.
+   */
+  private final String otherMutatorKey;
 
   public Mutant(boolean detected, MutantStatus mutantStatus, MutantLocation mutantLocation, String mutatorKey, int index, String description, @Nullable String killingTest) {
+    this(detected, mutantStatus, mutantLocation, mutatorKey, index, UNKNOWN_BLOCK, description, killingTest);
+  }
+
+  public Mutant(boolean detected, MutantStatus mutantStatus, MutantLocation mutantLocation, String mutatorKey, int index, int block, String description,
+    @Nullable String killingTest) {
     this.detected = detected;
     this.mutantStatus = mutantStatus;
     this.mutantLocation = mutantLocation;
     this.mutator = Mutator.parse(mutatorKey);
+    this.otherMutatorKey = mutator.getKey().equals(mutatorKey) ? null : mutatorKey;
     this.index = index;
     this.description = description;
     this.killingTest = killingTest;
+    this.block = block;
+  }
+
+  /**
+   * @return the mutator key as written in the report
+   */
+  public String mutatorKey() {
+    return otherMutatorKey == null ? mutator.getKey() : otherMutatorKey;
   }
 
   public String sourceRelativePath() {
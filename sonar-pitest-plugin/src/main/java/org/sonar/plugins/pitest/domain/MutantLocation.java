@@ -36,15 +36,21 @@ public final class MutantLocation {
     this.mutatedMethod = mutatedMethod;
     this.methodDescription = methodDescription;
     this.lineNumber = lineNumber;
+    this.relativePath = relativePath(className, sourceFile);
+  }
+
+  /**
+   * @return the path of the source file relative to its source directory, as computed for a mutant location
+   */
+  public static String relativePath(String className, String sourceFile) {
     String extension = sourceFile.substring(sourceFile.indexOf('.') + 1);
     if ("kt".equals(extension)) {
-      this.relativePath = sourceFile;
+      return sourceFile;
     } else if ("java".equals(extension)) {
-      this.relativePath = calculateJavaRelativePath(className);
+      return calculateJavaRelativePath(className);
     } else {
       throw new IllegalStateException("unrecognized extension: " + extension);
     }
-
   }
 
   public String getClassName() {
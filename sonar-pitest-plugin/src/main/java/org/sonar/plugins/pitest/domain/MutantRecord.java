@@ -0,0 +1,135 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.domain;
+
+import javax.annotation.Nullable;
+
+/**
+ * Single-line text form of a {@link Mutant}, used to spill mutants to disk.
+ * Fields are separated by tabulations; tabulations, line breaks and backslashes in values are escaped.
+ */
+public final class MutantRecord {
+
+  public static final char FIELD_SEPARATOR = '\t';
+  private static final String NULL = "\\0";
+  private static final int FIELD_COUNT = 12;
+
+  private MutantRecord() {
+  }
+
+  public static String format(Mutant mutant) {
+    MutantLocation location = mutant.mutantLocation;
+    StringBuilder builder = new StringBuilder(256)
+      .append(mutant.detected).append(FIELD_SEPARATOR)
+      .append(mutant.mutantStatus.name()).append(FIELD_SEPARATOR);
+    appendEscaped(builder, location.getClassName());
+    appendEscaped(builder, location.getSourceFile());
+    appendEscaped(builder, location.getMutatedMethod());
+    appendEscaped(builder, location.getMethodDescription());
+    builder.append(location.getLineNumber()).append(FIELD_SEPARATOR);
+    appendEscaped(builder, mutant.mutatorKey());
+    builder.append(mutant.index).append(FIELD_SEPARATOR);
+    builder.append(mutant.block).append(FIELD_SEPARATOR);
+    appendEscaped(builder, mutant.description);
+    appendEscaped(builder, mutant.killingTest);
+    // drop the trailing separator
+    builder.setLength(builder.length() - 1);
+    return builder.toString();
+  }
+
+  public static Mutant parse(String record) {
+    String[] fields = new String[FIELD_COUNT];
+    int start = 0;
+    for (int i = 0; i < FIELD_COUNT - 1; i++) {
+      int end = record.indexOf(FIELD_SEPARATOR, start);
+      if (end < 0) {
+        throw new IllegalArgumentException("Invalid mutant record: " + record);
+      }
+      fields[i] = record.substring(start, end);
+      start = end + 1;
+    }
+    fields[FIELD_COUNT - 1] = record.substring(start);
+
+    MutantLocation location = new MutantLocation(unescape(fields[2]), unescape(fields[3]), unescape(fields[4]), unescape(fields[5]),
+      Integer.parseInt(fields[6]));
+    return new Mutant(Boolean.parseBoolean(fields[0]), MutantStatus.valueOf(fields[1]), location, unescape(fields[7]), Integer.parseInt(fields[8]),
+      Integer.parseInt(fields[9]), unescape(fields[10]), unescape(fields[11]));
+  }
+
+  private static void appendEscaped(StringBuilder builder, @Nullable String value) {
+    if (value == null) {
+      builder.append(NULL);
+    } else {
+      for (int i = 0; i < value.length(); i++) {
+        char c = value.charAt(i);
+        switch (c) {
+          case '\\':
+            builder.append("\\\\");
+            break;
+          case '\t':
+            builder.append("\\t");
+            break;
+          case '\n':
+            builder.append("\\n");
+            break;
+          case '\r':
+            builder.append("\\r");
+            break;
+          default:
+            builder.append(c);
+        }
+      }
+    }
+    builder.append(FIELD_SEPARATOR);
+  }
+
+  private static String unescape(String value) {
+    if (NULL.equals(value)) {
+      return null;
+    }
+    if (value.indexOf('\\') < 0) {
+      return value;
+    }
+    StringBuilder builder = new StringBuilder(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '\\' && i + 1 < value.length()) {
+        i++;
+        builder.append(unescape(value.charAt(i)));
+      } else {
+        builder.append(c);
+      }
+    }
+    return builder.toString();
+  }
+
+  private static char unescape(char escaped) {
+    switch (escaped) {
+      case 't':
+        return '\t';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      default:
+        return escaped;
+    }
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.domain;
+
+/**
+ * Mutation coverage of all the mutants of a component estimated from a random sample of them, with its 95% confidence
+ * interval.
+ * <p>
+ * The interval is the Wilson score interval, which unlike the normal approximation stays within 0% and 100% and does
+ * not collapse to a single value when no mutant or every mutant of the sample is killed. Since samples are drawn
+ * without replacement from a known number of mutants, the variance is scaled by the finite population correction: the
+ * interval shrinks to the observed coverage when every mutant is analysed.
+ */
+public final class MutationScoreEstimate {
+
+  /**
+   * Quantile of the standard normal distribution for a two-sided 95% confidence level.
+   */
+  static final double Z_95 = 1.959963984540054;
+
+  private final double percent;
+  private final double low;
+  private final double high;
+
+  private MutationScoreEstimate(double percent, double low, double high) {
+    this.percent = percent;
+    this.low = low;
+    this.high = high;
+  }
+
+  /**
+   * @param killed killed mutants of the sample
+   * @param sampled analysed mutants, greater than 0
+   * @param population mutants the sample was drawn from, the sample size if lower
+   */
+  public static MutationScoreEstimate of(int killed, int sampled, int population) {
+    if (sampled <= 0) {
+      throw new IllegalArgumentException("Sample size must be positive: " + sampled);
+    }
+    double proportion = (double) killed / sampled;
+    double finitePopulationCorrection = population > sampled ? (double) (population - sampled) / (population - 1) : 0d;
+    double z2 = Z_95 * Z_95 * finitePopulationCorrection;
+    double denominator = 1 + z2 / sampled;
+    double center = (proportion + z2 / (2d * sampled)) / denominator;
+    double halfWidth = Math.sqrt(z2) / denominator * Math.sqrt(proportion * (1 - proportion) / sampled + z2 / (4d * sampled * sampled));
+    return new MutationScoreEstimate(100d * proportion, bounded(100d * (center - halfWidth)), bounded(100d * (center + halfWidth)));
+  }
+
+  private static double bounded(double percent) {
+    return Math.max(0d, Math.min(100d, percent));
+  }
+
+  /**
+   * Sample size giving a 95% confidence interval of at most the given half-width whatever the mutation coverage, that
+   * is for the worst case of a 50% coverage.
+   *
+   * @param population mutants the sample is drawn from
+   * @param marginPercent half-width of the interval, in percentage points
+   */
+  public static int requiredSampleSize(int population, double marginPercent) {
+    if (population <= 0) {
+      return 0;
+    }
+    double margin = marginPercent / 100d;
+    double infinitePopulationSize = Z_95 * Z_95 * 0.25 / (margin * margin);
+    double size = infinitePopulationSize * population / (infinitePopulationSize + population - 1);
+    return (int) Math.min(population, Math.ceil(size));
+  }
+
+  public double getPercent() {
+    return percent;
+  }
+
+  public double getLow() {
+    return low;
+  }
+
+  public double getHigh() {
+    return high;
+  }
+}
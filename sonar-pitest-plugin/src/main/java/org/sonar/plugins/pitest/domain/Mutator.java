@@ -106,7 +106,7 @@ public enum Mutator {
     this.description = description;
   }
 
-  String getKey() {
+  public String getKey() {
     return key;
   }
 
@@ -0,0 +1,150 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.domain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Number of mutants per {@link Mutator} and {@link MutantStatus}.
+ * <p>
+ * Counts are held in a fixed-size int array indexed by enum ordinals, so that two distributions are merged by
+ * adding arrays. The encoded form only lists the non-zero counts as {@code MUTATOR:STATUS=count} pairs separated by
+ * commas, e.g. {@code MATH:KILLED=2,MATH:SURVIVED=1}, using the enum names. It does not depend on the enum ordinals,
+ * so a distribution encoded by another version of the plugin is still merged: the pairs of a mutator or a status
+ * unknown to this version are ignored.
+ */
+public final class MutatorDistribution {
+
+  private static final int STATUS_COUNT = MutantStatus.values().length;
+  static final int SIZE = Mutator.values().length * STATUS_COUNT;
+  private static final Map<String, Mutator> MUTATORS_BY_NAME = new HashMap<>();
+  private static final Map<String, MutantStatus> STATUSES_BY_NAME = new HashMap<>();
+
+  static {
+    for (Mutator mutator : Mutator.values()) {
+      MUTATORS_BY_NAME.put(mutator.name(), mutator);
+    }
+    for (MutantStatus status : MutantStatus.values()) {
+      STATUSES_BY_NAME.put(status.name(), status);
+    }
+  }
+
+  private final int[] counts = new int[SIZE];
+
+  public void add(Mutant mutant) {
+    counts[index(mutant.mutator, mutant.mutantStatus)]++;
+  }
+
+  public void merge(MutatorDistribution other) {
+    for (int i = 0; i < SIZE; i++) {
+      counts[i] += other.counts[i];
+    }
+  }
+
+  /**
+   * Adds the counts of an encoded distribution to this one.
+   *
+   * @throws IllegalArgumentException if the encoded value is not a valid distribution
+   */
+  public void mergeEncoded(String encoded) {
+    int start = 0;
+    while (start < encoded.length()) {
+      int end = encoded.indexOf(',', start);
+      if (end < 0) {
+        end = encoded.length();
+      }
+      mergePair(encoded, start, end);
+      start = end + 1;
+    }
+  }
+
+  private void mergePair(String encoded, int start, int end) {
+    int statusStart = encoded.indexOf(':', start) + 1;
+    int countStart = encoded.indexOf('=', start) + 1;
+    if (statusStart <= start || statusStart > end || countStart <= statusStart || countStart >= end) {
+      throw new IllegalArgumentException("Invalid mutator distribution: " + encoded);
+    }
+    int count = 0;
+    for (int i = countStart; i < end; i++) {
+      char c = encoded.charAt(i);
+      if (c < '0' || c > '9') {
+        throw new IllegalArgumentException("Invalid mutator distribution: " + encoded);
+      }
+      count = count * 10 + (c - '0');
+    }
+    Mutator mutator = MUTATORS_BY_NAME.get(encoded.substring(start, statusStart - 1));
+    MutantStatus status = STATUSES_BY_NAME.get(encoded.substring(statusStart, countStart - 1));
+    if (mutator != null && status != null) {
+      counts[index(mutator, status)] += count;
+    }
+  }
+
+  public int count(Mutator mutator, MutantStatus status) {
+    return counts[index(mutator, status)];
+  }
+
+  public int count(Mutator mutator) {
+    int total = 0;
+    for (int i = mutator.ordinal() * STATUS_COUNT; i < (mutator.ordinal() + 1) * STATUS_COUNT; i++) {
+      total += counts[i];
+    }
+    return total;
+  }
+
+  public boolean isEmpty() {
+    for (int count : counts) {
+      if (count != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public String encode() {
+    StringBuilder builder = new StringBuilder();
+    Mutator[] mutators = Mutator.values();
+    MutantStatus[] statuses = MutantStatus.values();
+    for (int i = 0; i < SIZE; i++) {
+      if (counts[i] != 0) {
+        if (builder.length() > 0) {
+          builder.append(',');
+        }
+        builder.append(mutators[i / STATUS_COUNT].name()).append(':').append(statuses[i % STATUS_COUNT].name()).append('=').append(counts[i]);
+      }
+    }
+    return builder.toString();
+  }
+
+  public static MutatorDistribution decode(String encoded) {
+    MutatorDistribution distribution = new MutatorDistribution();
+    distribution.mergeEncoded(encoded);
+    return distribution;
+  }
+
+  private static int index(Mutator mutator, MutantStatus status) {
+    return mutator.ordinal() * STATUS_COUNT + status.ordinal();
+  }
+
+  @Override
+  public String toString() {
+    return "MutatorDistribution [" + encode() + "]";
+  }
+}
@@ -0,0 +1,155 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantLocation;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+
+/**
+ * Reads the binary report written by the pitest-binary-listener pitest plugin: a dictionary of strings, each written
+ * once, and fixed-width mutant records referencing them.
+ */
+class BinaryReportReader {
+
+  static final String REPORT_SUFFIX = ".bin";
+
+  private static final Logger LOG = Loggers.get(BinaryReportReader.class);
+
+  // format of BinaryReportWriter in pitest-binary-listener, which the plugin does not ship: BinaryReportReaderTest checks they match
+  static final byte[] MAGIC = {'P', 'I', 'T', 'B'};
+  static final int VERSION = 2;
+  static final byte STRING = 1;
+  static final byte MUTANT = 2;
+  static final byte END = 3;
+  static final int NONE = -1;
+
+  private final boolean lenient;
+  private final MutantExclusions exclusions;
+
+  BinaryReportReader(boolean lenient, MutantExclusions exclusions) {
+    this.lenient = lenient;
+    this.exclusions = exclusions;
+  }
+
+  static boolean isBinaryReport(File report) {
+    return report.getName().endsWith(REPORT_SUFFIX);
+  }
+
+  /**
+   * Streams the mutants whose source file relative path is accepted by the filter. The filter is evaluated once per
+   * mutated class and source file.
+   *
+   * @return the number of mutants rejected by the filter or excluded
+   */
+  int read(File report, Predicate<String> sourceFileFilter, Consumer<Mutant> consumer) {
+    List<String> strings = new ArrayList<>();
+    Map<Long, Boolean> acceptedLocations = new HashMap<>();
+    int parsedMutants = 0;
+    int skippedMutants = 0;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(report), 64 * 1024))) {
+      readHeader(in, report);
+      while (true) {
+        byte tag = in.readByte();
+        if (tag == STRING) {
+          byte[] bytes = new byte[in.readInt()];
+          in.readFully(bytes);
+          strings.add(new String(bytes, StandardCharsets.UTF_8));
+        } else if (tag == MUTANT) {
+          int sourceFile = in.readInt();
+          int mutatedClass = in.readInt();
+          int mutatedMethod = in.readInt();
+          int methodDescription = in.readInt();
+          int lineNumber = in.readInt();
+          int mutator = in.readInt();
+          int index = in.readInt();
+          int block = in.readInt();
+          int description = in.readInt();
+          int killingTest = in.readInt();
+          int status = in.readInt();
+          boolean detected = in.readBoolean();
+
+          long location = ((long) mutatedClass << 32) | (sourceFile & 0xFFFFFFFFL);
+          Boolean accepted = acceptedLocations.get(location);
+          if (accepted == null) {
+            String relativePath = MutantLocation.relativePath(strings.get(mutatedClass), strings.get(sourceFile));
+            accepted = sourceFileFilter.test(relativePath) && !exclusions.excludesLocation(relativePath, strings.get(mutatedClass));
+            acceptedLocations.put(location, accepted);
+          }
+          if (!accepted || exclusions.excludesMutator(strings.get(mutator))) {
+            skippedMutants++;
+            continue;
+          }
+          MutantLocation mutantLocation = new MutantLocation(strings.get(mutatedClass), strings.get(sourceFile), strings.get(mutatedMethod),
+            strings.get(methodDescription), lineNumber);
+          consumer.accept(new Mutant(detected, MutantStatus.fromPitestDetectionStatus(strings.get(status)), mutantLocation, strings.get(mutator),
+            index, block, strings.get(description), killingTest == NONE ? null : strings.get(killingTest)));
+          parsedMutants++;
+        } else if (tag == END) {
+          int expectedMutants = in.readInt();
+          if (expectedMutants != parsedMutants + skippedMutants) {
+            throw new IllegalStateException("Binary PIT report " + report + " announces " + expectedMutants + " mutants but contains "
+              + (parsedMutants + skippedMutants));
+          }
+          return skippedMutants;
+        } else {
+          throw new IllegalStateException("Binary PIT report " + report + " is not valid: unknown entry " + tag);
+        }
+      }
+    } catch (EOFException e) {
+      if (!lenient) {
+        throw new IllegalStateException("Binary PIT report " + report + " is truncated", e);
+      }
+      LOG.warn("PIT report {} is truncated, {} mutants were recovered before the end of the file", report, parsedMutants);
+      return skippedMutants;
+    } catch (IOException | IndexOutOfBoundsException e) {
+      throw new IllegalStateException("Binary PIT report " + report + " is not valid", e);
+    }
+  }
+
+  private static void readHeader(DataInputStream in, File report) throws IOException {
+    byte[] magic = new byte[MAGIC.length];
+    in.readFully(magic);
+    if (!Arrays.equals(MAGIC, magic)) {
+      throw new IllegalStateException("Not a binary PIT report: " + report);
+    }
+    int version = in.readInt();
+    if (version != VERSION) {
+      throw new IllegalStateException("Unsupported binary PIT report version " + version + " in " + report);
+    }
+  }
+
+}
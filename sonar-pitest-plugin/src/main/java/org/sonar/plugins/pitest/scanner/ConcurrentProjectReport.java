@@ -0,0 +1,90 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+
+/**
+ * Collects the mutants of a module from many producer threads, for instance one per report shard, without locking.
+ * <p>
+ * Mutants are appended to a lock-free queue per source file, and the counters of the {@link SourceFileReport}s, which
+ * are not thread-safe, are only computed by {@link #snapshot()}. Totals per status are kept in {@link LongAdder}s so
+ * that they can be read while producers are running.
+ */
+final class ConcurrentProjectReport implements Consumer<Mutant> {
+
+  private final ConcurrentMap<String, Queue<Mutant>> mutantsBySourceFile = new ConcurrentHashMap<>();
+  private final LongAdder[] statusCounts = new LongAdder[MutantStatus.values().length];
+
+  ConcurrentProjectReport() {
+    for (int i = 0; i < statusCounts.length; i++) {
+      statusCounts[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public void accept(Mutant mutant) {
+    String relativePath = mutant.sourceRelativePath();
+    // computeIfAbsent locks the bin of a present key on Java 8, so the common case is a plain get
+    Queue<Mutant> mutants = mutantsBySourceFile.get(relativePath);
+    if (mutants == null) {
+      mutants = mutantsBySourceFile.computeIfAbsent(relativePath, path -> new ConcurrentLinkedQueue<>());
+    }
+    mutants.add(mutant);
+    statusCounts[mutant.mutantStatus.ordinal()].increment();
+  }
+
+  long count(MutantStatus status) {
+    return statusCounts[status.ordinal()].sum();
+  }
+
+  long size() {
+    long size = 0L;
+    for (LongAdder statusCount : statusCounts) {
+      size += statusCount.sum();
+    }
+    return size;
+  }
+
+  /**
+   * Builds the source file reports of the mutants accepted so far. Each source file report is consistent with its own
+   * mutants, and keeps them in the order of their producer when a source file has a single one, as report shards do.
+   * Mutants accepted while the snapshot is taken may or may not be part of it: take it once producers are done to get
+   * all of them.
+   */
+  ProjectReport snapshot() {
+    Map<String, SourceFileReport> sourceFileReports = new HashMap<>();
+    mutantsBySourceFile.forEach((relativePath, mutants) -> {
+      SourceFileReport sourceFileReport = new SourceFileReport(relativePath);
+      mutants.forEach(sourceFileReport::addMutant);
+      sourceFileReports.put(relativePath, sourceFileReport);
+    });
+    return new ProjectReport(sourceFileReports);
+  }
+}
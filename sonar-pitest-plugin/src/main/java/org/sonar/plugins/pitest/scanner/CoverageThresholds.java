@@ -0,0 +1,130 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+/**
+ * Minimum mutation coverage thresholds of the insufficient mutation coverage rule, by package or path prefix.
+ * <p>
+ * The prefixes, such as "com.foo.domain=90" or "com/foo/generated=20", are compiled once into a trie of path segments
+ * so that the threshold of a file is found in a single walk over the directories of its path, in O(path depth). The
+ * longest matching prefix wins, and files matching none get the default threshold. Prefixes match whole segments only:
+ * "com.foo" applies to com/foo/Bar.java but not to com/foobar/Bar.java.
+ */
+final class CoverageThresholds {
+
+  private final Node root;
+
+  private CoverageThresholds(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * @param thresholdsByPrefix prefix=threshold entries separated by commas, semicolons or new lines
+   */
+  static CoverageThresholds parse(int defaultThreshold, @Nullable String thresholdsByPrefix) {
+    Node root = new Node();
+    root.threshold = new Threshold(defaultThreshold, null);
+    if (thresholdsByPrefix == null) {
+      return new CoverageThresholds(root);
+    }
+    for (String entry : thresholdsByPrefix.split("[,;\\n]")) {
+      if (entry.trim().isEmpty()) {
+        continue;
+      }
+      int separator = entry.lastIndexOf('=');
+      String prefix = separator < 0 ? "" : entry.substring(0, separator).trim();
+      if (prefix.isEmpty()) {
+        throw new IllegalStateException("Invalid mutation coverage threshold '" + entry.trim() + "', expected <package or path prefix>=<threshold>");
+      }
+      Node node = root;
+      for (String segment : segments(prefix)) {
+        node = node.children.computeIfAbsent(segment, s -> new Node());
+      }
+      node.threshold = new Threshold(parseThreshold(entry.substring(separator + 1).trim(), entry.trim()), prefix);
+    }
+    return new CoverageThresholds(root);
+  }
+
+  private static int parseThreshold(String value, String entry) {
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalStateException("Invalid mutation coverage threshold '" + entry + "', expected an integer threshold", e);
+    }
+  }
+
+  private static String[] segments(String prefix) {
+    return prefix.replace('\\', '/').replace('.', '/').replaceAll("^/+|/+$", "").split("/+");
+  }
+
+  /**
+   * @param relativePath path of a source file relative to its source directory, such as com/foo/Bar.java
+   */
+  Threshold thresholdOf(String relativePath) {
+    Node node = root;
+    Threshold threshold = root.threshold;
+    int start = 0;
+    int end;
+    // the file name itself is not a package, only the directories are walked
+    while ((end = relativePath.indexOf('/', start)) >= 0) {
+      node = node.children.get(relativePath.substring(start, end));
+      if (node == null) {
+        break;
+      }
+      if (node.threshold != null) {
+        threshold = node.threshold;
+      }
+      start = end + 1;
+    }
+    return threshold;
+  }
+
+  private static final class Node {
+    private final Map<String, Node> children = new HashMap<>();
+    private Threshold threshold;
+  }
+
+  static final class Threshold {
+    private final int value;
+    private final String prefix;
+
+    Threshold(int value, @Nullable String prefix) {
+      this.value = value;
+      this.prefix = prefix;
+    }
+
+    int getValue() {
+      return value;
+    }
+
+    /**
+     * @return the prefix that set this threshold, or null for the default threshold of the rule
+     */
+    @CheckForNull
+    String getPrefix() {
+      return prefix;
+    }
+  }
+}
@@ -0,0 +1,350 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import javax.annotation.CheckForNull;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantLocation;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+
+/**
+ * Reads the report written by the pitest CSV output format. Pitest writes one line per mutant, without header:
+ * <pre>sourceFile,mutatedClass,mutator,mutatedMethod,lineNumber,status,killingTest</pre>
+ * The layout is detected on the first line: either a header naming the columns, or the position of the status column,
+ * which also covers older pitest versions without the mutator column. The killing test is the last column and keeps
+ * the rest of the line, as test descriptions may contain commas.
+ * <p>
+ * Lines are split by searching the delimiters. The values repeated from one line to the next (source file, class,
+ * method, mutator, status) are compared in place and the previous string is reused.
+ */
+class CsvReportReader {
+
+  static final String REPORT_SUFFIX = ".csv";
+
+  private static final Logger LOG = Loggers.get(CsvReportReader.class);
+
+  /**
+   * Killing test written by pitest when no test killed the mutant.
+   */
+  private static final String NO_KILLING_TEST = "none";
+  private static final char DELIMITER = ',';
+  private static final int ABSENT = -1;
+
+  private final boolean lenient;
+  private final MutantExclusions exclusions;
+
+  CsvReportReader(boolean lenient, MutantExclusions exclusions) {
+    this.lenient = lenient;
+    this.exclusions = exclusions;
+  }
+
+  static boolean isCsvReport(File report) {
+    return report.getName().endsWith(REPORT_SUFFIX);
+  }
+
+  /**
+   * Streams the mutants whose source file relative path is accepted by the filter.
+   *
+   * @return the number of mutants rejected by the filter or excluded
+   */
+  int read(File report, Predicate<String> sourceFileFilter, Consumer<Mutant> consumer) {
+    try (BufferedReader reader = Files.newBufferedReader(report.toPath(), StandardCharsets.UTF_8)) {
+      String line = reader.readLine();
+      if (line == null) {
+        return 0;
+      }
+      Layout layout = Layout.detect(line, report);
+      if (layout.header) {
+        line = reader.readLine();
+      }
+      LineReader lineReader = new LineReader(layout, sourceFileFilter, exclusions);
+      int lineNumber = 1;
+      while (line != null) {
+        if (!line.isEmpty()) {
+          Mutant mutant;
+          try {
+            mutant = lineReader.read(line, report, lineNumber);
+          } catch (IllegalStateException e) {
+            if (!lenient) {
+              throw e;
+            }
+            LOG.warn("PIT report {} is truncated or malformed, {} mutants were recovered before the error and the rest is ignored: {}",
+              report, lineReader.parsedMutants, e.getMessage());
+            break;
+          }
+          // out of the try: a failure of the consumer is not a malformed line
+          if (mutant != null) {
+            consumer.accept(mutant);
+          }
+        }
+        line = reader.readLine();
+        lineNumber++;
+      }
+      return lineReader.skippedMutants;
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read PIT report " + report, e);
+    }
+  }
+
+  /**
+   * Column positions of a CSV report.
+   */
+  static final class Layout {
+
+    final boolean header;
+    final int columns;
+    final int sourceFile;
+    final int mutatedClass;
+    final int mutator;
+    final int mutatedMethod;
+    final int lineNumber;
+    final int status;
+    final int killingTest;
+
+    private Layout(boolean header, int columns, int sourceFile, int mutatedClass, int mutator, int mutatedMethod, int lineNumber, int status,
+      int killingTest) {
+      this.header = header;
+      this.columns = columns;
+      this.sourceFile = sourceFile;
+      this.mutatedClass = mutatedClass;
+      this.mutator = mutator;
+      this.mutatedMethod = mutatedMethod;
+      this.lineNumber = lineNumber;
+      this.status = status;
+      this.killingTest = killingTest;
+    }
+
+    static Layout detect(String firstLine, File report) {
+      List<String> fields = split(firstLine);
+      for (int i = 0; i < fields.size(); i++) {
+        if (MutantStatus.fromPitestDetectionStatus(fields.get(i)) != MutantStatus.UNKNOWN) {
+          return fromStatusColumn(i, report);
+        }
+      }
+      // a status unknown to the plugin, as NOT_STARTED: the status follows the line number, where a header has a name
+      for (int status = 5; status >= 4; status--) {
+        if (fields.size() > status && isLineNumber(fields.get(status - 1))) {
+          return fromStatusColumn(status, report);
+        }
+      }
+      return fromHeader(fields, report);
+    }
+
+    private static boolean isLineNumber(String field) {
+      if (field.isEmpty()) {
+        return false;
+      }
+      for (int i = 0; i < field.length(); i++) {
+        char c = field.charAt(i);
+        if (c < '0' || c > '9') {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * The status is preceded by the line number and the method, and optionally the mutator, then follows the class
+     * and the source file.
+     */
+    private static Layout fromStatusColumn(int status, File report) {
+      if (status == 4) {
+        return new Layout(false, status + 2, 0, 1, ABSENT, 2, 3, status, status + 1);
+      }
+      if (status == 5) {
+        return new Layout(false, status + 2, 0, 1, 2, 3, 4, status, status + 1);
+      }
+      throw new IllegalStateException("Unsupported pitest CSV layout in " + report + ": status in column " + (status + 1));
+    }
+
+    private static Layout fromHeader(List<String> names, File report) {
+      int[] positions = {ABSENT, ABSENT, ABSENT, ABSENT, ABSENT, ABSENT, ABSENT};
+      for (int i = 0; i < names.size(); i++) {
+        int column = column(names.get(i));
+        if (column != ABSENT) {
+          positions[column] = i;
+        }
+      }
+      // killing test, if named, must be last: it keeps the rest of the line
+      if (positions[0] == ABSENT || positions[1] == ABSENT || positions[3] == ABSENT || positions[4] == ABSENT || positions[5] == ABSENT
+        || (positions[6] != ABSENT && positions[6] != names.size() - 1)) {
+        throw new IllegalStateException("Unsupported pitest CSV layout in " + report + ": " + names);
+      }
+      return new Layout(true, names.size(), positions[0], positions[1], positions[2], positions[3], positions[4], positions[5], positions[6]);
+    }
+
+    private static int column(String name) {
+      switch (name.trim().toLowerCase(Locale.ENGLISH)) {
+        case "sourcefile":
+        case "file":
+          return 0;
+        case "mutatedclass":
+        case "class":
+          return 1;
+        case "mutator":
+          return 2;
+        case "mutatedmethod":
+        case "method":
+          return 3;
+        case "linenumber":
+        case "line":
+          return 4;
+        case "status":
+          return 5;
+        case "killingtest":
+          return 6;
+        default:
+          return ABSENT;
+      }
+    }
+
+    private static List<String> split(String line) {
+      List<String> fields = new ArrayList<>();
+      int start = 0;
+      int end;
+      while ((end = line.indexOf(DELIMITER, start)) >= 0) {
+        fields.add(line.substring(start, end));
+        start = end + 1;
+      }
+      fields.add(line.substring(start));
+      return fields;
+    }
+  }
+
+  private static final class LineReader {
+
+    private final Layout layout;
+    private final Predicate<String> sourceFileFilter;
+    private final MutantExclusions exclusions;
+    /**
+     * Start of each column and, at the end, the position after the last delimiter read.
+     */
+    private final int[] starts;
+    /**
+     * Last value read in each column, reused while the following lines repeat it.
+     */
+    private final String[] values;
+    private boolean accepted;
+    private int skippedMutants;
+    private int parsedMutants;
+
+    LineReader(Layout layout, Predicate<String> sourceFileFilter, MutantExclusions exclusions) {
+      this.layout = layout;
+      this.sourceFileFilter = sourceFileFilter;
+      this.exclusions = exclusions;
+      this.starts = new int[layout.columns + 1];
+      this.values = new String[layout.columns];
+    }
+
+    /**
+     * @return the mutant of the line, or null if it was rejected by the filter or excluded
+     */
+    @CheckForNull
+    Mutant read(String line, File report, int lineNumber) {
+      int column = 0;
+      int start = 0;
+      // the last column keeps the rest of the line
+      while (column < layout.columns - 1) {
+        int end = line.indexOf(DELIMITER, start);
+        if (end < 0) {
+          throw new IllegalStateException("Line " + lineNumber + " of PIT report " + report + " has " + (column + 1) + " columns instead of "
+            + layout.columns);
+        }
+        starts[column] = start;
+        start = end + 1;
+        column++;
+      }
+      starts[column] = start;
+      starts[layout.columns] = line.length() + 1;
+
+      String previousSourceFile = values[layout.sourceFile];
+      String previousClass = values[layout.mutatedClass];
+      String sourceFile = value(line, layout.sourceFile);
+      String mutatedClass = value(line, layout.mutatedClass);
+      if (sourceFile != previousSourceFile || mutatedClass != previousClass) {
+        String relativePath = MutantLocation.relativePath(mutatedClass, sourceFile);
+        accepted = sourceFileFilter.test(relativePath) && !exclusions.excludesLocation(relativePath, mutatedClass);
+      }
+      String mutator = layout.mutator == ABSENT ? null : value(line, layout.mutator);
+      if (!accepted || (mutator != null && exclusions.excludesMutator(mutator))) {
+        skippedMutants++;
+        return null;
+      }
+
+      String mutatedMethod = value(line, layout.mutatedMethod);
+      String status = value(line, layout.status);
+      String killingTest = layout.killingTest == ABSENT ? null : line.substring(starts[layout.killingTest], starts[layout.killingTest + 1] - 1);
+      MutantStatus mutantStatus = MutantStatus.fromPitestDetectionStatus(status);
+      MutantLocation location = new MutantLocation(mutatedClass, sourceFile, mutatedMethod, null, parseLineNumber(line, report, lineNumber));
+      // the CSV format has neither mutation index nor description: the method locates the mutation in the issue message
+      parsedMutants++;
+      return new Mutant(isDetected(mutantStatus), mutantStatus, location, mutator, 0, "in " + mutatedMethod,
+        killingTest == null || NO_KILLING_TEST.equals(killingTest) ? null : killingTest);
+    }
+
+    private String value(String line, int column) {
+      int start = starts[column];
+      int length = starts[column + 1] - 1 - start;
+      String previous = values[column];
+      if (previous != null && previous.length() == length && line.regionMatches(start, previous, 0, length)) {
+        return previous;
+      }
+      String value = line.substring(start, start + length);
+      values[column] = value;
+      return value;
+    }
+
+    private int parseLineNumber(String line, File report, int lineNumber) {
+      int end = starts[layout.lineNumber + 1] - 1;
+      int start = starts[layout.lineNumber];
+      if (start == end) {
+        throw new IllegalStateException("Line " + lineNumber + " of PIT report " + report + " has no line number");
+      }
+      int value = 0;
+      for (int i = start; i < end; i++) {
+        char c = line.charAt(i);
+        if (c < '0' || c > '9') {
+          throw new IllegalStateException("Line " + lineNumber + " of PIT report " + report + " has an invalid line number");
+        }
+        value = value * 10 + (c - '0');
+      }
+      return value;
+    }
+
+    /**
+     * Pitest detects a mutant when a test failed, timed out or crashed the JVM.
+     */
+    private static boolean isDetected(MutantStatus status) {
+      return status == MutantStatus.KILLED || status == MutantStatus.OTHER;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts single-line string records in bounded memory.
+ * Records are buffered up to a fixed count, then sorted and spilled to a run file in the work directory.
+ * The sorted view is a k-way merge of all runs.
+ */
+class ExternalSorter implements Closeable {
+
+  static final int DEFAULT_MAX_RECORDS_IN_MEMORY = 100_000;
+
+  private final File workDir;
+  private final int maxRecordsInMemory;
+  private final List<String> buffer = new ArrayList<>();
+  private final List<File> runs = new ArrayList<>();
+  private final List<BufferedReader> openReaders = new ArrayList<>();
+
+  ExternalSorter(File workDir, int maxRecordsInMemory) {
+    if (maxRecordsInMemory < 1) {
+      throw new IllegalArgumentException("maxRecordsInMemory must be positive: " + maxRecordsInMemory);
+    }
+    this.workDir = workDir;
+    this.maxRecordsInMemory = maxRecordsInMemory;
+  }
+
+  void add(String record) {
+    buffer.add(record);
+    if (buffer.size() >= maxRecordsInMemory) {
+      spill();
+    }
+  }
+
+  int runCount() {
+    return runs.size();
+  }
+
+  /**
+   * Iterates over all added records in natural order. Must be called once, after the last {@link #add(String)}.
+   */
+  Iterator<String> sorted() {
+    Collections.sort(buffer);
+    if (runs.isEmpty()) {
+      return buffer.iterator();
+    }
+    if (!buffer.isEmpty()) {
+      spill();
+    }
+    return new MergingIterator();
+  }
+
+  private void spill() {
+    Collections.sort(buffer);
+    try {
+      Files.createDirectories(workDir.toPath());
+      File run = File.createTempFile("pitest-run-", ".txt", workDir);
+      runs.add(run);
+      try (BufferedWriter writer = Files.newBufferedWriter(run.toPath(), StandardCharsets.UTF_8)) {
+        for (String record : buffer) {
+          writer.write(record);
+          writer.newLine();
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to spill sorted run to " + workDir.getAbsolutePath(), e);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() {
+    for (BufferedReader reader : openReaders) {
+      try {
+        reader.close();
+      } catch (IOException e) {
+        // nothing more can be done, the run file is deleted below
+      }
+    }
+    openReaders.clear();
+    for (File run : runs) {
+      try {
+        Files.deleteIfExists(run.toPath());
+      } catch (IOException e) {
+        run.deleteOnExit();
+      }
+    }
+    runs.clear();
+    buffer.clear();
+  }
+
+  private static final class RunHead implements Comparable<RunHead> {
+    private final BufferedReader reader;
+    private String current;
+
+    RunHead(BufferedReader reader, String current) {
+      this.reader = reader;
+      this.current = current;
+    }
+
+    @Override
+    public int compareTo(RunHead other) {
+      return current.compareTo(other.current);
+    }
+  }
+
+  private class MergingIterator implements Iterator<String> {
+
+    private final PriorityQueue<RunHead> heads = new PriorityQueue<>();
+
+    MergingIterator() {
+      try {
+        for (File run : runs) {
+          BufferedReader reader = Files.newBufferedReader(run.toPath(), StandardCharsets.UTF_8);
+          openReaders.add(reader);
+          String first = reader.readLine();
+          if (first != null) {
+            heads.add(new RunHead(reader, first));
+          }
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to read sorted runs from " + workDir.getAbsolutePath(), e);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !heads.isEmpty();
+    }
+
+    @Override
+    public String next() {
+      RunHead head = heads.poll();
+      if (head == null) {
+        throw new NoSuchElementException();
+      }
+      String result = head.current;
+      try {
+        head.current = head.reader.readLine();
+      } catch (IOException e) {
+        throw new IllegalStateException("Unable to read sorted runs from " + workDir.getAbsolutePath(), e);
+      }
+      if (head.current != null) {
+        heads.add(head);
+      }
+      return result;
+    }
+  }
+}
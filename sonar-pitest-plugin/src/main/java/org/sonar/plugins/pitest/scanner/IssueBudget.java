@@ -0,0 +1,135 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.Mutator;
+
+/**
+ * Caps the number of survived mutant issues saved per file and per module.
+ * <p>
+ * Candidates are ranked by priority and only the top ones are kept, using bounded heaps so that selecting k out of
+ * n candidates costs O(n log k). Mutants of the dropped candidates are counted per file so that they can be summarized.
+ * A limit of 0 or less means no limit.
+ */
+class IssueBudget {
+
+  private final int maxPerFile;
+  private final TopKSelector<IssueCandidate> moduleSelector;
+  private final List<IssueCandidate> retained = new ArrayList<>();
+  private final Map<InputFile, Integer> overflowByFile = new LinkedHashMap<>();
+
+  IssueBudget(int maxPerFile, int maxPerModule) {
+    this.maxPerFile = maxPerFile;
+    this.moduleSelector = maxPerModule > 0 ? new TopKSelector<>(maxPerModule, IssueCandidate.BY_PRIORITY) : null;
+  }
+
+  boolean isUnlimited() {
+    return maxPerFile <= 0 && moduleSelector == null;
+  }
+
+  void offer(List<IssueCandidate> fileCandidates) {
+    Collection<IssueCandidate> kept = fileCandidates;
+    if (maxPerFile > 0 && fileCandidates.size() > maxPerFile) {
+      TopKSelector<IssueCandidate> fileSelector = new TopKSelector<>(maxPerFile, IssueCandidate.BY_PRIORITY);
+      for (IssueCandidate candidate : fileCandidates) {
+        overflow(fileSelector.offer(candidate));
+      }
+      kept = fileSelector.toSortedList();
+    }
+
+    for (IssueCandidate candidate : kept) {
+      if (moduleSelector == null) {
+        retained.add(candidate);
+      } else {
+        overflow(moduleSelector.offer(candidate));
+      }
+    }
+  }
+
+  private void overflow(IssueCandidate dropped) {
+    if (dropped != null) {
+      overflowByFile.merge(dropped.getInputFile(), dropped.getMutants().size(), Integer::sum);
+    }
+  }
+
+  /**
+   * Hands over the selected candidates, highest priority first, then the number of dropped mutants of each file.
+   */
+  void emit(Consumer<IssueCandidate> issueConsumer, BiConsumer<InputFile, Integer> overflowConsumer) {
+    List<IssueCandidate> selected = moduleSelector == null ? retained : moduleSelector.toSortedList();
+    selected.forEach(issueConsumer);
+    overflowByFile.forEach(overflowConsumer);
+  }
+
+  /**
+   * Priority of an issue: the severity of its mutators, increased with the size of the enclosing method, as
+   * a survived mutant in a method generating many mutants is more likely to hide a real gap in the tests.
+   *
+   * @param mutantsInMethod number of mutants generated in the method of the candidate
+   */
+  static double priority(List<Mutant> mutants, int mutantsInMethod) {
+    double priority = 0;
+    for (Mutant mutant : mutants) {
+      priority += severity(mutant.mutator);
+    }
+    return priority + Math.log(1d + mutantsInMethod);
+  }
+
+  private static int severity(Mutator mutator) {
+    switch (mutator) {
+      case NEGATE_CONDITIONALS:
+      case CONDITIONALS_BOUNDARY:
+      case REMOVE_CONDITIONALS_EQ_IF:
+      case REMOVE_CONDITIONALS_EQ_ELSE:
+      case REMOVE_CONDITIONALS_ORD_IF:
+      case REMOVE_CONDITIONALS_ORD_ELSE:
+        return 5;
+      case RETURN_VALS:
+      case TRUE_RETURNS:
+      case FALSE_RETURNS:
+      case PRIMITIVE_RETURNS:
+      case EMPTY_RETURNS:
+      case NULL_RETURNS:
+      case MATH:
+        return 4;
+      case VOID_METHOD_CALLS:
+      case NON_VOID_METHOD_CALLS:
+      case CONSTRUCTOR_CALLS:
+      case REMOVE_SWITCH:
+        return 3;
+      case INCREMENTS:
+      case REMOVE_INCREMENTS:
+      case INVERT_NEGS:
+      case INLINE_CONSTS:
+        return 2;
+      default:
+        return 1;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.plugins.pitest.domain.Mutant;
+
+/**
+ * A survived mutant issue not yet saved: one mutant, or all the survived mutants of a line when grouping is enabled.
+ */
+class IssueCandidate {
+
+  static final Comparator<IssueCandidate> BY_PRIORITY = Comparator.comparingDouble(IssueCandidate::getPriority)
+    .thenComparing(Comparator.comparingInt(IssueCandidate::getLine).reversed());
+
+  private final InputFile inputFile;
+  private final int line;
+  private final List<Mutant> mutants;
+  private final double priority;
+
+  IssueCandidate(InputFile inputFile, int line, List<Mutant> mutants, double priority) {
+    this.inputFile = inputFile;
+    this.line = line;
+    this.mutants = Collections.unmodifiableList(mutants);
+    this.priority = priority;
+  }
+
+  InputFile getInputFile() {
+    return inputFile;
+  }
+
+  int getLine() {
+    return line;
+  }
+
+  List<Mutant> getMutants() {
+    return mutants;
+  }
+
+  double getPriority() {
+    return priority;
+  }
+}
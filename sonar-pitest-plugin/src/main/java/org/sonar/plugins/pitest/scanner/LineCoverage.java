@@ -0,0 +1,108 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+
+/**
+ * Coverage exported by pitest with the exportLineCoverage option, as the number of tests covering each block or line.
+ * <p>
+ * Pitest 1.2 and later export basic blocks of methods, which are located on source lines through the blocks of the
+ * mutants. Earlier versions export source lines of classes directly.
+ */
+class LineCoverage {
+
+  private static final char KEY_SEPARATOR = '\u0000';
+
+  /**
+   * Tests covering each block, by class, method and block number
+   */
+  private final Map<String, Integer> blockTests = new HashMap<>();
+  /**
+   * Tests covering each line, by top level class, as nested classes share the source file of their top level class
+   */
+  private final Map<String, Map<Integer, Integer>> lineTests = new HashMap<>();
+
+  void addBlock(String className, String methodWithDescription, int block, int tests) {
+    blockTests.merge(blockKey(className, methodWithDescription, block), tests, Integer::sum);
+  }
+
+  void addLine(String className, int line, int tests) {
+    lineTests.computeIfAbsent(topLevelClass(className), key -> new HashMap<>()).merge(line, tests, Integer::sum);
+  }
+
+  int blockCount() {
+    return blockTests.size();
+  }
+
+  int lineCount() {
+    return lineTests.values().stream().mapToInt(Map::size).sum();
+  }
+
+  /**
+   * @return the hits of the lines of a source file: the lines of its mutants, covered or not, and the lines of its
+   * classes covered by tests
+   */
+  SortedMap<Integer, Integer> lineHits(Collection<Mutant> mutants) {
+    SortedMap<Integer, Integer> hits = new TreeMap<>();
+    Set<String> topLevelClasses = new HashSet<>();
+    for (Mutant mutant : mutants) {
+      topLevelClasses.add(topLevelClass(mutant.mutantLocation.className));
+      hits.merge(mutant.lineNumber(), mutantHits(mutant), Math::max);
+    }
+    for (String topLevelClass : topLevelClasses) {
+      Map<Integer, Integer> lines = lineTests.get(topLevelClass);
+      if (lines != null) {
+        lines.forEach((line, tests) -> hits.merge(line, tests, Math::max));
+      }
+    }
+    return hits;
+  }
+
+  private int mutantHits(Mutant mutant) {
+    if (mutant.block != Mutant.UNKNOWN_BLOCK && !blockTests.isEmpty()) {
+      String method = mutant.mutantLocation.mutatedMethod + mutant.mutantLocation.methodDescription;
+      return blockTests.getOrDefault(blockKey(mutant.mutantLocation.className, method, mutant.block), 0);
+    }
+    Map<Integer, Integer> lines = lineTests.get(topLevelClass(mutant.mutantLocation.className));
+    if (lines != null) {
+      return lines.getOrDefault(mutant.lineNumber(), 0);
+    }
+    // the mutant cannot be located in the coverage: pitest only runs tests on mutants it found covered
+    return MutantStatus.NO_COVERAGE.equals(mutant.mutantStatus) ? 0 : 1;
+  }
+
+  private static String blockKey(String className, String methodWithDescription, int block) {
+    return className + KEY_SEPARATOR + methodWithDescription + KEY_SEPARATOR + block;
+  }
+
+  private static String topLevelClass(String className) {
+    int nested = className.indexOf('$');
+    return nested < 0 ? className : className.substring(0, nested);
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Predicate;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Streams the linecoverage.xml file exported by pitest with the exportLineCoverage option:
+ * <pre>
+ * &lt;coverage&gt;
+ *   &lt;block classname='com.foo.Bar' method='compute(I)I' number='2'&gt;&lt;tests&gt;&lt;test name='...'/&gt;&lt;/tests&gt;&lt;/block&gt;
+ * &lt;/coverage&gt;
+ * </pre>
+ * Pitest versions before 1.2 write &lt;line classname='com.foo.Bar' number='12'&gt; elements instead of blocks.
+ */
+class LineCoverageParser {
+
+  private final XMLInputFactory xmlFactory = XmlBackend.JDK.createFactory();
+
+  /**
+   * @param packageFilter accepts the packages whose coverage is kept
+   */
+  LineCoverage parse(File lineCoverageFile, Predicate<String> packageFilter) {
+    LineCoverage lineCoverage = new LineCoverage();
+    XMLStreamReader stream = null;
+    try (InputStream inputStream = new FileInputStream(lineCoverageFile)) {
+      stream = xmlFactory.createXMLStreamReader(inputStream);
+      while (stream.hasNext()) {
+        if (stream.next() != XMLStreamConstants.START_ELEMENT) {
+          continue;
+        }
+        String tagName = stream.getLocalName();
+        if (!"block".equals(tagName) && !"line".equals(tagName)) {
+          continue;
+        }
+        String className = stream.getAttributeValue(null, "classname");
+        if (className == null || !packageFilter.test(packageName(className))) {
+          continue;
+        }
+        String method = stream.getAttributeValue(null, "method");
+        int number = Integer.parseInt(stream.getAttributeValue(null, "number"));
+        // a block or line is only exported when covered
+        int tests = Math.max(1, countTests(stream, tagName));
+        if ("block".equals(tagName)) {
+          lineCoverage.addBlock(className, method, number, tests);
+        } else {
+          lineCoverage.addLine(className, number, tests);
+        }
+      }
+    } catch (IOException | XMLStreamException | IllegalArgumentException e) {
+      throw new IllegalStateException("Pitest line coverage " + lineCoverageFile + " is not valid", e);
+    } finally {
+      close(stream);
+    }
+    return lineCoverage;
+  }
+
+  private static int countTests(XMLStreamReader stream, String tagName) throws XMLStreamException {
+    int tests = 0;
+    while (stream.hasNext()) {
+      int next = stream.next();
+      if (next == XMLStreamConstants.START_ELEMENT && "test".equals(stream.getLocalName())) {
+        tests++;
+      } else if (next == XMLStreamConstants.END_ELEMENT && tagName.equals(stream.getLocalName())) {
+        break;
+      }
+    }
+    return tests;
+  }
+
+  private static String packageName(String className) {
+    int lastDot = className.lastIndexOf('.');
+    return lastDot < 0 ? ReportSharder.DEFAULT_PACKAGE : className.substring(0, lastDot);
+  }
+
+  private static void close(XMLStreamReader stream) {
+    if (stream != null) {
+      try {
+        stream.close();
+      } catch (XMLStreamException e) {
+        // nothing more to read
+      }
+    }
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.Objects;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantLocation;
+
+/**
+ * Mutation counts of a method of a source file, identified by its class, name and descriptor. CSV reports carry no
+ * descriptor, so the overloads of a method share a single report when read from them.
+ */
+final class MethodReport {
+
+  private final String className;
+  private final String methodName;
+  private final String methodDescription;
+  private int line = Integer.MAX_VALUE;
+  private int mutationsTotal;
+  private int mutationsKilled;
+  private int mutationsSurvived;
+
+  MethodReport(MutantLocation location) {
+    this.className = location.getClassName();
+    this.methodName = location.getMutatedMethod();
+    this.methodDescription = descriptionOf(location);
+  }
+
+  static String key(MutantLocation location) {
+    return location.getClassName() + '#' + location.getMutatedMethod() + descriptionOf(location);
+  }
+
+  private static String descriptionOf(MutantLocation location) {
+    return Objects.toString(location.getMethodDescription(), "");
+  }
+
+  boolean isMethodOf(MutantLocation location) {
+    return Objects.equals(methodName, location.getMutatedMethod()) && methodDescription.equals(descriptionOf(location))
+      && Objects.equals(className, location.getClassName());
+  }
+
+  void add(Mutant mutant) {
+    mutationsTotal++;
+    switch (mutant.mutantStatus) {
+      case KILLED:
+        mutationsKilled++;
+        break;
+      case SURVIVED:
+        mutationsSurvived++;
+        break;
+      default:
+        break;
+    }
+    if (mutant.lineNumber() > 0) {
+      line = Math.min(line, mutant.lineNumber());
+    }
+  }
+
+  String getClassName() {
+    return className;
+  }
+
+  /**
+   * @return the method name followed by its descriptor, e.g. compute(I)I, or the method name alone if the report has no descriptor
+   */
+  String getMethod() {
+    return methodName + methodDescription;
+  }
+
+  /**
+   * @return the first line of a mutant of the method, or 0 if no mutant has a line
+   */
+  int getLine() {
+    return line == Integer.MAX_VALUE ? 0 : line;
+  }
+
+  int getMutationsTotal() {
+    return mutationsTotal;
+  }
+
+  int getMutationsKilled() {
+    return mutationsKilled;
+  }
+
+  int getMutationsSurvived() {
+    return mutationsSurvived;
+  }
+
+  double getKilledPercent() {
+    return 100.0 * mutationsKilled / mutationsTotal;
+  }
+
+  @Override
+  public String toString() {
+    return "MethodReport [className=" + className + ", method=" + getMethod() + ", mutationsTotal=" + mutationsTotal + ", mutationsKilled=" + mutationsKilled
+      + ", mutationsSurvived=" + mutationsSurvived + "]";
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.Collection;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+/**
+ * Source file reports of a module read from a pitest report, with the line coverage exported by the same run. Reading
+ * it does not need the sensor context, so it may be done ahead on the prefetch thread.
+ */
+class ModuleReport implements Closeable {
+
+  private final File report;
+  private final Iterable<SourceFileReport> sourceFileReports;
+  private final LineCoverage lineCoverage;
+  private final SpilledSourceFileReports spilledReports;
+
+  private ModuleReport(File report, Iterable<SourceFileReport> sourceFileReports, @Nullable LineCoverage lineCoverage,
+    @Nullable SpilledSourceFileReports spilledReports) {
+    this.report = report;
+    this.sourceFileReports = sourceFileReports;
+    this.lineCoverage = lineCoverage;
+    this.spilledReports = spilledReports;
+  }
+
+  static ModuleReport inMemory(File report, Collection<SourceFileReport> sourceFileReports, @Nullable LineCoverage lineCoverage) {
+    return new ModuleReport(report, sourceFileReports, lineCoverage, null);
+  }
+
+  /**
+   * The spilled reports are deleted when the module report is closed.
+   */
+  static ModuleReport spilled(File report, SpilledSourceFileReports sourceFileReports, @Nullable LineCoverage lineCoverage) {
+    return new ModuleReport(report, sourceFileReports, lineCoverage, sourceFileReports);
+  }
+
+  File getReport() {
+    return report;
+  }
+
+  Iterable<SourceFileReport> getSourceFileReports() {
+    return sourceFileReports;
+  }
+
+  @CheckForNull
+  LineCoverage getLineCoverage() {
+    return lineCoverage;
+  }
+
+  @Override
+  public void close() {
+    if (spilledReports != null) {
+      spilledReports.close();
+    }
+  }
+}
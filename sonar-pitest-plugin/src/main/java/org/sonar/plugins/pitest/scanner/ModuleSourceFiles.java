@@ -0,0 +1,87 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+
+/**
+ * Tells whether a source file relative path, as found in the pitest report, belongs to the main files of the module.
+ * <p>
+ * Pitest paths are relative to a source directory whereas module paths are relative to the module base directory, so
+ * every path suffix of the module files is kept: a report path matches when it is one of them, the same way
+ * {@link PitestSensor} locates files with a "**&#47;" pattern.
+ */
+class ModuleSourceFiles implements Predicate<String> {
+
+  private final Set<String> pathSuffixes = new HashSet<>();
+  private final Set<String> directorySuffixes = new HashSet<>();
+
+  private ModuleSourceFiles() {
+  }
+
+  static ModuleSourceFiles of(FileSystem fileSystem) {
+    ModuleSourceFiles moduleSourceFiles = new ModuleSourceFiles();
+    Path baseDir = fileSystem.baseDir().toPath();
+    for (InputFile inputFile : fileSystem.inputFiles(fileSystem.predicates().hasType(InputFile.Type.MAIN))) {
+      moduleSourceFiles.add(relativePath(baseDir, inputFile));
+    }
+    return moduleSourceFiles;
+  }
+
+  /**
+   * @return the path of the file relative to the module base directory, with '/' separators
+   */
+  static String relativePath(Path baseDir, InputFile inputFile) {
+    return baseDir.toAbsolutePath().normalize().relativize(Paths.get(inputFile.uri()).normalize()).toString().replace('\\', '/');
+  }
+
+  private void add(String relativePath) {
+    pathSuffixes.add(relativePath);
+    int lastSeparator = relativePath.lastIndexOf('/');
+    if (lastSeparator > 0) {
+      directorySuffixes.add(relativePath.substring(0, lastSeparator));
+    }
+    for (int separator = relativePath.indexOf('/'); separator >= 0; separator = relativePath.indexOf('/', separator + 1)) {
+      pathSuffixes.add(relativePath.substring(separator + 1));
+      if (separator < lastSeparator) {
+        directorySuffixes.add(relativePath.substring(separator + 1, lastSeparator));
+      }
+    }
+  }
+
+  /**
+   * @return whether the module may contain classes of the given package, i.e. whether one of its main files is in a
+   * directory matching the package. Classes of the default package may be anywhere.
+   */
+  boolean containsPackage(String packageName) {
+    return ReportSharder.DEFAULT_PACKAGE.equals(packageName) || directorySuffixes.contains(packageName.replace('.', '/'));
+  }
+
+  @Override
+  public boolean test(String sourceFileRelativePath) {
+    return pathSuffixes.contains(sourceFileRelativePath);
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import org.sonar.plugins.pitest.domain.Mutator;
+import org.sonar.plugins.pitest.domain.MutatorConstants;
+
+/**
+ * Mutants excluded from issues and measures by the sonar.pitest.exclusions.* properties, evaluated while a report is
+ * read so that excluded mutants are never created.
+ * <p>
+ * Class and path patterns are compiled into a single regular expression matched once per mutant against its source
+ * file path and mutated class, and mutator patterns are resolved once into the keys of the excluded mutators. In class
+ * patterns, * matches any part of a package or class name and ** any number of packages, a pattern without a package
+ * being matched against the name of the class in its package, such as *Builder or *Dto. In path patterns, relative to
+ * the source directory, * matches any part of a file or directory name and ** any number of directories, such as
+ * **&#47;generated&#47;**. Mutator patterns match the mutator names, such as EXPERIMENTAL_*.
+ * <p>
+ * The REMOVE_CONDITIONALS_* mutators share the key of the remove conditionals mutator, but pitest reports each of them
+ * under its own id, such as RemoveConditionalMutator_EQUAL_IF: they are excluded one by one through these ids. A
+ * mutant reported under the shared key, whose variant is unknown, is only excluded when all of them are.
+ */
+final class MutantExclusions {
+
+  static final MutantExclusions NONE = new MutantExclusions(null, Collections.emptySet());
+
+  private static final char SEPARATOR = '\n';
+
+  private static final Map<Mutator, String> REMOVE_CONDITIONALS_IDS = new EnumMap<>(Mutator.class);
+
+  static {
+    REMOVE_CONDITIONALS_IDS.put(Mutator.REMOVE_CONDITIONALS_EQ_IF, MutatorConstants.REMOVE_COND_MUTATOR_KEY + "_EQUAL_IF");
+    REMOVE_CONDITIONALS_IDS.put(Mutator.REMOVE_CONDITIONALS_EQ_ELSE, MutatorConstants.REMOVE_COND_MUTATOR_KEY + "_EQUAL_ELSE");
+    REMOVE_CONDITIONALS_IDS.put(Mutator.REMOVE_CONDITIONALS_ORD_IF, MutatorConstants.REMOVE_COND_MUTATOR_KEY + "_ORDER_IF");
+    REMOVE_CONDITIONALS_IDS.put(Mutator.REMOVE_CONDITIONALS_ORD_ELSE, MutatorConstants.REMOVE_COND_MUTATOR_KEY + "_ORDER_ELSE");
+  }
+
+  private final Pattern locationPattern;
+  private final Set<String> mutatorKeys;
+
+  private MutantExclusions(Pattern locationPattern, Set<String> mutatorKeys) {
+    this.locationPattern = locationPattern;
+    this.mutatorKeys = mutatorKeys;
+  }
+
+  static MutantExclusions of(@Nullable String[] classPatterns, @Nullable String[] pathPatterns, @Nullable String[] mutatorPatterns) {
+    List<String> alternatives = new ArrayList<>();
+    for (String classPattern : nonBlank(classPatterns)) {
+      String regex = toRegex(classPattern, '.');
+      // a class name alone is matched in any package
+      alternatives.add(".*" + SEPARATOR + (classPattern.indexOf('.') < 0 ? "(?:.*\\.)?" : "") + regex);
+    }
+    for (String pathPattern : nonBlank(pathPatterns)) {
+      alternatives.add(toRegex(pathPattern.replace('\\', '/').replaceAll("^/+", ""), '/') + SEPARATOR + ".*");
+    }
+    Pattern locationPattern = alternatives.isEmpty() ? null : Pattern.compile(String.join("|", alternatives));
+
+    Set<String> mutatorKeys = new HashSet<>();
+    List<String> mutators = nonBlank(mutatorPatterns);
+    if (!mutators.isEmpty()) {
+      Pattern mutatorPattern = Pattern.compile(mutators.stream().map(p -> toRegex(p, '\0')).collect(Collectors.joining("|")));
+      for (Mutator mutator : Mutator.values()) {
+        if (mutator != Mutator.UNKNOWN && mutatorPattern.matcher(mutator.name()).matches()) {
+          mutatorKeys.add(REMOVE_CONDITIONALS_IDS.getOrDefault(mutator, mutator.getKey()));
+        }
+      }
+      if (mutatorKeys.containsAll(REMOVE_CONDITIONALS_IDS.values())) {
+        mutatorKeys.add(MutatorConstants.REMOVE_COND_MUTATOR_KEY);
+      }
+    }
+
+    if (locationPattern == null && mutatorKeys.isEmpty()) {
+      return NONE;
+    }
+    return new MutantExclusions(locationPattern, mutatorKeys);
+  }
+
+  private static List<String> nonBlank(@Nullable String[] patterns) {
+    List<String> nonBlank = new ArrayList<>();
+    if (patterns == null) {
+      return nonBlank;
+    }
+    for (String pattern : patterns) {
+      if (!pattern.trim().isEmpty()) {
+        nonBlank.add(pattern.trim());
+      }
+    }
+    return nonBlank;
+  }
+
+  /**
+   * Translates a pattern where ** matches anything, * anything but the separator and ? any character but the
+   * separator.
+   */
+  private static String toRegex(String pattern, char separator) {
+    String anyButSeparator = separator == '\0' ? "." : ("[^" + Pattern.quote(String.valueOf(separator)) + "]");
+    StringBuilder regex = new StringBuilder();
+    int i = 0;
+    while (i < pattern.length()) {
+      char c = pattern.charAt(i);
+      if (c == '*' && i + 1 < pattern.length() && pattern.charAt(i + 1) == '*') {
+        i += 2;
+        if (i < pattern.length() && pattern.charAt(i) == separator) {
+          // **/ also matches no directory at all
+          regex.append("(?:.*").append(Pattern.quote(String.valueOf(separator))).append(")?");
+          i++;
+        } else {
+          regex.append(".*");
+        }
+        continue;
+      }
+      if (c == '*') {
+        regex.append(anyButSeparator).append('*');
+      } else if (c == '?') {
+        regex.append(anyButSeparator);
+      } else {
+        regex.append(Pattern.quote(String.valueOf(c)));
+      }
+      i++;
+    }
+    return "(?:" + regex + ")";
+  }
+
+  boolean isEmpty() {
+    return this == NONE;
+  }
+
+  /**
+   * @param relativePath path of the source file relative to its source directory, such as com/foo/Bar.java
+   * @param mutatedClass fully qualified name of the mutated class
+   */
+  boolean excludesLocation(String relativePath, String mutatedClass) {
+    return locationPattern != null && locationPattern.matcher(relativePath + SEPARATOR + mutatedClass).matches();
+  }
+
+  /**
+   * @param mutatorKey the mutator as written in the report, such as org.pitest.mutationtest.engine.gregor.mutators.MathMutator
+   */
+  boolean excludesMutator(String mutatorKey) {
+    return !mutatorKeys.isEmpty() && mutatorKeys.contains(mutatorKey);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    MutantExclusions other = (MutantExclusions) o;
+    return Objects.equals(locationRegex(), other.locationRegex()) && mutatorKeys.equals(other.mutatorKeys);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(locationRegex(), mutatorKeys);
+  }
+
+  private String locationRegex() {
+    return locationPattern == null ? null : locationPattern.pattern();
+  }
+}
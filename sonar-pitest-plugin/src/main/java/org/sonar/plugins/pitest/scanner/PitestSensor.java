@@ -0,0 +1,735 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.api.batch.fs.FilePredicate;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.sensor.Sensor;
+import org.sonar.api.batch.sensor.SensorContext;
+import org.sonar.api.batch.sensor.SensorDescriptor;
+import org.sonar.api.batch.sensor.coverage.NewCoverage;
+import org.sonar.api.batch.sensor.issue.NewIssue;
+import org.sonar.api.batch.sensor.issue.NewIssueLocation;
+import org.sonar.api.config.Configuration;
+import org.sonar.api.measures.Metric;
+import org.sonar.api.profiles.RulesProfile;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rules.ActiveRule;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.pitest.PitestEvents;
+import org.sonar.plugins.pitest.PitestMetrics;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.MutationScoreEstimate;
+
+import static org.sonar.plugins.pitest.PitestConstants.BASE_REPORT_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.COVERAGE_RATIO_BY_PREFIX_PARAM;
+import static org.sonar.plugins.pitest.PitestConstants.COVERAGE_RATIO_PARAM;
+import static org.sonar.plugins.pitest.PitestConstants.GROUP_SURVIVED_BY_LINE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.LINE_COVERAGE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MAX_ISSUES_PER_FILE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MAX_METHODS_PARAM;
+import static org.sonar.plugins.pitest.PitestConstants.MAX_ISSUES_PER_MODULE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.METHOD_HOTSPOT_RULE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MODE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MODE_SKIP;
+import static org.sonar.plugins.pitest.PitestConstants.MUTANT_REGRESSION_RULE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PREFETCH_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PREFETCH_TIMEOUT_DEF;
+import static org.sonar.plugins.pitest.PitestConstants.PREFETCH_TIMEOUT_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_AUTO;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_MEMORY;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_STREAMING;
+import static org.sonar.plugins.pitest.PitestConstants.REPORT_CACHE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.REPORT_DIRECTORY_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.SAMPLING_ERROR_MARGIN_DEF;
+import static org.sonar.plugins.pitest.PitestConstants.SAMPLING_ERROR_MARGIN_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.SAMPLING_PERCENT_DEF;
+import static org.sonar.plugins.pitest.PitestConstants.SAMPLING_PERCENT_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.REPOSITORY_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.SURVIVED_MUTANT_RULE_KEY;
+
+/**
+ * Sonar sensor for pitest mutation coverage analysis.
+ */
+// profiler phases and event scopes are closed by try-with-resources without being referenced in their body
+@SuppressWarnings("try")
+public class PitestSensor implements Sensor {
+
+  private static final Logger LOGGER = Loggers.get(PitestSensor.class);
+  private static final Comparator<MethodReport> METHOD_HOTSPOT_ORDER = Comparator.comparingInt(MethodReport::getMutationsSurvived)
+    .thenComparing(Comparator.comparingDouble(MethodReport::getKilledPercent).reversed());
+  static final String SENSOR_NAME = "Pitest Sensor";
+
+  private final Configuration configuration;
+  private final XmlReportParser parser;
+  private final RulesProfile rulesProfile;
+  private final XmlReportFinder xmlReportFinder;
+  private final XmlReportDiff xmlReportDiff;
+  private final ReportCache reportCache;
+  private final FileSystem fileSystem;
+  private final String executionMode;
+  private final boolean groupSurvivedByLine;
+  private final FilePredicate fileSystemExecutionPredicate;
+  private final ReportPrefetch reportPrefetch;
+  private final LineCoverageParser lineCoverageParser = new LineCoverageParser();
+  private SensorProfiler profiler;
+  private CoverageThresholds coverageThresholds;
+  private double samplingPercent;
+
+  public PitestSensor(Configuration configuration, XmlReportParser parser, RulesProfile rulesProfile, XmlReportFinder xmlReportFinder, XmlReportDiff xmlReportDiff,
+    ReportCache reportCache, FileSystem fileSystem) {
+    this.configuration = configuration;
+    this.parser = parser;
+    this.rulesProfile = rulesProfile;
+    this.xmlReportFinder = xmlReportFinder;
+    this.xmlReportDiff = xmlReportDiff;
+    this.reportCache = reportCache;
+    this.fileSystem = fileSystem;
+    this.executionMode = configuration.get(MODE_KEY).orElse(null);
+    this.groupSurvivedByLine = configuration.getBoolean(GROUP_SURVIVED_BY_LINE_KEY).orElse(false);
+    this.fileSystemExecutionPredicate = fileSystem.predicates().and(
+      fileSystem.predicates().hasType(InputFile.Type.MAIN),
+      fileSystem.predicates().hasLanguages("java"));
+    this.reportPrefetch = MODE_SKIP.equals(executionMode) || !configuration.getBoolean(PREFETCH_KEY).orElse(false) ? null
+      : new ReportPrefetch(this::prefetchModuleReport);
+  }
+
+  @CheckForNull
+  private ModuleReport prefetchModuleReport(SensorProfiler prefetchProfiler) {
+    java.io.File xmlReport;
+    try (SensorProfiler.Phase phase = prefetchProfiler.phase("find")) {
+      xmlReport = findReport();
+    }
+    return xmlReport == null ? null : readModuleReport(xmlReport, prefetchProfiler);
+  }
+
+  /**
+   * Also starts the report prefetch: sensors are described once the file system is indexed, before the first of them
+   * is executed.
+   */
+  @Override
+  public void describe(SensorDescriptor descriptor) {
+    descriptor.name(SENSOR_NAME);
+    descriptor.createIssuesForRuleRepository(REPOSITORY_KEY);
+    descriptor.onlyOnFileType(InputFile.Type.MAIN);
+    descriptor.onlyOnLanguages("java");
+    if (reportPrefetch != null && fileSystem.hasFiles(fileSystemExecutionPredicate)) {
+      reportPrefetch.start();
+    }
+  }
+
+  @Override
+  public void execute(SensorContext context) {
+    if (!fileSystem.hasFiles(fileSystemExecutionPredicate)) {
+      LOGGER.debug("file system execution predicate not satisfied {}. returning", fileSystemExecutionPredicate);
+      cancelReportPrefetch();
+      return;
+    }
+
+    if (MODE_SKIP.equals(executionMode)) {
+      LOGGER.debug("executionMode is skip. returning");
+      cancelReportPrefetch();
+      return;
+    }
+
+    samplingPercent = configuration.getDouble(SAMPLING_PERCENT_KEY).orElse(SAMPLING_PERCENT_DEF);
+    if (samplingPercent <= 0d || samplingPercent > 100d) {
+      cancelReportPrefetch();
+      throw new IllegalStateException(SAMPLING_PERCENT_KEY + " must be greater than 0 and at most 100: " + samplingPercent);
+    }
+
+    profiler = new SensorProfiler();
+    try {
+      analyse(context);
+    } finally {
+      profiler.finish(fileSystem.workDir());
+    }
+  }
+
+  private void analyse(SensorContext context) {
+    ModuleReport moduleReport;
+    if (reportPrefetch != null) {
+      long timeout = configuration.getLong(PREFETCH_TIMEOUT_KEY).orElse(PREFETCH_TIMEOUT_DEF);
+      try (SensorProfiler.Phase phase = profiler.phase("prefetch")) {
+        moduleReport = reportPrefetch.join(timeout, TimeUnit.SECONDS);
+      }
+      profiler.addAll(reportPrefetch.getProfiler());
+    } else {
+      java.io.File xmlReport;
+      try (SensorProfiler.Phase phase = profiler.phase("find")) {
+        xmlReport = findReport();
+      }
+      moduleReport = xmlReport == null ? null : readModuleReport(xmlReport, profiler);
+    }
+    if (moduleReport == null) {
+      LOGGER.warn("No XML PIT report found in directory {} !", reportDirectory());
+      LOGGER.warn("Checkout plugin documentation for more detailed explanations: https://github.com/SonarQubeCommunity/sonar-pitest");
+      return;
+    }
+    java.io.File xmlReport = moduleReport.getReport();
+    try (ModuleReport report = moduleReport) {
+      processSourceFileReports(report.getSourceFileReports(), context, report.getLineCoverage());
+    }
+
+    String baseReportPath = configuration.get(BASE_REPORT_KEY).orElse(null);
+    if (baseReportPath != null) {
+      try (SensorProfiler.Phase phase = profiler.phase("diff")) {
+        processReportDiff(context, new java.io.File(fileSystem.baseDir(), baseReportPath), xmlReport);
+      }
+    }
+  }
+
+  private void cancelReportPrefetch() {
+    if (reportPrefetch != null) {
+      reportPrefetch.cancel();
+    }
+  }
+
+  private java.io.File reportDirectory() {
+    return new java.io.File(fileSystem.baseDir(), configuration.get(REPORT_DIRECTORY_KEY).orElse(null));
+  }
+
+  private java.io.File findReport() {
+    java.io.File reportDirectory = reportDirectory();
+    try (PitestEvents.Scope event = PitestEvents.get().reportDiscovery(reportDirectory.getPath())) {
+      return xmlReportFinder.findReport(reportDirectory);
+    }
+  }
+
+  /**
+   * Reads the source file reports of the module, with the given profiler as it may run on the prefetch thread.
+   */
+  private ModuleReport readModuleReport(java.io.File xmlReport, SensorProfiler profiler) {
+    ModuleSourceFiles moduleSourceFiles = ModuleSourceFiles.of(fileSystem);
+    LineCoverage lineCoverage = loadLineCoverage(xmlReport, moduleSourceFiles, profiler);
+    if (configuration.getBoolean(REPORT_CACHE_KEY).orElse(false)) {
+      ProjectReport projectReport;
+      try (SensorProfiler.Phase phase = profiler.phase("parse")) {
+        projectReport = reportCache.sliceFor(xmlReport, parser, fileSystem);
+      }
+      return ModuleReport.inMemory(xmlReport, projectReport.getSourceFileReports(), lineCoverage);
+    }
+
+    List<java.io.File> reportFiles;
+    try (SensorProfiler.Phase phase = profiler.phase("find")) {
+      reportFiles = moduleReportFiles(xmlReport, moduleSourceFiles);
+    }
+    if (isStreamingProcessing(reportFiles)) {
+      SpilledSourceFileReports sourceFileReports = new SpilledSourceFileReports(fileSystem.workDir());
+      try (SensorProfiler.Phase phase = profiler.phase("parse")) {
+        for (java.io.File reportFile : reportFiles) {
+          parser.parse(reportFile, moduleSourceFiles, sourceFileReports::add);
+        }
+      } catch (RuntimeException e) {
+        sourceFileReports.close();
+        throw e;
+      }
+      return ModuleReport.spilled(xmlReport, sourceFileReports, lineCoverage);
+    }
+    ProjectReport projectReport;
+    if (reportFiles.size() > 1) {
+      // shards hold distinct packages, so they are parsed in parallel without mixing the mutants of a source file
+      ConcurrentProjectReport concurrentProjectReport = new ConcurrentProjectReport();
+      try (SensorProfiler.Phase phase = profiler.phase("parse")) {
+        reportFiles.parallelStream().forEach(reportFile -> phase.measure(() -> parser.parse(reportFile, moduleSourceFiles, concurrentProjectReport)));
+      }
+      try (SensorProfiler.Phase phase = profiler.phase("report")) {
+        projectReport = concurrentProjectReport.snapshot();
+      }
+    } else {
+      Collection<Mutant> mutants;
+      try (SensorProfiler.Phase phase = profiler.phase("parse")) {
+        mutants = parser.parseSourceFiles(reportFiles.get(0), moduleSourceFiles);
+      }
+      try (SensorProfiler.Phase phase = profiler.phase("report")) {
+        projectReport = new ProjectReport(mutants);
+      }
+    }
+    return ModuleReport.inMemory(xmlReport, projectReport.getSourceFileReports(), lineCoverage);
+  }
+
+  /**
+   * @return the coverage of the module packages exported by pitest along the report, or null if there is none
+   */
+  @Nullable
+  private LineCoverage loadLineCoverage(java.io.File xmlReport, ModuleSourceFiles moduleSourceFiles, SensorProfiler profiler) {
+    if (!configuration.getBoolean(LINE_COVERAGE_KEY).orElse(false)) {
+      return null;
+    }
+    java.io.File lineCoverageFile = xmlReportFinder.findLineCoverage(xmlReport);
+    if (lineCoverageFile == null) {
+      LOGGER.debug("No pitest line coverage found next to {}, reporting the lines of killed mutants as covered", xmlReport);
+      return null;
+    }
+    if (CsvReportReader.isCsvReport(xmlReport)) {
+      // the CSV format has no basic blocks to match the mutants with the covering tests
+      LOGGER.warn("Ignoring pitest line coverage {}: the CSV report {} has no basic blocks, reporting the lines of killed mutants as covered", lineCoverageFile,
+        xmlReport);
+      return null;
+    }
+    LineCoverage lineCoverage;
+    try (SensorProfiler.Phase phase = profiler.phase("lineCoverage")) {
+      lineCoverage = lineCoverageParser.parse(lineCoverageFile, moduleSourceFiles::containsPackage);
+    }
+    LOGGER.info("Importing pitest line coverage {}: {} blocks and {} lines covered", lineCoverageFile, lineCoverage.blockCount(), lineCoverage.lineCount());
+    return lineCoverage;
+  }
+
+  /**
+   * @return the shards of the module packages when the report was sharded, the report itself otherwise
+   */
+  private List<java.io.File> moduleReportFiles(java.io.File xmlReport, ModuleSourceFiles moduleSourceFiles) {
+    java.io.File shardIndex = xmlReportFinder.findShardIndex(xmlReport);
+    if (shardIndex == null) {
+      return Collections.singletonList(xmlReport);
+    }
+    List<java.io.File> shards = xmlReportFinder.findShards(shardIndex, moduleSourceFiles::containsPackage);
+    LOGGER.info("Reading {} pitest report shards of the module instead of {}", shards.size(), xmlReport);
+    return shards;
+  }
+
+  private boolean isStreamingProcessing(List<java.io.File> reportFiles) {
+    String processingMode = configuration.get(PROCESSING_MODE_KEY).orElse(PROCESSING_MODE_AUTO);
+    if (PROCESSING_MODE_MEMORY.equals(processingMode)) {
+      return false;
+    }
+    if (PROCESSING_MODE_STREAMING.equals(processingMode)) {
+      LOGGER.info("PIT report processing mode: streaming");
+      return true;
+    }
+    ReportMemoryEstimate estimate = ReportMemoryEstimate.of(reportFiles, Runtime.getRuntime());
+    boolean streaming = !estimate.fitsInHeap();
+    LOGGER.info("PIT report processing mode: {} (about {} mutants, {} MB peak heap estimated, {} MB heap available)",
+      streaming ? PROCESSING_MODE_STREAMING : PROCESSING_MODE_MEMORY, estimate.getEstimatedMutants(),
+      estimate.getEstimatedPeakBytes() / ReportMemoryEstimate.MEGABYTE, estimate.getAvailableHeapBytes() / ReportMemoryEstimate.MEGABYTE);
+    return streaming;
+  }
+
+  private void processReportDiff(SensorContext context, java.io.File baseReport, java.io.File xmlReport) {
+    if (!baseReport.isFile()) {
+      LOGGER.warn("Base PIT report {} not found, skipping comparison", baseReport);
+      return;
+    }
+    boolean regressionRuleActive = rulesProfile.getActiveRule(REPOSITORY_KEY, MUTANT_REGRESSION_RULE_KEY) != null;
+    ReportDiff reportDiff = xmlReportDiff.diff(baseReport, xmlReport, context.fileSystem().workDir(), regression -> {
+      if (regressionRuleActive) {
+        addIssueForRegression(context, regression);
+      }
+    });
+
+    for (Map.Entry<String, ReportDiff.FileDiff> entry : reportDiff.getFileDiffs().entrySet()) {
+      InputFile inputFile = locateFile(entry.getKey());
+      if (inputFile == null) {
+        LOGGER.debug("Mutation difference in an unknown resource: {}", entry.getKey());
+        continue;
+      }
+      ReportDiff.FileDiff fileDiff = entry.getValue();
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_ADDED, fileDiff.getAdded());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_REMOVED, fileDiff.getRemoved());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_STATUS_CHANGED, fileDiff.getStatusChanged());
+    }
+  }
+
+  private void addIssueForRegression(SensorContext context, ReportDiff.Regression regression) {
+    InputFile inputFile = locateFile(regression.getRelativePath());
+    if (inputFile == null) {
+      return;
+    }
+    NewIssue newIssue = context.newIssue()
+      .forRule(RuleKey.of(REPOSITORY_KEY, MUTANT_REGRESSION_RULE_KEY));
+
+    NewIssueLocation location = newIssue.newLocation()
+      .on(inputFile)
+      .at(inputFile.selectLine(regression.getLineNumber()))
+      .message(regression.violationDescription());
+
+    newIssue.at(location);
+    newIssue.save();
+    profiler.count("issues", 1);
+  }
+
+  private void processSourceFileReports(Iterable<SourceFileReport> sourceFileReports, SensorContext context, @Nullable LineCoverage lineCoverage) {
+    IssueBudget issueBudget = new IssueBudget(
+      configuration.getInt(MAX_ISSUES_PER_FILE_KEY).orElse(0),
+      configuration.getInt(MAX_ISSUES_PER_MODULE_KEY).orElse(0));
+
+    int sampledKilled = 0;
+    int sampled = 0;
+    int population = 0;
+    for (SourceFileReport sourceFileReport : sourceFileReports) {
+      profiler.count("mutants", sourceFileReport.getMutationsTotal());
+      InputFile inputFile;
+      try (SensorProfiler.Phase phase = profiler.phase("locateFile")) {
+        inputFile = locateFile(sourceFileReport.getRelativePath());
+      }
+      if (inputFile == null) {
+        LOGGER.warn("Mutation in an unknown resource: {}", sourceFileReport.getRelativePath());
+        profiler.count("unknownFiles", 1);
+        continue;
+      }
+      profiler.count("files", 1);
+
+      try (PitestEvents.Scope event = PitestEvents.get().fileProcessing(sourceFileReport.getRelativePath())) {
+        long issues = profiler.counter("issues");
+        long measures = profiler.counter("measures");
+        processSourceFileReport(context, inputFile, sourceFileReport, lineCoverage, issueBudget);
+        if (event.isEnabled()) {
+          event.mutants(sourceFileReport.getMutationsTotal());
+          event.issues(profiler.counter("issues") - issues);
+          event.measures(profiler.counter("measures") - measures);
+        }
+      }
+      if (isSampled()) {
+        sampledKilled += sourceFileReport.getMutationsKilled();
+        sampled += sourceFileReport.getMutationsTotal();
+        population += population(sourceFileReport);
+      }
+    }
+
+    if (!issueBudget.isUnlimited()) {
+      try (SensorProfiler.Phase phase = profiler.phase("issues")) {
+        issueBudget.emit(
+          candidate -> addIssueForSurvivingMutants(context, candidate),
+          (inputFile, droppedMutants) -> addIssueForIssueBudgetOverflow(context, inputFile, droppedMutants));
+      }
+    }
+    if (sampled > 0) {
+      logSampledEstimate(sampledKilled, sampled, population);
+    }
+  }
+
+  private boolean isSampled() {
+    return samplingPercent < 100d;
+  }
+
+  /**
+   * @return the estimated number of mutants of the file in a full run, of which the report holds a random sample
+   */
+  private int population(SourceFileReport sourceFileReport) {
+    int sampled = sourceFileReport.getMutationsTotal();
+    return Math.max(sampled, (int) Math.round(sampled * 100d / samplingPercent));
+  }
+
+  /**
+   * Logs the mutation coverage of the module estimated from the sample, and how many mutants a sampled run needs for
+   * the target error margin, which would be the percentage to give PIT in the next runs.
+   */
+  private void logSampledEstimate(int killed, int sampled, int population) {
+    double targetMargin = configuration.getDouble(SAMPLING_ERROR_MARGIN_KEY).orElse(SAMPLING_ERROR_MARGIN_DEF);
+    MutationScoreEstimate estimate = MutationScoreEstimate.of(killed, sampled, population);
+    int requiredSampleSize = MutationScoreEstimate.requiredSampleSize(population, targetMargin);
+    LOGGER.info("Sampled PIT run: {} of about {} mutants, mutation coverage {}%, between {}% and {}% at 95% confidence",
+      sampled, population, format(estimate.getPercent()), format(estimate.getLow()), format(estimate.getHigh()));
+    String required = "An error margin of {}% requires {} sampled mutants, {}% of the module";
+    if (sampled < requiredSampleSize) {
+      LOGGER.warn(required, format(targetMargin), requiredSampleSize, format(100d * requiredSampleSize / population));
+    } else {
+      LOGGER.info(required, format(targetMargin), requiredSampleSize, format(100d * requiredSampleSize / population));
+    }
+  }
+
+  private static String format(double percent) {
+    return String.format(Locale.ENGLISH, "%.1f", percent);
+  }
+
+  private void processSourceFileReport(SensorContext context, InputFile inputFile, SourceFileReport sourceFileReport, @Nullable LineCoverage lineCoverage,
+    IssueBudget issueBudget) {
+    /*
+     * report Coverage and Measures regardless of whether rules are active
+     * FIXME: investigate further whether anything should be reported if rules are inactive
+     */
+    try (SensorProfiler.Phase phase = profiler.phase("coverage")) {
+      profiler.count("coverageLines", addCoverage(context, inputFile, sourceFileReport, lineCoverage));
+    }
+
+    try (SensorProfiler.Phase phase = profiler.phase("measures")) {
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_NOT_COVERED, sourceFileReport.getMutationsNoCoverage());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_GENERATED, sourceFileReport.getMutationsTotal());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_KILLED, sourceFileReport.getMutationsKilled());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_SURVIVED, sourceFileReport.getMutationsSurvived());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_ERROR, sourceFileReport.getMutationsOther());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_UNKNOWN, sourceFileReport.getMutationsUnknown());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_DATA, sourceFileReport.toJSON());
+      saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_BY_MUTATOR, sourceFileReport.getMutatorDistribution().encode());
+      OptionalDouble worstMethod = sourceFileReport.getMethodReports().stream().mapToDouble(MethodReport::getKilledPercent).min();
+      if (worstMethod.isPresent()) {
+        saveMeasureOnFile(context, inputFile, PitestMetrics.WORST_METHOD_KILLED_RATIO, worstMethod.getAsDouble());
+      }
+      if (isSampled()) {
+        saveMeasureOnFile(context, inputFile, PitestMetrics.MUTATIONS_POPULATION, population(sourceFileReport));
+      }
+    }
+
+    /*
+     * Rules-sensitive reporting
+     */
+    try (SensorProfiler.Phase phase = profiler.phase("issues")) {
+      if (isSurvivedMutantRuleActive(rulesProfile)) {
+        List<IssueCandidate> candidates = survivedMutantIssueCandidates(inputFile, sourceFileReport);
+        if (issueBudget.isUnlimited()) {
+          candidates.forEach(candidate -> addIssueForSurvivingMutants(context, candidate));
+        } else {
+          issueBudget.offer(candidates);
+        }
+      }
+
+      if (isInsufficientMutationCoverageRuleActive(rulesProfile)) {
+        CoverageThresholds.Threshold threshold = coverageThresholds().thresholdOf(sourceFileReport.getRelativePath());
+        if (!isMutantCoverageThresholdReached(sourceFileReport, threshold)) {
+          addIssueForMutantKilledThresholdNotReached(context, inputFile, threshold);
+        }
+      }
+
+      if (isMethodHotspotRuleActive(rulesProfile)) {
+        ActiveRule hotspotRule = rulesProfile.getActiveRule(REPOSITORY_KEY, METHOD_HOTSPOT_RULE_KEY);
+        int maxMethods = Integer.parseInt(hotspotRule.getParameter(MAX_METHODS_PARAM));
+        if (maxMethods > 0) {
+          addIssuesForMethodHotspots(context, inputFile, sourceFileReport, maxMethods);
+        }
+      }
+    }
+  }
+
+  private <T extends Serializable> void saveMeasureOnFile(SensorContext context, InputFile inputFile, Metric<T> metric, T value) {
+    profiler.count("measures", 1);
+    context.<T>newMeasure()
+      .withValue(value)
+      .forMetric(metric)
+      .on(inputFile)
+      .save();
+  }
+
+  /**
+   * Thresholds of the insufficient mutation coverage rule, compiled on first use and then shared by all the files of
+   * the execution.
+   */
+  private CoverageThresholds coverageThresholds() {
+    if (coverageThresholds == null) {
+      ActiveRule coverageRule = rulesProfile.getActiveRule(REPOSITORY_KEY, INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY);
+      coverageThresholds = CoverageThresholds.parse(
+        Integer.parseInt(coverageRule.getParameter(COVERAGE_RATIO_PARAM)),
+        coverageRule.getParameter(COVERAGE_RATIO_BY_PREFIX_PARAM));
+    }
+    return coverageThresholds;
+  }
+
+  private static boolean isMutantCoverageThresholdReached(SourceFileReport sourceFileReport, CoverageThresholds.Threshold threshold) {
+    int killed = sourceFileReport.getMutationsKilled();
+    int total = sourceFileReport.getMutationsTotal();
+
+    return (killed * 100d / total) >= threshold.getValue();
+  }
+
+  private void addIssueForMutantKilledThresholdNotReached(SensorContext context, InputFile inputFile, CoverageThresholds.Threshold threshold) {
+    String issueMsg = "More mutants need to be covered by unit tests to reach the minimum threshold of " + threshold.getValue() + "% mutant coverage";
+    if (threshold.getPrefix() != null) {
+      issueMsg += " set for " + threshold.getPrefix();
+    }
+
+    NewIssue newIssue = context.newIssue();
+
+    NewIssueLocation location = newIssue.newLocation()
+      .on(inputFile)
+      .message(issueMsg);
+
+    newIssue.at(location);
+
+    newIssue.forRule(RuleKey.of(REPOSITORY_KEY, INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY));
+    newIssue.save();
+    profiler.count("issues", 1);
+  }
+
+  /**
+   * Raises an issue on the methods with the most survived mutants, the lowest mutation coverage first among methods
+   * with as many survived mutants.
+   */
+  private void addIssuesForMethodHotspots(SensorContext context, InputFile inputFile, SourceFileReport sourceFileReport, int maxMethods) {
+    TopKSelector<MethodReport> hotspots = new TopKSelector<>(maxMethods, METHOD_HOTSPOT_ORDER);
+    for (MethodReport methodReport : sourceFileReport.getMethodReports()) {
+      if (methodReport.getMutationsSurvived() > 0) {
+        hotspots.offer(methodReport);
+      }
+    }
+    for (MethodReport methodReport : hotspots.toSortedList()) {
+      NewIssue newIssue = context.newIssue()
+        .forRule(RuleKey.of(REPOSITORY_KEY, METHOD_HOTSPOT_RULE_KEY))
+        .gap((double) methodReport.getMutationsSurvived());
+      NewIssueLocation location = newIssue.newLocation()
+        .on(inputFile)
+        .message(methodReport.getMutationsSurvived() + " of the " + methodReport.getMutationsTotal() + " mutants of method " + methodReport.getMethod() + " survived");
+      if (methodReport.getLine() > 0 && methodReport.getLine() <= inputFile.lines()) {
+        location.at(inputFile.selectLine(methodReport.getLine()));
+      }
+      newIssue.at(location);
+      newIssue.save();
+      profiler.count("issues", 1);
+    }
+  }
+
+  private List<IssueCandidate> survivedMutantIssueCandidates(InputFile inputFile, SourceFileReport sourceFileReport) {
+    Collection<Mutant> mutants = sourceFileReport.getMutants();
+    List<IssueCandidate> candidates = new ArrayList<>();
+
+    if (groupSurvivedByLine) {
+      Map<Integer, List<Mutant>> survivedByLine = new TreeMap<>();
+      for (Mutant mutant : mutants) {
+        if (MutantStatus.SURVIVED.equals(mutant.mutantStatus)) {
+          survivedByLine.computeIfAbsent(mutant.lineNumber(), line -> new ArrayList<>()).add(mutant);
+        }
+      }
+      for (Map.Entry<Integer, List<Mutant>> entry : survivedByLine.entrySet()) {
+        List<Mutant> lineMutants = entry.getValue();
+        int methodSize = sourceFileReport.getMethodReport(lineMutants.get(0)).getMutationsTotal();
+        candidates.add(new IssueCandidate(inputFile, entry.getKey(), lineMutants, IssueBudget.priority(lineMutants, methodSize)));
+      }
+    } else {
+      for (Mutant mutant : mutants) {
+        if (MutantStatus.SURVIVED.equals(mutant.mutantStatus)) {
+          List<Mutant> single = Collections.singletonList(mutant);
+          int methodSize = sourceFileReport.getMethodReport(mutant).getMutationsTotal();
+          candidates.add(new IssueCandidate(inputFile, mutant.lineNumber(), single, IssueBudget.priority(single, methodSize)));
+        }
+      }
+    }
+    return candidates;
+  }
+
+  private void addIssueForSurvivingMutants(SensorContext context, IssueCandidate candidate) {
+    InputFile inputFile = candidate.getInputFile();
+    List<Mutant> lineMutants = candidate.getMutants();
+    NewIssue newIssue = context.newIssue()
+      .forRule(RuleKey.of(REPOSITORY_KEY, SURVIVED_MUTANT_RULE_KEY));
+
+    if (lineMutants.size() == 1) {
+      newIssue.at(newIssue.newLocation()
+        .on(inputFile)
+        .at(inputFile.selectLine(candidate.getLine()))
+        .message(lineMutants.get(0).violationDescription()));
+    } else {
+      StringBuilder message = new StringBuilder()
+        .append(lineMutants.size()).append(" mutants survived on this line:");
+      // secondary locations would all select the line of the issue: the message describes each mutant instead
+      for (Mutant mutant : lineMutants) {
+        message.append(' ').append(mutant.mutator.name()).append(" [").append(mutant.description).append("],");
+      }
+      message.setLength(message.length() - 1);
+      newIssue.gap((double) lineMutants.size());
+      newIssue.at(newIssue.newLocation()
+        .on(inputFile)
+        .at(inputFile.selectLine(candidate.getLine()))
+        .message(message.toString()));
+    }
+    newIssue.save();
+    profiler.count("issues", 1);
+  }
+
+  private void addIssueForIssueBudgetOverflow(SensorContext context, InputFile inputFile, int droppedMutants) {
+    String issueMsg = droppedMutants + " more survived mutants are not reported individually because the issue budget"
+      + " (" + MAX_ISSUES_PER_FILE_KEY + ", " + MAX_ISSUES_PER_MODULE_KEY + ") has been reached";
+
+    NewIssue newIssue = context.newIssue()
+      .forRule(RuleKey.of(REPOSITORY_KEY, SURVIVED_MUTANT_RULE_KEY))
+      .gap((double) droppedMutants);
+
+    newIssue.at(newIssue.newLocation()
+      .on(inputFile)
+      .message(issueMsg));
+    newIssue.save();
+    profiler.count("issues", 1);
+  }
+
+  /**
+   * Saves the coverage of the file at once: the pitest line coverage when exported, else one hit on the lines of killed
+   * mutants.
+   *
+   * @return the number of lines saved
+   */
+  private static int addCoverage(SensorContext context, InputFile inputFile, SourceFileReport sourceFileReport, @Nullable LineCoverage lineCoverage) {
+    SortedMap<Integer, Integer> lineHits;
+    if (lineCoverage == null) {
+      lineHits = new TreeMap<>();
+      for (Mutant mutant : sourceFileReport.getMutants()) {
+        if (MutantStatus.KILLED.equals(mutant.mutantStatus)) {
+          lineHits.put(mutant.lineNumber(), 1);
+        }
+      }
+    } else {
+      lineHits = lineCoverage.lineHits(sourceFileReport.getMutants());
+    }
+    NewCoverage coverage = context.newCoverage().onFile(inputFile);
+    int lines = 0;
+    for (Map.Entry<Integer, Integer> lineHit : lineHits.entrySet()) {
+      int line = lineHit.getKey();
+      if (line < 1 || line > inputFile.lines()) {
+        LOGGER.debug("Ignoring coverage of line {} out of {}", line, inputFile);
+        continue;
+      }
+      coverage.lineHits(line, lineHit.getValue());
+      lines++;
+    }
+    if (lines > 0) {
+      coverage.save();
+    }
+    return lines;
+  }
+
+  private InputFile locateFile(String sourceFileRelativePath) {
+    FilePredicate filePredicate = fileSystem.predicates().and(
+      fileSystem.predicates().hasType(InputFile.Type.MAIN),
+      fileSystem.predicates().matchesPathPattern("**/" + sourceFileRelativePath));
+    return fileSystem.inputFile(filePredicate);
+  }
+
+  private boolean isSurvivedMutantRuleActive(RulesProfile qualityProfile) {
+    return (qualityProfile.getActiveRule(REPOSITORY_KEY, SURVIVED_MUTANT_RULE_KEY) != null);
+  }
+
+  private boolean isMethodHotspotRuleActive(RulesProfile qualityProfile) {
+    return (qualityProfile.getActiveRule(REPOSITORY_KEY, METHOD_HOTSPOT_RULE_KEY) != null);
+  }
+
+  private boolean isInsufficientMutationCoverageRuleActive(RulesProfile qualityProfile) {
+    return (qualityProfile.getActiveRule(REPOSITORY_KEY, INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY) != null);
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName();
+  }
+}
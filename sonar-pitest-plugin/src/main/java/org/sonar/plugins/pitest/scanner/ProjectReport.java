@@ -44,6 +44,10 @@ public class ProjectReport {
     }
   }
 
+  ProjectReport(Map<String, SourceFileReport> sourceFileReports) {
+    this.sourceFileReports.putAll(sourceFileReports);
+  }
+
   public Collection<SourceFileReport> getSourceFileReports() {
     return sourceFileReports.values();
   }
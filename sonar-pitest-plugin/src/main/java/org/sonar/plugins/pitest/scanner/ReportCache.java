@@ -0,0 +1,140 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.sonar.api.Startable;
+import org.sonar.api.batch.InstantiationStrategy;
+import org.sonar.api.batch.ScannerSide;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+/**
+ * Parsed pitest reports shared by all the modules of an analysis.
+ * <p>
+ * In multi-module builds, all modules usually point to the same aggregated report. Each distinct report file is
+ * parsed once and indexed by source file relative path; each module then takes the source files it owns out of the
+ * index, so the memory is released as modules are analyzed. Whatever remains is released at the end of the analysis.
+ * <p>
+ * Exclusions and lenient parsing are applied while the report is parsed, and may be set per module: a report is parsed
+ * again for the modules whose parser settings differ from those of the modules it was parsed for.
+ */
+@ScannerSide
+@InstantiationStrategy(InstantiationStrategy.PER_BATCH)
+public class ReportCache implements Startable {
+
+  private static final Logger LOGGER = Loggers.get(ReportCache.class);
+
+  private final Map<ReportKey, Map<String, SourceFileReport>> indexByReport = new HashMap<>();
+
+  /**
+   * @return the report of the source files of the given file system, parsing the report file if it was not parsed yet
+   */
+  public synchronized ProjectReport sliceFor(File report, XmlReportParser parser, FileSystem fileSystem) {
+    Map<String, SourceFileReport> index = indexByReport.computeIfAbsent(new ReportKey(report, parser), key -> parse(report, parser));
+
+    Map<String, SourceFileReport> slice = new HashMap<>();
+    Path baseDir = fileSystem.baseDir().toPath();
+    for (InputFile inputFile : fileSystem.inputFiles(fileSystem.predicates().hasType(InputFile.Type.MAIN))) {
+      String path = ModuleSourceFiles.relativePath(baseDir, inputFile);
+      // pitest paths are relative to the source root, which is unknown here: try each suffix of the module path
+      for (int start = 0; start >= 0; start = nextSegment(path, start)) {
+        SourceFileReport sourceFileReport = index.remove(path.substring(start));
+        if (sourceFileReport != null) {
+          slice.put(sourceFileReport.getRelativePath(), sourceFileReport);
+          break;
+        }
+      }
+    }
+    LOGGER.debug("{} source files of report {} belong to the module, {} remain for other modules", slice.size(), report, index.size());
+    return new ProjectReport(slice);
+  }
+
+  private static int nextSegment(String path, int start) {
+    int separator = path.indexOf('/', start);
+    return separator < 0 ? -1 : (separator + 1);
+  }
+
+  private static Map<String, SourceFileReport> parse(File report, XmlReportParser parser) {
+    Map<String, SourceFileReport> index = new HashMap<>();
+    parser.parse(report, mutant -> index.computeIfAbsent(mutant.sourceRelativePath(), SourceFileReport::new).addMutant(mutant));
+    LOGGER.info("Parsed pitest report {} once for all modules: {} source files", report, index.size());
+    return index;
+  }
+
+  synchronized int cachedReports() {
+    return indexByReport.size();
+  }
+
+  @Override
+  public void start() {
+    // nothing to do, reports are parsed on demand
+  }
+
+  @Override
+  public synchronized void stop() {
+    indexByReport.clear();
+  }
+
+  /**
+   * A version of a report file, read with given parser settings.
+   */
+  private static final class ReportKey {
+    private final String report;
+    private final boolean lenient;
+    private final MutantExclusions exclusions;
+
+    ReportKey(File report, XmlReportParser parser) {
+      String path;
+      try {
+        path = report.getCanonicalPath();
+      } catch (IOException e) {
+        path = report.getAbsolutePath();
+      }
+      this.report = path + '@' + report.lastModified() + '#' + report.length();
+      this.lenient = parser.isLenient();
+      this.exclusions = parser.getExclusions();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ReportKey other = (ReportKey) o;
+      return report.equals(other.report) && lenient == other.lenient && exclusions.equals(other.exclusions);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(report, lenient, exclusions);
+    }
+  }
+}
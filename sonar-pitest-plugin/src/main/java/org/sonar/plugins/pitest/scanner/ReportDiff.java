@@ -0,0 +1,149 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+
+/**
+ * Outcome of the comparison of two pitest reports, counted per source file.
+ */
+public class ReportDiff {
+
+  private final Map<String, FileDiff> fileDiffs = new HashMap<>();
+  private int added = 0;
+  private int removed = 0;
+  private int statusChanged = 0;
+
+  void added(String relativePath) {
+    fileDiff(relativePath).added++;
+    added++;
+  }
+
+  void removed(String relativePath) {
+    fileDiff(relativePath).removed++;
+    removed++;
+  }
+
+  void statusChanged(String relativePath) {
+    fileDiff(relativePath).statusChanged++;
+    statusChanged++;
+  }
+
+  private FileDiff fileDiff(String relativePath) {
+    return fileDiffs.computeIfAbsent(relativePath, FileDiff::new);
+  }
+
+  public Map<String, FileDiff> getFileDiffs() {
+    return Collections.unmodifiableMap(fileDiffs);
+  }
+
+  public int getAdded() {
+    return added;
+  }
+
+  public int getRemoved() {
+    return removed;
+  }
+
+  public int getStatusChanged() {
+    return statusChanged;
+  }
+
+  @Override
+  public String toString() {
+    return "ReportDiff [added=" + added + ", removed=" + removed + ", statusChanged=" + statusChanged + ", files=" + fileDiffs.size() + "]";
+  }
+
+  /**
+   * Differences for a given source file
+   */
+  public static final class FileDiff {
+    private final String relativePath;
+    private int added = 0;
+    private int removed = 0;
+    private int statusChanged = 0;
+
+    FileDiff(String relativePath) {
+      this.relativePath = relativePath;
+    }
+
+    public String getRelativePath() {
+      return relativePath;
+    }
+
+    public int getAdded() {
+      return added;
+    }
+
+    public int getRemoved() {
+      return removed;
+    }
+
+    public int getStatusChanged() {
+      return statusChanged;
+    }
+  }
+
+  /**
+   * A mutant killed in the base report which is no longer killed in the compared report.
+   */
+  public static final class Regression {
+    private final String relativePath;
+    private final int lineNumber;
+    private final String mutator;
+    private final MutantStatus previousStatus;
+    private final MutantStatus currentStatus;
+
+    Regression(String relativePath, int lineNumber, String mutator, MutantStatus previousStatus, MutantStatus currentStatus) {
+      this.relativePath = relativePath;
+      this.lineNumber = lineNumber;
+      this.mutator = mutator;
+      this.previousStatus = previousStatus;
+      this.currentStatus = currentStatus;
+    }
+
+    public String getRelativePath() {
+      return relativePath;
+    }
+
+    public int getLineNumber() {
+      return lineNumber;
+    }
+
+    public String getMutator() {
+      return mutator;
+    }
+
+    public MutantStatus getPreviousStatus() {
+      return previousStatus;
+    }
+
+    public MutantStatus getCurrentStatus() {
+      return currentStatus;
+    }
+
+    public String violationDescription() {
+      return "Mutant " + mutator + " was " + previousStatus + " in the base report and is now " + currentStatus;
+    }
+  }
+}
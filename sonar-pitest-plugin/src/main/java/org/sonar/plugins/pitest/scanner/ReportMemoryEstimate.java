@@ -0,0 +1,106 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * Rough estimate of the heap needed to hold the mutants of a report in memory, compared with the heap available.
+ * <p>
+ * The number of mutants is estimated from the size of the report files actually read, which are the shards of the
+ * module when the report is sharded, with the average size of a mutant in their format.
+ */
+final class ReportMemoryEstimate {
+
+  static final long MEGABYTE = 1024L * 1024L;
+
+  /**
+   * Average size of a mutation element in a pitest XML report.
+   */
+  static final long XML_BYTES_PER_MUTANT = 600;
+
+  /**
+   * Average size of a line of a pitest CSV report.
+   */
+  static final long CSV_BYTES_PER_MUTANT = 154;
+
+  /**
+   * Average size of a mutant record of a binary report, with its share of the strings.
+   */
+  static final long BINARY_BYTES_PER_MUTANT = 49;
+
+  /**
+   * Heap retained by a parsed mutant, its location and strings, and its share of the source file reports.
+   */
+  static final long HEAP_BYTES_PER_MUTANT = 1_000;
+
+  private final long estimatedMutants;
+  private final long estimatedPeakBytes;
+  private final long availableHeapBytes;
+
+  private ReportMemoryEstimate(long estimatedMutants, long estimatedPeakBytes, long availableHeapBytes) {
+    this.estimatedMutants = estimatedMutants;
+    this.estimatedPeakBytes = estimatedPeakBytes;
+    this.availableHeapBytes = availableHeapBytes;
+  }
+
+  static ReportMemoryEstimate of(Collection<File> reports, Runtime runtime) {
+    long usedHeapBytes = runtime.totalMemory() - runtime.freeMemory();
+    return of(reports, runtime.maxMemory() - usedHeapBytes);
+  }
+
+  static ReportMemoryEstimate of(Collection<File> reports, long availableHeapBytes) {
+    long estimatedMutants = 0;
+    for (File report : reports) {
+      estimatedMutants += report.length() / bytesPerMutant(report);
+    }
+    return new ReportMemoryEstimate(estimatedMutants, estimatedMutants * HEAP_BYTES_PER_MUTANT, availableHeapBytes);
+  }
+
+  static long bytesPerMutant(File report) {
+    if (BinaryReportReader.isBinaryReport(report)) {
+      return BINARY_BYTES_PER_MUTANT;
+    }
+    if (CsvReportReader.isCsvReport(report)) {
+      return CSV_BYTES_PER_MUTANT;
+    }
+    return XML_BYTES_PER_MUTANT;
+  }
+
+  /**
+   * Half of the available heap is kept for the rest of the analysis.
+   */
+  boolean fitsInHeap() {
+    return estimatedPeakBytes <= availableHeapBytes / 2;
+  }
+
+  long getEstimatedMutants() {
+    return estimatedMutants;
+  }
+
+  long getEstimatedPeakBytes() {
+    return estimatedPeakBytes;
+  }
+
+  long getAvailableHeapBytes() {
+    return availableHeapBytes;
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.CheckForNull;
+
+/**
+ * Reads the pitest report of the module on a background thread, so that it overlaps with the sensors executed before
+ * {@link PitestSensor}. The thread starts on the first call to {@link #start()} or {@link #join(long, TimeUnit)}.
+ */
+class ReportPrefetch {
+
+  /**
+   * Reads the report, measuring its phases with the given profiler of the background thread.
+   */
+  @FunctionalInterface
+  interface Loader {
+    /**
+     * @return the report of the module, or null if no report was found
+     */
+    @CheckForNull
+    ModuleReport load(SensorProfiler profiler) throws Exception;
+  }
+
+  private final FutureTask<ModuleReport> task;
+  private SensorProfiler profiler;
+  private boolean started;
+
+  ReportPrefetch(Loader loader) {
+    task = new FutureTask<>(() -> {
+      profiler = new SensorProfiler();
+      return loader.load(profiler);
+    });
+  }
+
+  synchronized void start() {
+    if (!started) {
+      started = true;
+      Thread thread = new Thread(task, "pitest-report-prefetch");
+      thread.setDaemon(true);
+      thread.start();
+    }
+  }
+
+  /**
+   * Waits for the prefetched report, starting the background thread if it was not started yet. Failures of the
+   * background thread are rethrown.
+   *
+   * @return the report of the module, or null if no report was found
+   */
+  @CheckForNull
+  ModuleReport join(long timeout, TimeUnit unit) {
+    start();
+    try {
+      return task.get(timeout, unit);
+    } catch (TimeoutException e) {
+      task.cancel(true);
+      throw new IllegalStateException("PIT report was not parsed after " + timeout + " " + unit.toString().toLowerCase(), e);
+    } catch (InterruptedException e) {
+      task.cancel(true);
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the PIT report", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IllegalStateException("Unable to parse the PIT report", cause);
+    }
+  }
+
+  /**
+   * @return the phases of the background thread, once {@link #join(long, TimeUnit)} returned
+   */
+  SensorProfiler getProfiler() {
+    return profiler;
+  }
+
+  /**
+   * Interrupts the background thread, or releases the report it already read.
+   */
+  void cancel() {
+    if (!task.cancel(true) && task.isDone()) {
+      try {
+        ModuleReport moduleReport = task.get();
+        if (moduleReport != null) {
+          moduleReport.close();
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (ExecutionException e) {
+        // nothing to release
+      }
+    }
+  }
+
+  boolean isCancelled() {
+    return task.isCancelled();
+  }
+}
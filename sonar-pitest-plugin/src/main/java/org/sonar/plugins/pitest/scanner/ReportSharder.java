@@ -0,0 +1,247 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.XMLEvent;
+
+/**
+ * Splits a pitest mutations.xml report into one report per package of mutated classes, with an index mapping each
+ * package to its shard. {@link XmlReportFinder} recognizes the index, so that each module only reads the shards of
+ * its own packages instead of the whole aggregated report.
+ * <p>
+ * Shards are written to a "mutations-shards" directory next to the report. This class only depends on the JDK so that
+ * it can be run from the plugin jar:
+ * <pre>java -cp sonar-pitest-plugin.jar org.sonar.plugins.pitest.scanner.ReportSharder target/pit-reports/mutations.xml</pre>
+ */
+public class ReportSharder {
+
+  static final String SHARDS_DIRECTORY = "mutations-shards";
+  static final String INDEX_FILE = "index.properties";
+  static final String SHARD_SUFFIX = ".shard.xml";
+  static final String DEFAULT_PACKAGE = "_default";
+
+  private static final int MAX_OPEN_SHARDS = 64;
+  private static final byte[] SHARD_HEADER = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<mutations>\n".getBytes(StandardCharsets.UTF_8);
+  private static final byte[] SHARD_FOOTER = "\n</mutations>\n".getBytes(StandardCharsets.UTF_8);
+
+  private final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+  private final XMLOutputFactory outputFactory = XMLOutputFactory.newInstance();
+
+  public ReportSharder() {
+    inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+  }
+
+  public static void main(String[] args) {
+    if (args.length != 1) {
+      System.err.println("Usage: ReportSharder <path to mutations.xml>");
+      System.exit(1);
+    }
+    File report = new File(args[0]);
+    int shards = new ReportSharder().shard(report);
+    System.out.println("Wrote " + shards + " shards to " + new File(report.getParentFile(), SHARDS_DIRECTORY));
+  }
+
+  /**
+   * @return the number of shards written
+   */
+  public int shard(File report) {
+    File shardsDirectory = new File(report.getAbsoluteFile().getParentFile(), SHARDS_DIRECTORY);
+    if (!shardsDirectory.isDirectory() && !shardsDirectory.mkdirs()) {
+      throw new IllegalStateException("Unable to create directory " + shardsDirectory);
+    }
+    deletePreviousShards(shardsDirectory);
+
+    Map<String, File> shardFiles = new HashMap<>();
+    OpenShards openShards = new OpenShards();
+    try (InputStream is = new FileInputStream(report)) {
+      XMLEventReader reader = inputFactory.createXMLEventReader(is);
+      try {
+        while (reader.hasNext()) {
+          XMLEvent event = reader.nextEvent();
+          if (event.isStartElement() && "mutation".equals(event.asStartElement().getName().getLocalPart())) {
+            List<XMLEvent> mutation = readMutation(event, reader);
+            String packageName = packageName(mutation);
+            File shardFile = shardFiles.computeIfAbsent(packageName, key -> new File(shardsDirectory, key + SHARD_SUFFIX));
+            openShards.get(shardFile).write(mutation);
+          }
+        }
+      } finally {
+        reader.close();
+        openShards.closeAll();
+      }
+      for (File shardFile : shardFiles.values()) {
+        appendFooter(shardFile);
+      }
+      writeIndex(shardsDirectory, shardFiles);
+    } catch (IOException | XMLStreamException e) {
+      throw new IllegalStateException("Unable to shard pitest report " + report, e);
+    }
+    return shardFiles.size();
+  }
+
+  private static void deletePreviousShards(File shardsDirectory) {
+    File[] previousShards = shardsDirectory.listFiles((dir, name) -> name.endsWith(SHARD_SUFFIX) || INDEX_FILE.equals(name));
+    if (previousShards != null) {
+      for (File previousShard : previousShards) {
+        if (!previousShard.delete()) {
+          throw new IllegalStateException("Unable to delete previous shard " + previousShard);
+        }
+      }
+    }
+  }
+
+  private static List<XMLEvent> readMutation(XMLEvent start, XMLEventReader reader) throws XMLStreamException {
+    List<XMLEvent> events = new ArrayList<>();
+    events.add(start);
+    int depth = 1;
+    while (depth > 0 && reader.hasNext()) {
+      XMLEvent event = reader.nextEvent();
+      if (event.isStartElement()) {
+        depth++;
+      } else if (event.isEndElement()) {
+        depth--;
+      }
+      events.add(event);
+    }
+    return events;
+  }
+
+  private static String packageName(List<XMLEvent> mutation) {
+    StringBuilder mutatedClass = null;
+    for (XMLEvent event : mutation) {
+      if (event.isStartElement() && "mutatedClass".equals(event.asStartElement().getName().getLocalPart())) {
+        mutatedClass = new StringBuilder();
+      } else if (mutatedClass != null && event.isCharacters()) {
+        mutatedClass.append(event.asCharacters().getData());
+      } else if (mutatedClass != null && event.isEndElement()) {
+        break;
+      }
+    }
+    if (mutatedClass == null) {
+      return DEFAULT_PACKAGE;
+    }
+    String className = mutatedClass.toString().trim();
+    int lastDot = className.lastIndexOf('.');
+    return lastDot < 0 ? DEFAULT_PACKAGE : className.substring(0, lastDot);
+  }
+
+  private static void appendFooter(File shardFile) throws IOException {
+    try (OutputStream out = new FileOutputStream(shardFile, true)) {
+      out.write(SHARD_FOOTER);
+    }
+  }
+
+  private static void writeIndex(File shardsDirectory, Map<String, File> shardFiles) throws IOException {
+    Properties index = new Properties();
+    shardFiles.forEach((packageName, shardFile) -> index.setProperty(packageName, shardFile.getName()));
+    try (Writer writer = new OutputStreamWriter(new FileOutputStream(new File(shardsDirectory, INDEX_FILE)), StandardCharsets.UTF_8)) {
+      index.store(writer, "pitest report shards: package=shard file");
+    }
+  }
+
+  /**
+   * Shards being written, the least recently used one being closed when too many are open. A closed shard is reopened
+   * in append mode.
+   */
+  private class OpenShards extends LinkedHashMap<File, Shard> {
+
+    private static final long serialVersionUID = 1L;
+
+    OpenShards() {
+      super(16, 0.75f, true);
+    }
+
+    Shard get(File shardFile) throws IOException, XMLStreamException {
+      Shard shard = super.get(shardFile);
+      if (shard == null) {
+        shard = new Shard(shardFile);
+        put(shardFile, shard);
+      }
+      return shard;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<File, Shard> eldest) {
+      if (size() > MAX_OPEN_SHARDS) {
+        eldest.getValue().close();
+        return true;
+      }
+      return false;
+    }
+
+    void closeAll() {
+      values().forEach(Shard::close);
+      clear();
+    }
+  }
+
+  private class Shard {
+
+    private final OutputStream out;
+    private final XMLEventWriter writer;
+
+    Shard(File file) throws IOException, XMLStreamException {
+      boolean created = !file.exists();
+      out = new BufferedOutputStream(new FileOutputStream(file, true));
+      if (created) {
+        out.write(SHARD_HEADER);
+      }
+      writer = outputFactory.createXMLEventWriter(out, StandardCharsets.UTF_8.name());
+    }
+
+    void write(List<XMLEvent> events) throws XMLStreamException {
+      for (XMLEvent event : events) {
+        writer.add(event);
+      }
+    }
+
+    void close() {
+      try {
+        writer.flush();
+        writer.close();
+        out.close();
+      } catch (IOException | XMLStreamException e) {
+        throw new IllegalStateException("Unable to write pitest report shard", e);
+      }
+    }
+  }
+}
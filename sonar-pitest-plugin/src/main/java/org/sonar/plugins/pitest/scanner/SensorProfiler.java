@@ -0,0 +1,278 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.api.utils.text.JsonWriter;
+
+/**
+ * Measures the phases of a sensor execution on the current thread: wall time, CPU time and allocated bytes, when the
+ * JVM supports them, along with counters such as the numbers of mutants or issues.
+ * <p>
+ * A phase may run many times, for instance once per file, and its figures are summed. Phases may nest, so their
+ * figures do not add up to the total. Work a phase hands to other threads, such as shards parsed on the common pool,
+ * is only counted when run through {@link Phase#measure(Runnable)}; the total only counts the current thread.
+ */
+class SensorProfiler {
+
+  static final String PROFILE_FILE = "pitest-profile.json";
+
+  private static final Logger LOG = Loggers.get(SensorProfiler.class);
+  private static final long UNSUPPORTED = -1L;
+  private static final long KILOBYTE = 1024L;
+
+  private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+  private final boolean cpuTimeSupported;
+  private final boolean allocationSupported;
+  private final Map<String, Figures> phases = new LinkedHashMap<>();
+  private final Map<String, Long> counters = new LinkedHashMap<>();
+  private final Snapshot start;
+  private Figures total;
+
+  SensorProfiler() {
+    this.cpuTimeSupported = threads.isCurrentThreadCpuTimeSupported() && threads.isThreadCpuTimeEnabled();
+    this.allocationSupported = threads instanceof com.sun.management.ThreadMXBean
+      && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+      && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled();
+    this.start = snapshot();
+  }
+
+  /**
+   * Starts a run of the given phase, which ends when the returned phase is closed.
+   */
+  Phase phase(String name) {
+    return new Phase(name, snapshot());
+  }
+
+  /**
+   * Adds the phases and counters of a profiler of another thread, as the one of the report prefetch.
+   */
+  void addAll(SensorProfiler other) {
+    for (Map.Entry<String, Figures> phase : other.phases.entrySet()) {
+      phases.computeIfAbsent(phase.getKey(), key -> new Figures()).add(phase.getValue());
+    }
+    other.counters.forEach(this::count);
+  }
+
+  void count(String counter, long value) {
+    counters.merge(counter, value, Long::sum);
+  }
+
+  long counter(String counter) {
+    return counters.getOrDefault(counter, 0L);
+  }
+
+  Map<String, Long> getCounters() {
+    return counters;
+  }
+
+  Map<String, Figures> getPhases() {
+    return phases;
+  }
+
+  /**
+   * Ends the profile, logs its summary and writes it to {@link #PROFILE_FILE} in the given directory.
+   *
+   * @return the profile file, or null if it could not be written
+   */
+  File finish(File workDir) {
+    total = new Figures();
+    total.add(start, snapshot(), 0L, 0L);
+    LOG.info(summary());
+    File profile = new File(workDir, PROFILE_FILE);
+    try {
+      Files.createDirectories(workDir.toPath());
+      try (Writer writer = Files.newBufferedWriter(profile.toPath(), StandardCharsets.UTF_8)) {
+        writeJson(writer);
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to write the pitest sensor profile {}: {}", profile, e.getMessage());
+      return null;
+    }
+    return profile;
+  }
+
+  String summary() {
+    StringBuilder summary = new StringBuilder("Pitest sensor profile: ");
+    appendFigures(summary.append("total "), total);
+    for (Map.Entry<String, Figures> phase : phases.entrySet()) {
+      appendFigures(summary.append(", ").append(phase.getKey()).append(' '), phase.getValue());
+    }
+    for (Map.Entry<String, Long> counter : counters.entrySet()) {
+      summary.append(", ").append(counter.getValue()).append(' ').append(counter.getKey());
+    }
+    return summary.toString();
+  }
+
+  private static void appendFigures(StringBuilder summary, Figures figures) {
+    summary.append(TimeUnit.NANOSECONDS.toMillis(figures.wallNanos)).append(" ms");
+    if (figures.cpuNanos != UNSUPPORTED) {
+      summary.append(" (cpu ").append(TimeUnit.NANOSECONDS.toMillis(figures.cpuNanos)).append(" ms");
+      if (figures.allocatedBytes != UNSUPPORTED) {
+        summary.append(", ").append(figures.allocatedBytes / KILOBYTE).append(" KB allocated");
+      }
+      summary.append(')');
+    }
+  }
+
+  private void writeJson(Writer writer) {
+    JsonWriter json = JsonWriter.of(writer);
+    json.beginObject();
+    writeFigures(json.name("total"), total);
+    json.name("phases").beginObject();
+    for (Map.Entry<String, Figures> phase : phases.entrySet()) {
+      writeFigures(json.name(phase.getKey()), phase.getValue());
+    }
+    json.endObject();
+    json.name("counters").beginObject();
+    for (Map.Entry<String, Long> counter : counters.entrySet()) {
+      json.prop(counter.getKey(), counter.getValue().longValue());
+    }
+    json.endObject();
+    json.endObject();
+    json.close();
+  }
+
+  private static void writeFigures(JsonWriter json, Figures figures) {
+    json.beginObject()
+      .prop("runs", figures.runs)
+      .prop("wallNanos", figures.wallNanos);
+    if (figures.cpuNanos != UNSUPPORTED) {
+      json.prop("cpuNanos", figures.cpuNanos);
+    }
+    if (figures.allocatedBytes != UNSUPPORTED) {
+      json.prop("allocatedBytes", figures.allocatedBytes);
+    }
+    json.endObject();
+  }
+
+  private Snapshot snapshot() {
+    long cpuNanos = cpuTimeSupported ? threads.getCurrentThreadCpuTime() : UNSUPPORTED;
+    long allocatedBytes = allocationSupported
+      ? ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId())
+      : UNSUPPORTED;
+    return new Snapshot(System.nanoTime(), cpuNanos, allocatedBytes);
+  }
+
+  private static final class Snapshot {
+    private final long wallNanos;
+    private final long cpuNanos;
+    private final long allocatedBytes;
+
+    private Snapshot(long wallNanos, long cpuNanos, long allocatedBytes) {
+      this.wallNanos = wallNanos;
+      this.cpuNanos = cpuNanos;
+      this.allocatedBytes = allocatedBytes;
+    }
+  }
+
+  /**
+   * Sums of the runs of a phase. CPU time and allocated bytes are -1 when not supported by the JVM.
+   */
+  static final class Figures {
+    private int runs;
+    private long wallNanos;
+    private long cpuNanos;
+    private long allocatedBytes;
+
+    private void add(Snapshot from, Snapshot to, long otherThreadsCpuNanos, long otherThreadsAllocatedBytes) {
+      runs++;
+      wallNanos += to.wallNanos - from.wallNanos;
+      cpuNanos = from.cpuNanos == UNSUPPORTED ? UNSUPPORTED : cpuNanos + to.cpuNanos - from.cpuNanos + otherThreadsCpuNanos;
+      allocatedBytes = from.allocatedBytes == UNSUPPORTED ? UNSUPPORTED
+        : allocatedBytes + to.allocatedBytes - from.allocatedBytes + otherThreadsAllocatedBytes;
+    }
+
+    private void add(Figures other) {
+      runs += other.runs;
+      wallNanos += other.wallNanos;
+      cpuNanos = other.cpuNanos == UNSUPPORTED ? UNSUPPORTED : cpuNanos + other.cpuNanos;
+      allocatedBytes = other.allocatedBytes == UNSUPPORTED ? UNSUPPORTED : allocatedBytes + other.allocatedBytes;
+    }
+
+    int getRuns() {
+      return runs;
+    }
+
+    long getWallNanos() {
+      return wallNanos;
+    }
+
+    long getCpuNanos() {
+      return cpuNanos;
+    }
+
+    long getAllocatedBytes() {
+      return allocatedBytes;
+    }
+  }
+
+  /**
+   * A run of a phase, to be closed when the phase ends.
+   */
+  final class Phase implements AutoCloseable {
+    private final String name;
+    private final Snapshot from;
+    private final Thread thread = Thread.currentThread();
+    private final AtomicLong otherThreadsCpuNanos = new AtomicLong();
+    private final AtomicLong otherThreadsAllocatedBytes = new AtomicLong();
+
+    private Phase(String name, Snapshot from) {
+      this.name = name;
+      this.from = from;
+    }
+
+    /**
+     * Runs a task of the phase, adding its CPU time and allocated bytes to the phase when it runs on another thread.
+     * May be called from any thread before the phase is closed.
+     */
+    void measure(Runnable task) {
+      if (Thread.currentThread() == thread) {
+        task.run();
+        return;
+      }
+      Snapshot taskFrom = snapshot();
+      try {
+        task.run();
+      } finally {
+        Snapshot taskTo = snapshot();
+        otherThreadsCpuNanos.addAndGet(taskTo.cpuNanos - taskFrom.cpuNanos);
+        otherThreadsAllocatedBytes.addAndGet(taskTo.allocatedBytes - taskFrom.allocatedBytes);
+      }
+    }
+
+    @Override
+    public void close() {
+      phases.computeIfAbsent(name, key -> new Figures()).add(from, snapshot(), otherThreadsCpuNanos.get(), otherThreadsAllocatedBytes.get());
+    }
+  }
+}
@@ -23,10 +23,14 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import javax.annotation.CheckForNull;
 import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantLocation;
+import org.sonar.plugins.pitest.domain.MutatorDistribution;
 
 /**
  * Mutants for a given java source file
@@ -34,6 +38,9 @@ import org.sonar.plugins.pitest.domain.Mutant;
 public class SourceFileReport {
   private final String sourceFileRelativePath;
   private final List<Mutant> mutants = new ArrayList<>();
+  private final MutatorDistribution mutatorDistribution = new MutatorDistribution();
+  private final Map<String, MethodReport> methodReports = new LinkedHashMap<>();
+  private MethodReport lastMethodReport;
   private int mutationsNoCoverage = 0;
   private int mutationsKilled = 0;
   private int mutationsSurvived = 0;
@@ -86,6 +93,8 @@ public class SourceFileReport {
         + mutant.sourceRelativePath());
     }
     mutants.add(mutant);
+    mutatorDistribution.add(mutant);
+    methodReport(mutant.mutantLocation).add(mutant);
     switch (mutant.mutantStatus) {
       case NO_COVERAGE:
         mutationsNoCoverage++;
@@ -105,6 +114,17 @@ public class SourceFileReport {
     }
   }
 
+  /**
+   * The mutants of a method are usually contiguous in a report, so the method of the previous mutant is checked before
+   * building a key.
+   */
+  private MethodReport methodReport(MutantLocation location) {
+    if (lastMethodReport == null || !lastMethodReport.isMethodOf(location)) {
+      lastMethodReport = methodReports.computeIfAbsent(MethodReport.key(location), key -> new MethodReport(location));
+    }
+    return lastMethodReport;
+  }
+
   public String getRelativePath() {
     return sourceFileRelativePath;
   }
@@ -137,6 +157,28 @@ public class SourceFileReport {
     return mutationsUnknown;
   }
 
+  /**
+   * @return the methods of the file which have mutants, in the order of their first mutant
+   */
+  Collection<MethodReport> getMethodReports() {
+    return Collections.unmodifiableCollection(methodReports.values());
+  }
+
+  /**
+   * @return the method of a mutant of this file, or null if the mutant was not added to it
+   */
+  @CheckForNull
+  MethodReport getMethodReport(Mutant mutant) {
+    if (lastMethodReport != null && lastMethodReport.isMethodOf(mutant.mutantLocation)) {
+      return lastMethodReport;
+    }
+    return methodReports.get(MethodReport.key(mutant.mutantLocation));
+  }
+
+  MutatorDistribution getMutatorDistribution() {
+    return mutatorDistribution;
+  }
+
   @Override
   public String toString() {
     return "SourceFileReport [sourceFileRelativePath=" + sourceFileRelativePath + ", mutants=" + mutants + ", mutationsNoCoverage=" + mutationsNoCoverage + ", mutationsKilled="
@@ -0,0 +1,107 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.Closeable;
+import java.io.File;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantRecord;
+
+/**
+ * Source file reports built in bounded memory: mutants are spilled to sorted runs on disk, keyed by source file, and
+ * read back one source file at a time. Only the mutants of the current source file are held in memory.
+ */
+class SpilledSourceFileReports implements Iterable<SourceFileReport>, Closeable {
+
+  private static final char KEY_SEPARATOR = '\u0001';
+
+  private final ExternalSorter sorter;
+  private long sequence;
+
+  SpilledSourceFileReports(File workDir) {
+    this(workDir, ExternalSorter.DEFAULT_MAX_RECORDS_IN_MEMORY);
+  }
+
+  SpilledSourceFileReports(File workDir, int maxMutantsInMemory) {
+    this.sorter = new ExternalSorter(workDir, maxMutantsInMemory);
+  }
+
+  void add(Mutant mutant) {
+    // the sequence number keeps the report order within a source file
+    sorter.add(mutant.sourceRelativePath() + KEY_SEPARATOR + String.format("%019d", sequence++) + KEY_SEPARATOR + MutantRecord.format(mutant));
+  }
+
+  int runCount() {
+    return sorter.runCount();
+  }
+
+  /**
+   * Must be called once, after the last {@link #add(Mutant)}.
+   */
+  @Override
+  public Iterator<SourceFileReport> iterator() {
+    return new GroupingIterator(sorter.sorted());
+  }
+
+  @Override
+  public void close() {
+    sorter.close();
+  }
+
+  private static final class GroupingIterator implements Iterator<SourceFileReport> {
+
+    private final Iterator<String> records;
+    private String pendingRecord;
+
+    GroupingIterator(Iterator<String> records) {
+      this.records = records;
+      this.pendingRecord = records.hasNext() ? records.next() : null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return pendingRecord != null;
+    }
+
+    @Override
+    public SourceFileReport next() {
+      if (pendingRecord == null) {
+        throw new NoSuchElementException();
+      }
+      String relativePath = relativePath(pendingRecord);
+      SourceFileReport sourceFileReport = new SourceFileReport(relativePath);
+      while (pendingRecord != null && relativePath.equals(relativePath(pendingRecord))) {
+        sourceFileReport.addMutant(mutant(pendingRecord));
+        pendingRecord = records.hasNext() ? records.next() : null;
+      }
+      return sourceFileReport;
+    }
+
+    private static String relativePath(String record) {
+      return record.substring(0, record.indexOf(KEY_SEPARATOR));
+    }
+
+    private static Mutant mutant(String record) {
+      return MutantRecord.parse(record.substring(record.indexOf(KEY_SEPARATOR, record.indexOf(KEY_SEPARATOR) + 1) + 1));
+    }
+  }
+}
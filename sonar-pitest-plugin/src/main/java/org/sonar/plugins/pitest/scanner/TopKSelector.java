@@ -0,0 +1,78 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import javax.annotation.CheckForNull;
+
+/**
+ * Keeps the k greatest elements offered, according to the given comparator, in O(log k) per offer.
+ */
+class TopKSelector<T> {
+
+  private final int k;
+  private final Comparator<? super T> comparator;
+  private final PriorityQueue<T> heap;
+
+  TopKSelector(int k, Comparator<? super T> comparator) {
+    if (k < 1) {
+      throw new IllegalArgumentException("k must be positive: " + k);
+    }
+    this.k = k;
+    this.comparator = comparator;
+    // min-heap: the head is the weakest of the retained elements
+    this.heap = new PriorityQueue<>(Math.min(k, 1024), comparator);
+  }
+
+  /**
+   * @return the element which did not make it into the top k, either the offered one or a previously retained one,
+   * or null if nothing was evicted
+   */
+  @CheckForNull
+  T offer(T element) {
+    if (heap.size() < k) {
+      heap.add(element);
+      return null;
+    }
+    T weakest = heap.peek();
+    if (comparator.compare(element, weakest) <= 0) {
+      return element;
+    }
+    heap.poll();
+    heap.add(element);
+    return weakest;
+  }
+
+  int size() {
+    return heap.size();
+  }
+
+  /**
+   * @return the retained elements, greatest first
+   */
+  List<T> toSortedList() {
+    List<T> result = new ArrayList<>(heap);
+    result.sort(comparator.reversed());
+    return result;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import javax.xml.stream.XMLInputFactory;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+/**
+ * StAX implementations the report parser can use. The factory is instantiated directly instead of being looked up
+ * on the classpath, and is configured for pitest reports: no DTD, no external entities, no coalescing of text.
+ * Woodstox and Aalto are shipped with the plugin; the JDK implementation is used if they cannot be loaded.
+ */
+enum XmlBackend {
+
+  JDK("jdk", "com.sun.xml.internal.stream.XMLInputFactoryImpl"),
+  WOODSTOX("woodstox", "com.ctc.wstx.stax.WstxInputFactory"),
+  AALTO("aalto", "com.fasterxml.aalto.stax.InputFactoryImpl");
+
+  private static final Logger LOG = Loggers.get(XmlBackend.class);
+
+  private final String key;
+  private final String factoryClassName;
+
+  XmlBackend(String key, String factoryClassName) {
+    this.key = key;
+    this.factoryClassName = factoryClassName;
+  }
+
+  String getKey() {
+    return key;
+  }
+
+  static XmlBackend fromKey(String key) {
+    for (XmlBackend backend : values()) {
+      if (backend.key.equalsIgnoreCase(key)) {
+        return backend;
+      }
+    }
+    LOG.warn("Unknown XML backend '{}', using '{}'. Possible values: {}", key, JDK.key,
+      Arrays.stream(values()).map(XmlBackend::getKey).collect(Collectors.joining(", ")));
+    return JDK;
+  }
+
+  XMLInputFactory createFactory() {
+    XMLInputFactory factory = instantiate();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    // pitest reports have no namespace
+    setPropertyIfSupported(factory, XMLInputFactory.IS_NAMESPACE_AWARE, false);
+    return factory;
+  }
+
+  private static void setPropertyIfSupported(XMLInputFactory factory, String name, Object value) {
+    if (!factory.isPropertySupported(name)) {
+      return;
+    }
+    try {
+      factory.setProperty(name, value);
+    } catch (IllegalArgumentException e) {
+      LOG.debug("XML property {} cannot be set to {}: {}", name, value, e.getMessage());
+    }
+  }
+
+  private XMLInputFactory instantiate() {
+    if (this == JDK) {
+      return instantiateJdkFactory();
+    }
+    try {
+      return (XMLInputFactory) Class.forName(factoryClassName, true, XmlBackend.class.getClassLoader()).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+      LOG.warn("XML backend '{}' is not available, using '{}'", key, JDK.key);
+      return instantiateJdkFactory();
+    }
+  }
+
+  private static XMLInputFactory instantiateJdkFactory() {
+    try {
+      // Java 9+: the built-in implementation, whatever is on the classpath
+      return (XMLInputFactory) XMLInputFactory.class.getMethod("newDefaultFactory").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      // Java 8
+    }
+    try {
+      return (XMLInputFactory) Class.forName(JDK.factoryClassName).getDeclaredConstructor().newInstance();
+    } catch (ReflectiveOperationException | LinkageError | ClassCastException e) {
+      // not an OpenJDK based runtime
+      return XMLInputFactory.newFactory();
+    }
+  }
+}
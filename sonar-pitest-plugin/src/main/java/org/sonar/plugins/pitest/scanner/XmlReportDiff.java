@@ -0,0 +1,175 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import org.sonar.api.batch.ScannerSide;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantLocation;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.Mutator;
+
+/**
+ * Compares two pitest reports, typically the one of the base branch and the one of the analyzed branch.
+ * <p>
+ * Both reports are streamed into external sorters keyed by (class, method, descriptor, line, mutator, index),
+ * then merge-joined. At most {@code maxRecordsInMemory} records per report are held in memory at any time,
+ * whatever the size of the reports.
+ */
+@ScannerSide
+public class XmlReportDiff {
+
+  private static final Logger LOG = Loggers.get(XmlReportDiff.class);
+
+  private static final char FIELD_SEPARATOR = '\t';
+  private static final char KEY_SEPARATOR = '\u0001';
+
+  private final XmlReportParser parser;
+  private final int maxRecordsInMemory;
+
+  public XmlReportDiff(XmlReportParser parser) {
+    this(parser, ExternalSorter.DEFAULT_MAX_RECORDS_IN_MEMORY);
+  }
+
+  XmlReportDiff(XmlReportParser parser, int maxRecordsInMemory) {
+    this.parser = parser;
+    this.maxRecordsInMemory = maxRecordsInMemory;
+  }
+
+  public ReportDiff diff(File baseReport, File headReport, File workDir, Consumer<ReportDiff.Regression> regressionConsumer) {
+    ReportDiff reportDiff = new ReportDiff();
+    try (ExternalSorter base = sort(baseReport, workDir); ExternalSorter head = sort(headReport, workDir)) {
+      mergeJoin(base.sorted(), head.sorted(), reportDiff, regressionConsumer);
+    }
+    LOG.info("Compared pitest report {} with base report {}: {}", headReport, baseReport, reportDiff);
+    return reportDiff;
+  }
+
+  private ExternalSorter sort(File report, File workDir) {
+    ExternalSorter sorter = new ExternalSorter(workDir, maxRecordsInMemory);
+    try {
+      parser.parse(report, mutant -> sorter.add(toRecord(mutant)));
+    } catch (RuntimeException e) {
+      sorter.close();
+      throw e;
+    }
+    return sorter;
+  }
+
+  private static void mergeJoin(Iterator<String> base, Iterator<String> head, ReportDiff reportDiff, Consumer<ReportDiff.Regression> regressionConsumer) {
+    Record baseRecord = next(base);
+    Record headRecord = next(head);
+    while (baseRecord != null || headRecord != null) {
+      int comparison;
+      if (baseRecord == null) {
+        comparison = 1;
+      } else if (headRecord == null) {
+        comparison = -1;
+      } else {
+        comparison = baseRecord.key.compareTo(headRecord.key);
+      }
+
+      if (comparison < 0) {
+        reportDiff.removed(baseRecord.relativePath);
+        baseRecord = next(base);
+      } else if (comparison > 0) {
+        reportDiff.added(headRecord.relativePath);
+        headRecord = next(head);
+      } else {
+        if (baseRecord.status != headRecord.status) {
+          reportDiff.statusChanged(headRecord.relativePath);
+          if (isRegression(baseRecord.status, headRecord.status)) {
+            regressionConsumer.accept(new ReportDiff.Regression(headRecord.relativePath, headRecord.lineNumber, headRecord.mutator, baseRecord.status, headRecord.status));
+          }
+        }
+        baseRecord = next(base);
+        headRecord = next(head);
+      }
+    }
+  }
+
+  private static boolean isRegression(MutantStatus previous, MutantStatus current) {
+    return previous == MutantStatus.KILLED && (current == MutantStatus.SURVIVED || current == MutantStatus.NO_COVERAGE);
+  }
+
+  private static Record next(Iterator<String> records) {
+    return records.hasNext() ? Record.parse(records.next()) : null;
+  }
+
+  static String toRecord(Mutant mutant) {
+    MutantLocation location = mutant.mutantLocation;
+    return new StringBuilder()
+      .append(nullToEmpty(location.getClassName())).append(FIELD_SEPARATOR)
+      .append(nullToEmpty(location.getMutatedMethod())).append(FIELD_SEPARATOR)
+      .append(nullToEmpty(location.getMethodDescription())).append(FIELD_SEPARATOR)
+      .append(String.format("%010d", location.getLineNumber())).append(FIELD_SEPARATOR)
+      .append(mutant.mutatorKey()).append(FIELD_SEPARATOR)
+      .append(String.format("%010d", mutant.index))
+      .append(KEY_SEPARATOR).append(mutant.mutantStatus.name())
+      .append(KEY_SEPARATOR).append(mutatorName(mutant))
+      .append(KEY_SEPARATOR).append(location.getRelativePath())
+      .toString();
+  }
+
+  /**
+   * @return the name of the mutator in regression messages, its key for the mutators unknown to the plugin
+   */
+  private static String mutatorName(Mutant mutant) {
+    return mutant.mutator == Mutator.UNKNOWN ? mutant.mutatorKey() : mutant.mutator.name();
+  }
+
+  private static String nullToEmpty(String value) {
+    return value == null ? "" : value;
+  }
+
+  private static final class Record {
+    private final String key;
+    private final MutantStatus status;
+    private final String relativePath;
+    private final int lineNumber;
+    private final String mutator;
+
+    private Record(String key, MutantStatus status, String relativePath, int lineNumber, String mutator) {
+      this.key = key;
+      this.status = status;
+      this.relativePath = relativePath;
+      this.lineNumber = lineNumber;
+      this.mutator = mutator;
+    }
+
+    static Record parse(String record) {
+      int statusStart = record.indexOf(KEY_SEPARATOR);
+      int mutatorStart = record.indexOf(KEY_SEPARATOR, statusStart + 1);
+      int pathStart = record.indexOf(KEY_SEPARATOR, mutatorStart + 1);
+      String key = record.substring(0, statusStart);
+      String[] keyFields = key.split(String.valueOf(FIELD_SEPARATOR), -1);
+      return new Record(
+        key,
+        MutantStatus.parse(record.substring(statusStart + 1, mutatorStart)),
+        record.substring(pathStart + 1),
+        Integer.parseInt(keyFields[3]),
+        record.substring(mutatorStart + 1, pathStart));
+    }
+  }
+}
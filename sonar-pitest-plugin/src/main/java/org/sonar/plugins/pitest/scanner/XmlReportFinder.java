@@ -0,0 +1,190 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.FileVisitor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import org.sonar.api.ExtensionPoint;
+import org.sonar.api.batch.ScannerSide;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+@ScannerSide
+@ExtensionPoint
+public class XmlReportFinder {
+
+  private static final Logger LOG = Loggers.get(XmlReportFinder.class);
+
+  static final String XML_REPORT = "mutations.xml";
+  static final String BINARY_REPORT = "mutations.bin";
+  static final String CSV_REPORT = "mutations.csv";
+  static final String LINE_COVERAGE = "linecoverage.xml";
+
+  /**
+   * Report names, by order of preference: the CSV report is the fastest to read after the binary one, but it has
+   * neither the method descriptors nor the mutation descriptions, so it only stands in for a missing XML report.
+   */
+  private static final String[] REPORTS = {BINARY_REPORT, XML_REPORT, CSV_REPORT};
+
+  /**
+   * Pitest writes its reports one after the other at the end of the run: reports at most this older than the latest
+   * one come from the same run.
+   */
+  static final long SAME_RUN_TOLERANCE_MILLIS = 60_000L;
+
+  /**
+   * @return among the reports of the latest run, the binary report written by the pitest-binary-listener plugin, else
+   * the XML report, else the CSV report
+   */
+  public File findReport(File reportDirectory) {
+    if (!reportDirectory.exists() || !reportDirectory.isDirectory()) {
+      LOG.error("reportDirectory does not exist or is not a Directory: " + reportDirectory.getAbsolutePath());
+      return null;
+    }
+
+    final List<AtomicReference<Path>> latestReports = new ArrayList<>();
+    for (int i = 0; i < REPORTS.length; i++) {
+      latestReports.add(new AtomicReference<>());
+    }
+    try {
+      Files.walkFileTree(reportDirectory.toPath(), new FileVisitor<Path>() {
+
+        @Override
+        public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) throws IOException {
+
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+          if (!file.toFile().isFile()) {
+            return FileVisitResult.CONTINUE;
+          }
+          for (int i = 0; i < REPORTS.length; i++) {
+            if (file.toString().endsWith(REPORTS[i])) {
+              keepLatest(latestReports.get(i), file);
+            }
+          }
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult visitFileFailed(final Path file, final IOException exc) throws IOException {
+
+          return FileVisitResult.CONTINUE;
+        }
+
+        @Override
+        public FileVisitResult postVisitDirectory(final Path dir, final IOException exc) throws IOException {
+
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    } catch (IOException e) {
+      LOG.error("unable to find pitest report file in reportDirectory: " + reportDirectory.getAbsolutePath());
+      return null;
+    }
+    long latestRun = Long.MIN_VALUE;
+    for (AtomicReference<Path> latestReport : latestReports) {
+      if (latestReport.get() != null) {
+        latestRun = Math.max(latestRun, latestReport.get().toFile().lastModified());
+      }
+    }
+    for (AtomicReference<Path> latestReport : latestReports) {
+      if (latestReport.get() != null && latestReport.get().toFile().lastModified() + SAME_RUN_TOLERANCE_MILLIS >= latestRun) {
+        return latestReport.get().toFile();
+      }
+    }
+    return null;
+  }
+
+  private static void keepLatest(AtomicReference<Path> latest, Path file) throws IOException {
+    if (latest.get() == null || Files.getLastModifiedTime(file).compareTo(Files.getLastModifiedTime(latest.get())) > 0) {
+      latest.set(file);
+    }
+  }
+
+  /**
+   * @return the line coverage exported by pitest in the same run as the given report, or null if there is none
+   */
+  public File findLineCoverage(File report) {
+    File lineCoverage = new File(report.getParentFile(), LINE_COVERAGE);
+    if (!lineCoverage.isFile()) {
+      return null;
+    }
+    if (lineCoverage.lastModified() + SAME_RUN_TOLERANCE_MILLIS < report.lastModified()) {
+      LOG.warn("Ignoring pitest line coverage older than the report: " + lineCoverage.getAbsolutePath());
+      return null;
+    }
+    return lineCoverage;
+  }
+
+  /**
+   * @return the index written by {@link ReportSharder} for the given report, or null if the report was not sharded or
+   * was generated again since
+   */
+  public File findShardIndex(File report) {
+    File shardIndex = new File(new File(report.getParentFile(), ReportSharder.SHARDS_DIRECTORY), ReportSharder.INDEX_FILE);
+    if (!shardIndex.isFile()) {
+      return null;
+    }
+    if (shardIndex.lastModified() < report.lastModified()) {
+      LOG.warn("Ignoring pitest report shards older than the report: " + shardIndex.getParentFile().getAbsolutePath());
+      return null;
+    }
+    return shardIndex;
+  }
+
+  /**
+   * @return the shards of the packages accepted by the filter
+   */
+  public List<File> findShards(File shardIndex, Predicate<String> packageFilter) {
+    Properties index = new Properties();
+    try (Reader reader = new InputStreamReader(new FileInputStream(shardIndex), StandardCharsets.UTF_8)) {
+      index.load(reader);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read pitest report shard index " + shardIndex.getAbsolutePath(), e);
+    }
+    List<File> shards = new ArrayList<>();
+    for (String packageName : index.stringPropertyNames()) {
+      if (packageFilter.test(packageName)) {
+        shards.add(new File(shardIndex.getParentFile(), index.getProperty(packageName)));
+      }
+    }
+    Collections.sort(shards);
+    return shards;
+  }
+
+}
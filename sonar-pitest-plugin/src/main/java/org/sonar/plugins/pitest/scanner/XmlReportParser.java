@@ -0,0 +1,470 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Throwables;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.sonar.api.ExtensionPoint;
+import org.sonar.api.batch.ScannerSide;
+import org.sonar.api.config.Configuration;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.pitest.PitestEvents;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantLocation;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+
+import static org.sonar.plugins.pitest.PitestConstants.EXCLUSIONS_CLASSES_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.EXCLUSIONS_MUTATORS_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.EXCLUSIONS_PATHS_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.LENIENT_PARSING_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.XML_BACKEND_JDK;
+import static org.sonar.plugins.pitest.PitestConstants.XML_BACKEND_KEY;
+
+@ScannerSide
+@ExtensionPoint
+public class XmlReportParser {
+
+  private static final Logger LOG = Loggers.get(XmlReportParser.class);
+
+  private final boolean lenient;
+  private final MutantExclusions exclusions;
+  private final XMLInputFactory xmlFactory;
+  private final BinaryReportReader binaryReader;
+  private final CsvReportReader csvReader;
+
+  public XmlReportParser() {
+    this(false);
+  }
+
+  public XmlReportParser(Configuration configuration) {
+    this(configuration.getBoolean(LENIENT_PARSING_KEY).orElse(false),
+      XmlBackend.fromKey(configuration.get(XML_BACKEND_KEY).orElse(XML_BACKEND_JDK)),
+      MutantExclusions.of(configuration.getStringArray(EXCLUSIONS_CLASSES_KEY), configuration.getStringArray(EXCLUSIONS_PATHS_KEY),
+        configuration.getStringArray(EXCLUSIONS_MUTATORS_KEY)));
+  }
+
+  XmlReportParser(boolean lenient) {
+    this(lenient, XmlBackend.JDK);
+  }
+
+  /**
+   * @param lenient when true, a report that is truncated or malformed is not rejected: the mutants read before the
+   * error are kept and the rest of the report is ignored
+   * @param backend the StAX implementation, whose factory is created once and shared by all parses
+   */
+  XmlReportParser(boolean lenient, XmlBackend backend) {
+    this(lenient, backend, MutantExclusions.NONE);
+  }
+
+  /**
+   * @param exclusions mutants skipped while reading the report, as those of other source files
+   */
+  XmlReportParser(boolean lenient, XmlBackend backend, MutantExclusions exclusions) {
+    this.lenient = lenient;
+    this.exclusions = exclusions;
+    this.xmlFactory = backend.createFactory();
+    this.binaryReader = new BinaryReportReader(lenient, exclusions);
+    this.csvReader = new CsvReportReader(lenient, exclusions);
+    LOG.debug("Parsing PIT reports with {}", xmlFactory.getClass().getName());
+  }
+
+  boolean isLenient() {
+    return lenient;
+  }
+
+  MutantExclusions getExclusions() {
+    return exclusions;
+  }
+
+  public Collection<Mutant> parse(File report) {
+    Collection<Mutant> mutants = new ArrayList<>();
+    parse(report, mutants::add);
+    return mutants;
+  }
+
+  /**
+   * Streams the mutants of the report to the given consumer, one at a time, without retaining them.
+   */
+  public void parse(File report, Consumer<Mutant> consumer) {
+    parse(report, relativePath -> true, consumer);
+  }
+
+  /**
+   * Parses only the mutants whose source file relative path is accepted by the filter.
+   */
+  public Collection<Mutant> parseSourceFiles(File report, Predicate<String> sourceFileFilter) {
+    Collection<Mutant> mutants = new ArrayList<>();
+    parse(report, sourceFileFilter, mutants::add);
+    return mutants;
+  }
+
+  /**
+   * Streams the mutants whose source file relative path is accepted by the filter. The filter is evaluated as soon as
+   * the source file and the mutated class of a mutation are read: the rest of a rejected mutation is skipped without
+   * reading its text.
+   * <p>
+   * Binary reports (*.bin) written by the pitest-binary-listener plugin and CSV reports (*.csv) are read natively.
+   * <p>
+   * Reading a file is not interruptible, so the parse checks between two mutants whether its thread was interrupted,
+   * as when a prefetched report is cancelled, and then fails.
+   */
+  public void parse(File report, Predicate<String> sourceFileFilter, Consumer<Mutant> consumer) {
+    Consumer<Mutant> interruptibleConsumer = mutant -> {
+      if (Thread.currentThread().isInterrupted()) {
+        throw new IllegalStateException("Interrupted while parsing PIT report " + report);
+      }
+      consumer.accept(mutant);
+    };
+    try (PitestEvents.Scope event = PitestEvents.get().reportParse(report.getPath())) {
+      if (!event.isEnabled()) {
+        read(report, sourceFileFilter, interruptibleConsumer);
+        return;
+      }
+      long[] mutants = {0L};
+      read(report, sourceFileFilter, mutant -> {
+        mutants[0]++;
+        interruptibleConsumer.accept(mutant);
+      });
+      event.bytes(report.length());
+      event.mutants(mutants[0]);
+    }
+  }
+
+  private void read(File report, Predicate<String> sourceFileFilter, Consumer<Mutant> consumer) {
+    int skippedMutants;
+    if (BinaryReportReader.isBinaryReport(report)) {
+      skippedMutants = binaryReader.read(report, sourceFileFilter, consumer);
+    } else if (CsvReportReader.isCsvReport(report)) {
+      skippedMutants = csvReader.read(report, sourceFileFilter, consumer);
+    } else {
+      Parser parser = new Parser(sourceFileFilter, consumer);
+      parser.parse(report);
+      skippedMutants = parser.skippedMutants;
+    }
+    if (skippedMutants > 0) {
+      LOG.debug("Skipped {} mutants of other source files or excluded in {}", skippedMutants, report);
+    }
+  }
+
+  private class Parser {
+
+    private XMLStreamReader stream;
+    private final Predicate<String> sourceFileFilter;
+    private final Consumer<Mutant> consumer;
+    private int skippedMutants;
+    private int parsedMutants;
+
+    private boolean detected;
+    private MutantStatus mutantStatus;
+    private String sourceFile;
+    private String mutatedClass;
+    private String mutatedMethod;
+    private String methodDescription;
+    private int lineNumber;
+    private String mutator;
+    private int index;
+    private int block;
+    private String description;
+    private String killingTest;
+
+    Parser(Predicate<String> sourceFileFilter, Consumer<Mutant> consumer) {
+      this.sourceFileFilter = sourceFileFilter;
+      this.consumer = consumer;
+    }
+
+    private void reset() {
+      detected = false;
+      mutantStatus = null;
+      sourceFile = null;
+      mutatedClass = null;
+      mutatedMethod = null;
+      methodDescription = null;
+      lineNumber = 0;
+      mutator = null;
+      index = 0;
+      block = Mutant.UNKNOWN_BLOCK;
+      description = null;
+      killingTest = null;
+    }
+
+    public void parse(File file) {
+      try (InputStream is = new FileInputStream(file);
+        InputStreamReader reader = new InputStreamReader(is, Charsets.UTF_8)) {
+        // configured factories are thread-safe, but the JDK one may recycle a reader of another thread
+        synchronized (xmlFactory) {
+          stream = xmlFactory.createXMLStreamReader(reader);
+        }
+
+        while (stream.hasNext()) {
+          int next = stream.next();
+          if (next == XMLStreamConstants.START_ELEMENT) {
+            parseStartElement();
+          } else if (next == XMLStreamConstants.END_ELEMENT) {
+            processEndElement();
+          }
+        }
+      } catch (XMLStreamException e) {
+        if (!lenient) {
+          throw new IllegalStateException("XML is not valid", e);
+        }
+        LOG.warn("PIT report {} is truncated or malformed, {} mutants were recovered before the error and the rest is ignored: {}",
+          file, parsedMutants, e.getMessage());
+      } catch (IOException | IllegalArgumentException e) {
+        throw new IllegalStateException("XML is not valid", e);
+      } finally {
+        closeXmlStream();
+      }
+    }
+
+    private void parseStartElement() throws XMLStreamException {
+      String tagName = stream.getLocalName();
+
+      switch (tagName) {
+        case "mutations":
+          break;
+        case "mutation":
+          reset();
+          handleMutationTag();
+          break;
+        case "sourceFile":
+          handleSourceFileTag();
+          skipMutationIfFiltered();
+          break;
+        case "mutatedClass":
+          handleMutatedClassTag();
+          skipMutationIfFiltered();
+          break;
+        case "mutatedMethod":
+          handleMutatedMethod();
+          break;
+        case "methodDescription":
+          handleMethodDescription();
+          break;
+        case "lineNumber":
+          handleLineNumber();
+          break;
+        case "mutator":
+          handleMutator();
+          skipMutationIfExcludedMutator();
+          break;
+        case "index":
+          handleIndex();
+          break;
+        case "block":
+          handleBlock();
+          break;
+        case "killingTest":
+          handleKillingTest();
+          break;
+        case "description":
+          handleDescription();
+          break;
+        case "killingTests":
+        case "succeedingTests":
+          // test lists of a full mutation matrix, which can dominate the report size
+          skipElement();
+          break;
+        default:
+          if (LOG.isDebugEnabled()) {
+            // all are processed now, so this is a new element added by pitest
+            LOG.debug("Ignoring tag {}", tagName);
+          }
+          // its subtree is still read, as it may hold mutations
+      }
+    }
+
+    /**
+     * Moves to the end of the current element, without reading the text of its subtree.
+     */
+    private void skipElement() throws XMLStreamException {
+      int depth = 1;
+      while (depth > 0) {
+        int next = stream.next();
+        if (next == XMLStreamConstants.START_ELEMENT) {
+          depth++;
+        } else if (next == XMLStreamConstants.END_ELEMENT) {
+          depth--;
+        }
+      }
+    }
+
+    private void handleMutationTag() {
+      detected = Boolean.parseBoolean(getAttribute("detected"));
+      mutantStatus = MutantStatus.fromPitestDetectionStatus(getAttribute("status"));
+    }
+
+    private void skipMutationIfFiltered() throws XMLStreamException {
+      if (sourceFile == null || mutatedClass == null) {
+        return;
+      }
+      String relativePath = MutantLocation.relativePath(mutatedClass, sourceFile);
+      if (sourceFileFilter.test(relativePath) && !exclusions.excludesLocation(relativePath, mutatedClass)) {
+        return;
+      }
+      skipMutation();
+    }
+
+    private void skipMutationIfExcludedMutator() throws XMLStreamException {
+      if (mutator != null && exclusions.excludesMutator(mutator)) {
+        skipMutation();
+      }
+    }
+
+    /**
+     * Moves to the end of the current mutation, which is not created.
+     */
+    private void skipMutation() throws XMLStreamException {
+      skippedMutants++;
+      while (stream.hasNext()) {
+        if (stream.next() == XMLStreamConstants.END_ELEMENT && "mutation".equals(stream.getLocalName())) {
+          return;
+        }
+      }
+    }
+
+    private void handleSourceFileTag() {
+      try {
+        sourceFile = stream.getElementText();
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag sourceFile");
+      }
+    }
+
+    private void handleMutatedClassTag() {
+      try {
+        mutatedClass = stream.getElementText();
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag MutatedClass");
+      }
+    }
+
+    private void handleMutatedMethod() {
+      try {
+        mutatedMethod = stream.getElementText();
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag mutatedMethod");
+      }
+    }
+
+    private void handleMethodDescription() {
+      try {
+        methodDescription = stream.getElementText();
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag methodDescription");
+      }
+    }
+
+    private void handleLineNumber() {
+      try {
+        lineNumber = Integer.parseInt(stream.getElementText().trim());
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag lineNumber");
+      }
+    }
+
+    private void handleMutator() {
+      try {
+        mutator = stream.getElementText();
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag mutator");
+      }
+    }
+
+    private void handleIndex() {
+      try {
+        index = Integer.parseInt(stream.getElementText().trim());
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag index");
+      }
+    }
+
+    private void handleBlock() {
+      try {
+        block = Integer.parseInt(stream.getElementText().trim());
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag block");
+      }
+    }
+
+    private void handleKillingTest() {
+      try {
+        killingTest = stream.getElementText();
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag killingTest");
+      }
+    }
+
+    private void handleDescription() {
+      try {
+        description = stream.getElementText();
+      } catch (Exception e) {
+        logException(e.getClass().getSimpleName(), "processing tag description");
+      }
+    }
+
+    private void processEndElement() {
+      String tagName = stream.getLocalName();
+      if ("mutation".equals(tagName)) {
+        MutantLocation location = new MutantLocation(mutatedClass, sourceFile, mutatedMethod, methodDescription, lineNumber);
+        consumer.accept(new Mutant(detected, mutantStatus, location, mutator, index, block, description, killingTest));
+        parsedMutants++;
+      }
+    }
+
+    private void logException(String exceptionName, String activity) {
+      LOG.warn("caught {} {}.. ignoring ", exceptionName, activity);
+    }
+
+    private void closeXmlStream() {
+      if (stream != null) {
+        try {
+          stream.close();
+        } catch (XMLStreamException e) {
+          throw Throwables.propagate(e);
+        }
+      }
+    }
+
+    private String getAttribute(String name) {
+      for (int i = 0; i < stream.getAttributeCount(); i++) {
+        if (name.equals(stream.getAttributeLocalName(i))) {
+          return stream.getAttributeValue(i);
+        }
+      }
+
+      return null;
+    }
+
+  }
+}
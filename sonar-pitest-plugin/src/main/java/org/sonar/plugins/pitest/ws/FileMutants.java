@@ -0,0 +1,197 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.ws;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+
+/**
+ * Mutants of a file decoded from its pitest_mutations_data measure, sorted by line so that the mutants of a line range
+ * are found by binary search.
+ */
+final class FileMutants {
+
+  static final FileMutants EMPTY = new FileMutants(Collections.emptyList());
+
+  // object header and fields of a MutantDetails, plus its slots in the lines and mutants arrays
+  private static final int MUTANT_BYTES = 56;
+  // object header and fields of a String and header of its array, characters excluded
+  private static final int STRING_BYTES = 40;
+
+  private final int[] lines;
+  private final MutantDetails[] mutants;
+  private final long estimatedBytes;
+
+  private FileMutants(List<MutantDetails> mutants) {
+    this.mutants = mutants.toArray(new MutantDetails[mutants.size()]);
+    this.lines = new int[this.mutants.length];
+    long bytes = 0;
+    for (int i = 0; i < lines.length; i++) {
+      MutantDetails mutant = this.mutants[i];
+      lines[i] = mutant.line;
+      bytes += MUTANT_BYTES + estimatedBytes(mutant.className) + estimatedBytes(mutant.mutatorName) + estimatedBytes(mutant.mutatorDescription)
+        + estimatedBytes(mutant.method) + estimatedBytes(mutant.killingTest);
+    }
+    this.estimatedBytes = bytes;
+  }
+
+  private static long estimatedBytes(@Nullable String value) {
+    return value == null ? 0 : (STRING_BYTES + 2L * value.length());
+  }
+
+  /**
+   * @param mutationsData mutants grouped by line, as written by SourceFileReport#toJSON
+   * @throws IllegalStateException if the value is not valid
+   */
+  static FileMutants decode(String mutationsData) {
+    List<MutantDetails> mutants = new ArrayList<>();
+    try (JsonReader reader = new JsonReader(new StringReader(mutationsData))) {
+      // values are not escaped by the sensor
+      reader.setLenient(true);
+      reader.beginObject();
+      while (reader.hasNext()) {
+        int line = Integer.parseInt(reader.nextName());
+        reader.beginArray();
+        while (reader.hasNext()) {
+          mutants.add(readMutant(reader, line));
+        }
+        reader.endArray();
+      }
+      reader.endObject();
+    } catch (IOException | RuntimeException e) {
+      throw new IllegalStateException("Invalid mutations data: " + e.getMessage(), e);
+    }
+    // stable: mutants of a line keep their report order
+    mutants.sort(Comparator.comparingInt(mutant -> mutant.line));
+    return new FileMutants(mutants);
+  }
+
+  private static MutantDetails readMutant(JsonReader reader, int line) throws IOException {
+    MutantDetails mutant = new MutantDetails(line);
+    reader.beginObject();
+    while (reader.hasNext()) {
+      switch (reader.nextName()) {
+        case "d":
+          mutant.detected = reader.nextBoolean();
+          break;
+        case "s":
+          mutant.status = MutantStatus.parse(reader.nextString());
+          break;
+        case "c":
+          mutant.className = reader.nextString();
+          break;
+        case "mname":
+          mutant.mutatorName = reader.nextString();
+          break;
+        case "mdesc":
+          mutant.mutatorDescription = reader.nextString();
+          break;
+        case "mmethod":
+          mutant.method = reader.nextString();
+          break;
+        case "killtest":
+          mutant.killingTest = reader.nextString();
+          break;
+        default:
+          reader.skipValue();
+          break;
+      }
+    }
+    reader.endObject();
+    return mutant;
+  }
+
+  int size() {
+    return mutants.length;
+  }
+
+  /**
+   * @return the approximate heap size of the decoded mutants, strings included
+   */
+  long estimatedBytes() {
+    return estimatedBytes;
+  }
+
+  /**
+   * @param statuses the statuses of the selected mutants, all statuses when empty
+   * @param pageIndex index of the page, starting at 1
+   */
+  Selection select(int fromLine, int toLine, Set<MutantStatus> statuses, int pageIndex, int pageSize) {
+    long firstOfPage = (long) (pageIndex - 1) * pageSize;
+    List<MutantDetails> page = new ArrayList<>(Math.min(pageSize, mutants.length));
+    int total = 0;
+    for (int i = firstIndexAtOrAfter(fromLine); i < mutants.length && lines[i] <= toLine; i++) {
+      if (statuses.isEmpty() || statuses.contains(mutants[i].status)) {
+        if (total >= firstOfPage && page.size() < pageSize) {
+          page.add(mutants[i]);
+        }
+        total++;
+      }
+    }
+    return new Selection(total, page);
+  }
+
+  private int firstIndexAtOrAfter(int line) {
+    int low = 0;
+    int high = lines.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (lines[middle] < line) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  static final class Selection {
+    final int total;
+    final List<MutantDetails> mutants;
+
+    Selection(int total, List<MutantDetails> mutants) {
+      this.total = total;
+      this.mutants = mutants;
+    }
+  }
+
+  static final class MutantDetails {
+    final int line;
+    boolean detected;
+    MutantStatus status = MutantStatus.UNKNOWN;
+    String className;
+    String mutatorName;
+    String mutatorDescription;
+    String method;
+    String killingTest;
+
+    MutantDetails(int line) {
+      this.line = line;
+    }
+  }
+}
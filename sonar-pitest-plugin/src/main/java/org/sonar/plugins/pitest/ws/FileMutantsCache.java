@@ -0,0 +1,129 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.ws;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+/**
+ * Decoded mutants of the most recently requested files, evicted in least recently used order once their estimated
+ * size exceeds the limit.
+ * <p>
+ * An entry is identified by the component key, branch and pull request of the file, and by the date of the analysis
+ * it was decoded from, so that a new analysis of the file replaces it without the measure being read again to check
+ * it.
+ */
+final class FileMutantsCache {
+
+  static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+
+  private final long maxBytes;
+  private final Map<FileKey, CachedFileMutants> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private long bytes;
+
+  FileMutantsCache(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * @return the mutants decoded from the given analysis of the file, or null if they are not cached
+   */
+  @CheckForNull
+  synchronized FileMutants get(FileKey fileKey, String analysisDate) {
+    CachedFileMutants entry = entries.get(fileKey);
+    return entry != null && entry.analysisDate.equals(analysisDate) ? entry.fileMutants : null;
+  }
+
+  /**
+   * Replaces the mutants of the file, unless they are larger than the whole cache.
+   */
+  synchronized void put(FileKey fileKey, String analysisDate, FileMutants fileMutants) {
+    CachedFileMutants previous = entries.remove(fileKey);
+    if (previous != null) {
+      bytes -= previous.fileMutants.estimatedBytes();
+    }
+    if (fileMutants.estimatedBytes() > maxBytes) {
+      return;
+    }
+    entries.put(fileKey, new CachedFileMutants(analysisDate, fileMutants));
+    bytes += fileMutants.estimatedBytes();
+    Iterator<CachedFileMutants> leastRecentlyUsed = entries.values().iterator();
+    while (bytes > maxBytes) {
+      bytes -= leastRecentlyUsed.next().fileMutants.estimatedBytes();
+      leastRecentlyUsed.remove();
+    }
+  }
+
+  synchronized int size() {
+    return entries.size();
+  }
+
+  synchronized long estimatedBytes() {
+    return bytes;
+  }
+
+  /**
+   * A file of the main branch, of a branch or of a pull request: their analyses and mutants differ.
+   */
+  static final class FileKey {
+    private final String componentKey;
+    @Nullable
+    private final String branch;
+    @Nullable
+    private final String pullRequest;
+
+    FileKey(String componentKey, @Nullable String branch, @Nullable String pullRequest) {
+      this.componentKey = componentKey;
+      this.branch = branch;
+      this.pullRequest = pullRequest;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      FileKey other = (FileKey) o;
+      return componentKey.equals(other.componentKey) && Objects.equals(branch, other.branch) && Objects.equals(pullRequest, other.pullRequest);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(componentKey, branch, pullRequest);
+    }
+  }
+
+  private static final class CachedFileMutants {
+    private final String analysisDate;
+    private final FileMutants fileMutants;
+
+    CachedFileMutants(String analysisDate, FileMutants fileMutants) {
+      this.analysisDate = analysisDate;
+      this.fileMutants = fileMutants;
+    }
+  }
+}
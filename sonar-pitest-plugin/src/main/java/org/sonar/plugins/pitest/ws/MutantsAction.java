@@ -0,0 +1,263 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.ws;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import org.sonar.api.server.ws.LocalConnector;
+import org.sonar.api.server.ws.Request;
+import org.sonar.api.server.ws.RequestHandler;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.api.server.ws.WebService.Param;
+import org.sonar.api.utils.text.JsonWriter;
+import org.sonar.plugins.pitest.PitestMetrics;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+
+/**
+ * Serves the mutants of a file by line range, status and page, from its pitest_mutations_data measure.
+ * <p>
+ * The date of the last analysis of the file is read with api/components/show on behalf of the user, so that its
+ * permissions apply and errors are returned as is. The measure is read with api/measures/component only when the
+ * mutants of that analysis are not cached yet. Both calls are made on the requested branch or pull request.
+ */
+public class MutantsAction implements RequestHandler {
+
+  static final String ACTION = "mutants";
+  static final String PARAM_COMPONENT = "component";
+  static final String PARAM_FROM_LINE = "from";
+  static final String PARAM_TO_LINE = "to";
+  static final String PARAM_STATUSES = "statuses";
+  static final String PARAM_BRANCH = "branch";
+  static final String PARAM_PULL_REQUEST = "pullRequest";
+  static final String COMPONENTS_PATH = "api/components/show";
+  static final String MEASURES_PATH = "api/measures/component";
+
+  private static final int DEFAULT_PAGE_SIZE = 100;
+  private static final int MAX_PAGE_SIZE = 500;
+  private static final int HTTP_OK = 200;
+
+  private final FileMutantsCache cache;
+
+  MutantsAction(FileMutantsCache cache) {
+    this.cache = cache;
+  }
+
+  void define(WebService.NewController controller) {
+    WebService.NewAction action = controller.createAction(ACTION)
+      .setDescription("Mutants of a file, sorted by line. Requires the 'Browse' permission on the file's project.")
+      .setSince("1.0")
+      .setResponseExample(getClass().getResource("mutants-example.json"))
+      .setHandler(this)
+      .addPagingParams(DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+
+    action.createParam(PARAM_COMPONENT)
+      .setDescription("File key")
+      .setRequired(true)
+      .setExampleValue("my_project:src/main/java/com/foo/Bar.java");
+    action.createParam(PARAM_FROM_LINE)
+      .setDescription("First line of the mutants")
+      .setDefaultValue("1")
+      .setExampleValue("10");
+    action.createParam(PARAM_TO_LINE)
+      .setDescription("Last line of the mutants, the end of the file by default")
+      .setExampleValue("20");
+    action.createParam(PARAM_STATUSES)
+      .setDescription("Comma-separated list of statuses of the mutants, all statuses by default")
+      .setPossibleValues((Object[]) MutantStatus.values())
+      .setExampleValue(MutantStatus.SURVIVED + "," + MutantStatus.NO_COVERAGE);
+    action.createParam(PARAM_BRANCH)
+      .setDescription("Branch key")
+      .setInternal(true)
+      .setExampleValue("feature/my_branch");
+    action.createParam(PARAM_PULL_REQUEST)
+      .setDescription("Pull request id")
+      .setInternal(true)
+      .setExampleValue("5461");
+  }
+
+  @Override
+  public void handle(Request request, Response response) throws IOException {
+    String componentKey = request.mandatoryParam(PARAM_COMPONENT);
+    String branch = request.param(PARAM_BRANCH);
+    String pullRequest = request.param(PARAM_PULL_REQUEST);
+    int fromLine = request.mandatoryParamAsInt(PARAM_FROM_LINE);
+    Integer toLine = request.paramAsInt(PARAM_TO_LINE);
+    List<MutantStatus> statuses = request.paramAsEnums(PARAM_STATUSES, MutantStatus.class);
+    int pageIndex = request.mandatoryParamAsInt(Param.PAGE);
+    int pageSize = request.mandatoryParamAsInt(Param.PAGE_SIZE);
+
+    LocalConnector.LocalResponse component = request.localConnector().call(new GetRequest(COMPONENTS_PATH, componentKey, branch, pullRequest));
+    if (component.getStatus() != HTTP_OK) {
+      forward(component, response);
+      return;
+    }
+    String analysisDate = analysisDate(component.getBytes());
+    FileMutantsCache.FileKey fileKey = new FileMutantsCache.FileKey(componentKey, branch, pullRequest);
+    FileMutants fileMutants = analysisDate == null ? null : cache.get(fileKey, analysisDate);
+    if (fileMutants == null) {
+      GetRequest measuresRequest = new GetRequest(MEASURES_PATH, componentKey, branch, pullRequest);
+      measuresRequest.params.put("metricKeys", PitestMetrics.MUTATIONS_DATA_KEY);
+      LocalConnector.LocalResponse measures = request.localConnector().call(measuresRequest);
+      if (measures.getStatus() != HTTP_OK) {
+        forward(measures, response);
+        return;
+      }
+      String mutationsData = mutationsData(measures.getBytes());
+      fileMutants = mutationsData == null ? FileMutants.EMPTY : FileMutants.decode(mutationsData);
+      if (mutationsData != null && analysisDate != null) {
+        cache.put(fileKey, analysisDate, fileMutants);
+      }
+    }
+    FileMutants.Selection selection = fileMutants.select(fromLine, toLine == null ? Integer.MAX_VALUE : toLine,
+      statuses == null ? Collections.emptySet() : toSet(statuses), pageIndex, pageSize);
+
+    try (JsonWriter json = response.newJsonWriter()) {
+      json.beginObject()
+        .prop(PARAM_COMPONENT, componentKey);
+      json.name("paging").beginObject()
+        .prop("pageIndex", pageIndex)
+        .prop("pageSize", pageSize)
+        .prop("total", selection.total)
+        .endObject();
+      json.name("mutants").beginArray();
+      for (FileMutants.MutantDetails mutant : selection.mutants) {
+        json.beginObject()
+          .prop("line", mutant.line)
+          .prop("status", mutant.status.name())
+          .prop("detected", mutant.detected)
+          .prop("class", mutant.className)
+          .prop("method", mutant.method)
+          .prop("mutator", mutant.mutatorName)
+          .prop("description", mutant.mutatorDescription)
+          .prop("killingTest", mutant.killingTest)
+          .endObject();
+      }
+      json.endArray().endObject();
+    }
+  }
+
+  private static void forward(LocalConnector.LocalResponse localResponse, Response response) throws IOException {
+    response.stream().setStatus(localResponse.getStatus());
+    response.stream().setMediaType(localResponse.getMediaType());
+    try (OutputStream output = response.stream().output()) {
+      output.write(localResponse.getBytes());
+    }
+  }
+
+  private static Set<MutantStatus> toSet(List<MutantStatus> statuses) {
+    return statuses.isEmpty() ? Collections.emptySet() : EnumSet.copyOf(statuses);
+  }
+
+  /**
+   * @return the date of the last analysis in a api/components/show response, or null if the component was never
+   * analysed
+   */
+  @CheckForNull
+  static String analysisDate(byte[] componentResponse) {
+    JsonObject component = parse(componentResponse).getAsJsonObject(PARAM_COMPONENT);
+    return component.has("analysisDate") ? component.get("analysisDate").getAsString() : null;
+  }
+
+  /**
+   * @return the value of the pitest_mutations_data measure in a api/measures/component response, or null if the
+   * component has none
+   */
+  @CheckForNull
+  static String mutationsData(byte[] measuresResponse) {
+    for (JsonElement measure : parse(measuresResponse).getAsJsonObject(PARAM_COMPONENT).getAsJsonArray("measures")) {
+      JsonObject measureObject = measure.getAsJsonObject();
+      if (PitestMetrics.MUTATIONS_DATA_KEY.equals(measureObject.get("metric").getAsString()) && measureObject.has("value")) {
+        return measureObject.get("value").getAsString();
+      }
+    }
+    return null;
+  }
+
+  private static JsonObject parse(byte[] response) {
+    return new JsonParser().parse(new InputStreamReader(new ByteArrayInputStream(response), StandardCharsets.UTF_8)).getAsJsonObject();
+  }
+
+  private static final class GetRequest implements LocalConnector.LocalRequest {
+    private final String path;
+    private final Map<String, String> params = new HashMap<>();
+
+    GetRequest(String path, String componentKey, @Nullable String branch, @Nullable String pullRequest) {
+      this.path = path;
+      params.put(PARAM_COMPONENT, componentKey);
+      if (branch != null) {
+        params.put(PARAM_BRANCH, branch);
+      }
+      if (pullRequest != null) {
+        params.put(PARAM_PULL_REQUEST, pullRequest);
+      }
+    }
+
+    @Override
+    public String getPath() {
+      return path;
+    }
+
+    @Override
+    public String getMediaType() {
+      return "application/json";
+    }
+
+    @Override
+    public String getMethod() {
+      return "GET";
+    }
+
+    @Override
+    public boolean hasParam(String key) {
+      return params.containsKey(key);
+    }
+
+    @Override
+    public String getParam(String key) {
+      return params.get(key);
+    }
+
+    @Override
+    public List<String> getMultiParam(String key) {
+      return params.containsKey(key) ? Collections.singletonList(params.get(key)) : Collections.emptyList();
+    }
+
+    @Override
+    public Optional<String> getHeader(String name) {
+      return Optional.empty();
+    }
+  }
+}
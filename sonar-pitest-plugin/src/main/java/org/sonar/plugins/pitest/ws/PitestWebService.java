@@ -0,0 +1,49 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.ws;
+
+import org.sonar.api.server.ws.WebService;
+
+/**
+ * Web services of the plugin, under api/pitest.
+ */
+public class PitestWebService implements WebService {
+
+  static final String CONTROLLER = "api/pitest";
+
+  private final MutantsAction mutantsAction;
+
+  public PitestWebService() {
+    this(new MutantsAction(new FileMutantsCache(FileMutantsCache.DEFAULT_MAX_BYTES)));
+  }
+
+  PitestWebService(MutantsAction mutantsAction) {
+    this.mutantsAction = mutantsAction;
+  }
+
+  @Override
+  public void define(Context context) {
+    NewController controller = context.createController(CONTROLLER)
+      .setDescription("Mutation analysis results")
+      .setSince("1.0");
+    mutantsAction.define(controller);
+    controller.done();
+  }
+}
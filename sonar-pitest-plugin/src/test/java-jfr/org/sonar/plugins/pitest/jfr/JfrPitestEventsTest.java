@@ -0,0 +1,86 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.jfr;
+
+import java.io.File;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.pitest.PitestEvents;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JfrPitestEventsTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_load_jfr_events() {
+    assertThat(PitestEvents.get()).isInstanceOf(JfrPitestEvents.class);
+  }
+
+  @Test
+  public void should_commit_events_of_enabled_types() throws Exception {
+    // given
+    PitestEvents events = new JfrPitestEvents();
+    File dump = temporaryFolder.newFile("pitest.jfr");
+
+    // when
+    try (Recording recording = new Recording()) {
+      recording.enable("org.sonar.pitest.ReportParse");
+      recording.enable("org.sonar.pitest.FileProcessing");
+      recording.disable("org.sonar.pitest.Compute");
+      recording.start();
+      try (PitestEvents.Scope scope = events.reportParse("mutations.xml")) {
+        scope.bytes(42L);
+        scope.mutants(7L);
+      }
+      try (PitestEvents.Scope scope = events.fileProcessing("com/foo/Bar.java")) {
+        scope.mutants(5L);
+        scope.issues(2L);
+        scope.measures(9L);
+      }
+      try (PitestEvents.Scope scope = events.compute("com.foo:bar")) {
+        assertThat(scope).isSameAs(PitestEvents.NOOP_SCOPE);
+      }
+      recording.stop();
+      recording.dump(dump.toPath());
+    }
+
+    // then
+    List<RecordedEvent> recorded = RecordingFile.readAllEvents(dump.toPath()).stream()
+      .filter(event -> event.getEventType().getName().startsWith("org.sonar.pitest."))
+      .collect(Collectors.toList());
+    assertThat(recorded).hasSize(2);
+    RecordedEvent parse = recorded.stream().filter(event -> event.getEventType().getName().equals("org.sonar.pitest.ReportParse")).findFirst().get();
+    assertThat(parse.getString("report")).isEqualTo("mutations.xml");
+    assertThat(parse.getLong("bytes")).isEqualTo(42L);
+    assertThat(parse.getLong("mutants")).isEqualTo(7L);
+    RecordedEvent file = recorded.stream().filter(event -> event.getEventType().getName().equals("org.sonar.pitest.FileProcessing")).findFirst().get();
+    assertThat(file.getLong("issues")).isEqualTo(2L);
+    assertThat(file.getLong("measures")).isEqualTo(9L);
+  }
+}
@@ -0,0 +1,100 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sonar.api.ce.measure.Measure;
+import org.sonar.api.ce.measure.MeasureComputer.MeasureComputerDefinition;
+import org.sonar.api.ce.measure.test.TestMeasureComputerContext;
+import org.sonar.api.ce.measure.test.TestMeasureComputerDefinitionContext;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Runs the computer bottom-up on a deep synthetic component tree, the way the Compute Engine does.
+ * Skipped unless run with -Dpitest.benchmark=true; the tree size can be raised with -Dpitest.benchmark.depth and
+ * -Dpitest.benchmark.fanOut.
+ */
+public class PitestComputerBenchmarkTest {
+
+  private static final int DEPTH = Integer.getInteger("pitest.benchmark.depth", 6);
+  private static final int FAN_OUT = Integer.getInteger("pitest.benchmark.fanOut", 4);
+  private static final int KILLED_PER_FILE = 3;
+  private static final int SURVIVED_PER_FILE = 1;
+
+  private static final Logger LOG = Loggers.get(PitestComputerBenchmarkTest.class);
+
+  private final PitestComputer computer = new PitestComputer();
+  private final MeasureComputerDefinition definition = computer.define(new TestMeasureComputerDefinitionContext());
+  private int components = 0;
+
+  @BeforeClass
+  public static void runOnlyOnDemand() {
+    assumeTrue(Boolean.getBoolean("pitest.benchmark"));
+  }
+
+  @Test
+  public void should_aggregate_deep_component_tree() {
+    // given
+    long files = (long) Math.pow(FAN_OUT, DEPTH);
+
+    // when
+    long start = System.nanoTime();
+    TestMeasureComputerContext root = compute(DEPTH);
+    long elapsed = System.nanoTime() - start;
+
+    // then
+    assertThat((long) root.getMeasure(PitestMetrics.MUTATIONS_KILLED_KEY).getIntValue()).isEqualTo(files * KILLED_PER_FILE);
+    assertThat((long) root.getMeasure(PitestMetrics.MUTATIONS_SURVIVED_KEY).getIntValue()).isEqualTo(files * SURVIVED_PER_FILE);
+    assertThat((long) root.getMeasure(PitestMetrics.MUTATIONS_GENERATED_KEY).getIntValue()).isEqualTo(files * (KILLED_PER_FILE + SURVIVED_PER_FILE));
+    assertThat(root.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_KEY).getDoubleValue()).isEqualTo(75d);
+    LOG.info("PitestComputer: {} components aggregated in {} ms", components, elapsed / 1_000_000);
+  }
+
+  private TestMeasureComputerContext compute(int depth) {
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, definition);
+    components++;
+    if (depth == 0) {
+      context.addMeasure(PitestMetrics.MUTATIONS_KILLED_KEY, KILLED_PER_FILE);
+      context.addMeasure(PitestMetrics.MUTATIONS_SURVIVED_KEY, SURVIVED_PER_FILE);
+      context.addMeasure(PitestMetrics.MUTATIONS_GENERATED_KEY, KILLED_PER_FILE + SURVIVED_PER_FILE);
+    } else {
+      TestMeasureComputerContext[] children = new TestMeasureComputerContext[FAN_OUT];
+      for (int i = 0; i < FAN_OUT; i++) {
+        children[i] = compute(depth - 1);
+      }
+      for (String key : new String[] {PitestMetrics.MUTATIONS_NOT_COVERED_KEY, PitestMetrics.MUTATIONS_GENERATED_KEY, PitestMetrics.MUTATIONS_KILLED_KEY,
+        PitestMetrics.MUTATIONS_SURVIVED_KEY, PitestMetrics.MUTATIONS_ERROR_KEY, PitestMetrics.MUTATIONS_UNKNOWN_KEY}) {
+        Integer[] values = new Integer[FAN_OUT];
+        for (int i = 0; i < FAN_OUT; i++) {
+          Measure measure = children[i].getMeasure(key);
+          values[i] = measure == null ? 0 : measure.getIntValue();
+        }
+        context.addChildrenMeasures(key, values);
+      }
+    }
+    computer.compute(context);
+    return context;
+  }
+}
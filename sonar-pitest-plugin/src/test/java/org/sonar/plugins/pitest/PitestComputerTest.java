@@ -0,0 +1,227 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest;
+
+import org.junit.Test;
+import org.sonar.api.ce.measure.Component;
+import org.sonar.api.ce.measure.MeasureComputer.MeasureComputerDefinition;
+import org.sonar.api.ce.measure.Settings;
+import org.sonar.api.ce.measure.test.TestMeasureComputerContext;
+import org.sonar.api.ce.measure.test.TestMeasureComputerDefinitionContext;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.Mutator;
+import org.sonar.plugins.pitest.domain.MutatorDistribution;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+public class PitestComputerTest {
+
+  @Test
+  public void definition_should_have_no_input_metrics_sixteen_output_metrics() {
+    // given
+    TestMeasureComputerDefinitionContext context = new TestMeasureComputerDefinitionContext();
+    PitestComputer computer = new PitestComputer();
+
+    // when
+    MeasureComputerDefinition def = computer.define(context);
+
+    // then
+    assertThat(def).isNotNull();
+    assertThat(def.getInputMetrics()).isEmpty();
+    assertThat(def.getOutputMetrics()).containsOnly("pitest_mutations_noCoverage", "pitest_mutations_total", "pitest_mutations_killed", "pitest_mutations_survived",
+      "pitest_mutations_error", "pitest_mutations_unknown", "pitest_mutations_data", "pitest_mutations_killed_percent",
+      "pitest_mutations_added", "pitest_mutations_removed", "pitest_mutations_status_changed", "pitest_mutations_by_mutator",
+      "pitest_worst_method_killed_percent", "pitest_mutations_population", "pitest_mutations_killed_percent_low",
+      "pitest_mutations_killed_percent_high");
+
+  }
+
+  @Test
+  public void top_level_measures_are_preserved() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    MeasureComputerDefinition measureComputerDefinition = sut.define(new TestMeasureComputerDefinitionContext());
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, measureComputerDefinition);
+    context.addMeasure("pitest_mutations_killed", 3);
+
+    // when
+    sut.compute(context);
+
+    // then
+    assertThat(context.getMeasure("pitest_mutations_killed").getIntValue()).isEqualTo(3);
+
+  }
+
+  @Test
+  public void children_measures_are_calculated_for_integer_metrics() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    MeasureComputerDefinition measureComputerDefinition = sut.define(new TestMeasureComputerDefinitionContext());
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, measureComputerDefinition);
+    context.addChildrenMeasures("pitest_mutations_killed", 3, 5, 7, 9);
+
+    // when
+    sut.compute(context);
+
+    // then
+    assertThat(context.getMeasure("pitest_mutations_killed").getIntValue()).isEqualTo(24);
+
+  }
+
+  @Test
+  public void diff_measures_are_calculated_only_from_children_having_them() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, sut.define(new TestMeasureComputerDefinitionContext()));
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_ADDED_KEY, 2, 1);
+
+    // when
+    sut.compute(context);
+
+    // then
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_ADDED_KEY).getIntValue()).isEqualTo(3);
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_REMOVED_KEY)).isNull();
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_STATUS_CHANGED_KEY)).isNull();
+  }
+
+  @Test
+  public void diff_measures_are_not_saved_without_base_report() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, sut.define(new TestMeasureComputerDefinitionContext()));
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_GENERATED_KEY, 4, 6);
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_KILLED_KEY, 3, 5);
+
+    // when
+    sut.compute(context);
+
+    // then
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_GENERATED_KEY).getIntValue()).isEqualTo(10);
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_ADDED_KEY)).isNull();
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_REMOVED_KEY)).isNull();
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_STATUS_CHANGED_KEY)).isNull();
+  }
+
+  
+  @Test
+  public void calculateCoveragePercent() {
+    // given
+    PitestComputer coverageComputer = new PitestComputer();
+    TestMeasureComputerDefinitionContext defContext = new TestMeasureComputerDefinitionContext();
+    TestMeasureComputerContext context = new TestMeasureComputerContext(mock(Component.class), mock(Settings.class), coverageComputer.define(defContext));
+    context.addMeasure(PitestMetrics.MUTATIONS_GENERATED_KEY, 10);
+    context.addMeasure(PitestMetrics.MUTATIONS_KILLED_KEY, 2);
+
+    // when
+    coverageComputer.compute(context);
+
+    // then
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_KEY).getDoubleValue()).isEqualTo(20);
+
+  }
+
+  @Test
+  public void children_mutator_distributions_are_merged() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, sut.define(new TestMeasureComputerDefinitionContext()));
+    MutatorDistribution first = new MutatorDistribution();
+    first.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.SURVIVED).build());
+    MutatorDistribution second = new MutatorDistribution();
+    second.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.SURVIVED).build());
+    second.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.KILLED).build());
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_BY_MUTATOR_KEY, first.encode(), second.encode());
+
+    // when
+    sut.compute(context);
+
+    // then
+    MutatorDistribution merged = MutatorDistribution.decode(context.getMeasure(PitestMetrics.MUTATIONS_BY_MUTATOR_KEY).getStringValue());
+    assertThat(merged.count(Mutator.MATH, MutantStatus.SURVIVED)).isEqualTo(2);
+    assertThat(merged.count(Mutator.MATH, MutantStatus.KILLED)).isEqualTo(1);
+  }
+
+  @Test
+  public void worst_method_is_the_worst_of_children() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, sut.define(new TestMeasureComputerDefinitionContext()));
+    context.addChildrenMeasures(PitestMetrics.WORST_METHOD_KILLED_PERCENT_KEY, 80d, 25d, 100d);
+
+    // when
+    sut.compute(context);
+
+    // then
+    assertThat(context.getMeasure(PitestMetrics.WORST_METHOD_KILLED_PERCENT_KEY).getDoubleValue()).isEqualTo(25d);
+  }
+
+  @Test
+  public void worst_method_is_not_computed_without_children() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, sut.define(new TestMeasureComputerDefinitionContext()));
+
+    // when
+    sut.compute(context);
+
+    // then
+    assertThat(context.getMeasure(PitestMetrics.WORST_METHOD_KILLED_PERCENT_KEY)).isNull();
+  }
+
+  @Test
+  public void confidence_interval_is_computed_for_sampled_run() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, sut.define(new TestMeasureComputerDefinitionContext()));
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_GENERATED_KEY, 40, 60);
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_KILLED_KEY, 20, 40);
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_POPULATION_KEY, 400, 600);
+
+    // when
+    sut.compute(context);
+
+    // then
+    // 60 killed out of a sample of 100 mutants among 1000
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_POPULATION_KEY).getIntValue()).isEqualTo(1000);
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_KEY).getDoubleValue()).isEqualTo(60d);
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_LOW_KEY).getDoubleValue()).isCloseTo(50.70, within(0.01));
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_HIGH_KEY).getDoubleValue()).isCloseTo(68.63, within(0.01));
+  }
+
+  @Test
+  public void confidence_interval_is_not_computed_for_full_run() {
+    // given
+    PitestComputer sut = new PitestComputer();
+    TestMeasureComputerContext context = new TestMeasureComputerContext(null, null, sut.define(new TestMeasureComputerDefinitionContext()));
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_GENERATED_KEY, 40, 60);
+    context.addChildrenMeasures(PitestMetrics.MUTATIONS_KILLED_KEY, 20, 40);
+
+    // when
+    sut.compute(context);
+
+    // then
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_POPULATION_KEY)).isNull();
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_LOW_KEY)).isNull();
+    assertThat(context.getMeasure(PitestMetrics.MUTATIONS_KILLED_PERCENT_HIGH_KEY)).isNull();
+  }
+}
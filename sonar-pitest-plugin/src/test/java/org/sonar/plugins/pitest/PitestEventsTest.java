@@ -0,0 +1,60 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PitestEventsTest {
+
+  @Test
+  public void noop_events_should_be_disabled() {
+    // given
+    PitestEvents events = PitestEvents.NOOP;
+
+    // when
+    PitestEvents.Scope scope = events.reportParse("mutations.xml");
+    scope.bytes(42L);
+    scope.mutants(7L);
+    scope.close();
+
+    // then
+    assertThat(scope).isSameAs(PitestEvents.NOOP_SCOPE);
+    assertThat(events.reportDiscovery("target/pit-reports")).isSameAs(PitestEvents.NOOP_SCOPE);
+    assertThat(events.fileProcessing("src/main/java/Maze.java")).isSameAs(PitestEvents.NOOP_SCOPE);
+    assertThat(events.compute("com.foo:bar")).isSameAs(PitestEvents.NOOP_SCOPE);
+    assertThat(scope.isEnabled()).isFalse();
+  }
+
+  @Test
+  public void events_should_be_disabled_without_recording() {
+    // given
+    PitestEvents events = PitestEvents.get();
+
+    // when
+    PitestEvents.Scope scope = events.fileProcessing("src/main/java/Maze.java");
+    scope.close();
+
+    // then
+    assertThat(events).isNotNull();
+    assertThat(scope.isEnabled()).isFalse();
+  }
+}
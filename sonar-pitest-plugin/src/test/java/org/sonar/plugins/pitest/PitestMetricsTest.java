@@ -50,7 +50,7 @@ public class PitestMetricsTest {
     List<Metric> metrics = new PitestMetrics().getMetrics();
 
     // then
-    assertThat(metrics).hasSize(8);
+    assertThat(metrics).hasSize(16);
   }
 
 }
@@ -21,6 +21,8 @@ package org.sonar.plugins.pitest;
 
 import java.util.List;
 import org.junit.Test;
+import org.sonar.api.server.debt.DebtRemediationFunction;
+import org.sonar.api.server.rule.RuleParamType;
 import org.sonar.api.server.rule.RulesDefinition;
 import org.sonar.api.server.rule.RulesDefinition.Repository;
 import org.sonar.api.server.rule.RulesDefinition.Rule;
@@ -47,7 +49,7 @@ public class PitestRulesDefinitionTest {
   }
 
   @Test
-  public void pitestRepositoryContainsTwo_Rules() {
+  public void pitestRepositoryContainsFour_Rules() {
     // given
     RulesDefinition.Context context = createContext();
     PitestRulesDefinition rulesDefinition = new PitestRulesDefinition();
@@ -57,7 +59,7 @@ public class PitestRulesDefinitionTest {
     Repository repository = context.repository(PitestConstants.REPOSITORY_KEY);
 
     // then
-    assertThat(repository.rules()).hasSize(2);
+    assertThat(repository.rules()).hasSize(4);
   }
 
   @Test
@@ -77,6 +79,54 @@ public class PitestRulesDefinitionTest {
 
   }
 
+  @Test
+  public void survivedMutantRuleEffortScalesWithGap() {
+    // given
+    RulesDefinition.Context context = createContext();
+    PitestRulesDefinition rulesDefinition = new PitestRulesDefinition();
+
+    // when
+    rulesDefinition.define(context);
+    Rule rule = context.repository(PitestConstants.REPOSITORY_KEY).rule(PitestConstants.SURVIVED_MUTANT_RULE_KEY);
+
+    // then
+    assertThat(rule.debtRemediationFunction().type()).isEqualTo(DebtRemediationFunction.Type.LINEAR_OFFSET);
+    assertThat(rule.debtRemediationFunction().gapMultiplier()).isEqualTo("5min");
+    assertThat(rule.debtRemediationFunction().baseEffort()).isEqualTo("5min");
+    assertThat(rule.gapDescription()).isNotEmpty();
+  }
+
+  @Test
+  public void methodHotspotRuleLimitsMethodsPerFile() {
+    // given
+    RulesDefinition.Context context = createContext();
+    PitestRulesDefinition rulesDefinition = new PitestRulesDefinition();
+
+    // when
+    rulesDefinition.define(context);
+    Rule rule = context.repository(PitestConstants.REPOSITORY_KEY).rule(PitestConstants.METHOD_HOTSPOT_RULE_KEY);
+
+    // then
+    assertThat(rule.param(PitestConstants.MAX_METHODS_PARAM).defaultValue()).isEqualTo("3");
+    assertThat(rule.debtRemediationFunction().type()).isEqualTo(DebtRemediationFunction.Type.LINEAR);
+  }
+
+  @Test
+  public void insufficientMutationCoverageRuleAcceptsThresholdsByPrefix() {
+    // given
+    RulesDefinition.Context context = createContext();
+    PitestRulesDefinition rulesDefinition = new PitestRulesDefinition();
+
+    // when
+    rulesDefinition.define(context);
+    Rule rule = context.repository(PitestConstants.REPOSITORY_KEY).rule(PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY);
+
+    // then
+    assertThat(rule.param(PitestConstants.COVERAGE_RATIO_PARAM).defaultValue()).isEqualTo("65");
+    assertThat(rule.param(PitestConstants.COVERAGE_RATIO_BY_PREFIX_PARAM).type()).isEqualTo(RuleParamType.TEXT);
+    assertThat(rule.param(PitestConstants.COVERAGE_RATIO_BY_PREFIX_PARAM).defaultValue()).isNull();
+  }
+
   private RulesDefinition.Context createContext() {
     RulesDefinition.Context context = new RulesDefinition.Context();
     return context;
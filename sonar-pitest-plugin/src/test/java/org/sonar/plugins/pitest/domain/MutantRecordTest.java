@@ -0,0 +1,65 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MutantRecordTest {
+
+  @Test
+  public void should_parse_formatted_mutant() {
+    // given
+    Mutant mutant = new TestMutantBuilder().detected(true).mutantStatus(MutantStatus.KILLED).className("com.foo.Bar").sourceFile("Bar.java")
+      .mutatedMethod("compute").methodDescription("(I)I").lineNumber(42).mutator(Mutator.MATH).index(3).block(2)
+      .killingTest("com.foo.BarTest.test").description("Replaced integer addition with subtraction").build();
+
+    // when
+    String record = MutantRecord.format(mutant);
+    Mutant parsed = MutantRecord.parse(record);
+
+    // then
+    assertThat(record).doesNotContain("\n");
+    assertThat(parsed).isEqualToComparingFieldByFieldRecursively(mutant);
+  }
+
+  @Test
+  public void should_escape_separators_and_keep_null_values() {
+    // given
+    Mutant mutant = new TestMutantBuilder().className("com.foo.Bar").sourceFile("Bar.java").killingTest(null)
+      .description("tab\there,\nnew line and \\0 backslash").build();
+
+    // when
+    String record = MutantRecord.format(mutant);
+    Mutant parsed = MutantRecord.parse(record);
+
+    // then
+    assertThat(record).doesNotContain("\n");
+    assertThat(record.split("\t", -1)).hasSize(12);
+    assertThat(parsed.description).isEqualTo(mutant.description);
+    assertThat(parsed.killingTest).isNull();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void should_fail_on_truncated_record() {
+    MutantRecord.parse("true\tKILLED\tcom.foo.Bar");
+  }
+}
@@ -55,6 +55,19 @@ public class MutantTest {
     assertThat(path).isEqualTo("A constructor call has been removed without breaking the tests [description]");
   }
 
+  @Test
+  public void verify_mutator_key() {
+    // given
+    String unknownMutatorKey = "org.pitest.mutationtest.engine.gregor.mutators.rv.ROR1Mutator";
+    // when
+    Mutant known = new TestMutantBuilder().mutator(Mutator.MATH).build();
+    Mutant unknown = new TestMutantBuilder().mutator(unknownMutatorKey).build();
+    // then
+    assertThat(known.mutatorKey()).isEqualTo(Mutator.MATH.getKey());
+    assertThat(unknown.mutator).isEqualTo(Mutator.UNKNOWN);
+    assertThat(unknown.mutatorKey()).isEqualTo(unknownMutatorKey);
+  }
+
   @Test
   public void verify_json() {
     // given
@@ -0,0 +1,86 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+public class MutationScoreEstimateTest {
+
+  @Test
+  public void should_estimate_coverage_with_finite_population_correction() {
+    // when
+    MutationScoreEstimate estimate = MutationScoreEstimate.of(60, 100, 1000);
+
+    // then
+    // Wilson score interval with z^2 scaled by 900 / 999
+    assertThat(estimate.getPercent()).isEqualTo(60d);
+    assertThat(estimate.getLow()).isCloseTo(50.70, within(0.01));
+    assertThat(estimate.getHigh()).isCloseTo(68.63, within(0.01));
+  }
+
+  @Test
+  public void should_have_no_width_when_all_mutants_are_analysed() {
+    // when
+    MutationScoreEstimate estimate = MutationScoreEstimate.of(60, 100, 100);
+
+    // then
+    assertThat(estimate.getLow()).isEqualTo(60d);
+    assertThat(estimate.getHigh()).isEqualTo(60d);
+  }
+
+  @Test
+  public void should_keep_interval_within_bounds_when_all_sampled_mutants_are_killed() {
+    // when
+    MutationScoreEstimate estimate = MutationScoreEstimate.of(20, 20, 1000);
+
+    // then
+    assertThat(estimate.getPercent()).isEqualTo(100d);
+    assertThat(estimate.getHigh()).isCloseTo(100d, within(1e-9));
+    assertThat(estimate.getLow()).isCloseTo(84.15, within(0.01));
+  }
+
+  @Test
+  public void should_keep_interval_within_bounds_when_no_sampled_mutant_is_killed() {
+    // when
+    MutationScoreEstimate estimate = MutationScoreEstimate.of(0, 20, 1000);
+
+    // then
+    assertThat(estimate.getLow()).isZero();
+    assertThat(estimate.getHigh()).isCloseTo(15.85, within(0.01));
+  }
+
+  @Test
+  public void should_reject_empty_sample() {
+    assertThatThrownBy(() -> MutationScoreEstimate.of(0, 0, 1000)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void should_compute_required_sample_size() {
+    assertThat(MutationScoreEstimate.requiredSampleSize(1000, 5d)).isEqualTo(278);
+    assertThat(MutationScoreEstimate.requiredSampleSize(100_000, 5d)).isEqualTo(383);
+    assertThat(MutationScoreEstimate.requiredSampleSize(100_000, 10d)).isEqualTo(96);
+    assertThat(MutationScoreEstimate.requiredSampleSize(50, 5d)).isEqualTo(45);
+    assertThat(MutationScoreEstimate.requiredSampleSize(0, 5d)).isZero();
+  }
+}
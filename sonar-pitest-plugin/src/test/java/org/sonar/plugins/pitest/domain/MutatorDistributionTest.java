@@ -0,0 +1,128 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.domain;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MutatorDistributionTest {
+
+  @Test
+  public void should_count_mutants_per_mutator_and_status() {
+    // given
+    MutatorDistribution distribution = new MutatorDistribution();
+
+    // when
+    distribution.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.KILLED).build());
+    distribution.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.KILLED).build());
+    distribution.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.SURVIVED).build());
+    distribution.add(new TestMutantBuilder().mutator(Mutator.NULL_RETURNS).mutantStatus(MutantStatus.NO_COVERAGE).build());
+
+    // then
+    assertThat(distribution.count(Mutator.MATH, MutantStatus.KILLED)).isEqualTo(2);
+    assertThat(distribution.count(Mutator.MATH, MutantStatus.SURVIVED)).isEqualTo(1);
+    assertThat(distribution.count(Mutator.MATH)).isEqualTo(3);
+    assertThat(distribution.count(Mutator.NULL_RETURNS, MutantStatus.NO_COVERAGE)).isEqualTo(1);
+    assertThat(distribution.count(Mutator.INCREMENTS)).isZero();
+  }
+
+  @Test
+  public void encoded_distribution_should_decode_to_same_counts() {
+    // given
+    MutatorDistribution distribution = new MutatorDistribution();
+    distribution.add(new TestMutantBuilder().mutator(Mutator.UNKNOWN).mutantStatus(MutantStatus.UNKNOWN).build());
+    distribution.add(new TestMutantBuilder().mutator(Mutator.INVERT_NEGS).mutantStatus(MutantStatus.NO_COVERAGE).build());
+
+    // when
+    String encoded = distribution.encode();
+    MutatorDistribution decoded = MutatorDistribution.decode(encoded);
+
+    // then
+    assertThat(decoded.count(Mutator.UNKNOWN, MutantStatus.UNKNOWN)).isEqualTo(1);
+    assertThat(decoded.count(Mutator.INVERT_NEGS, MutantStatus.NO_COVERAGE)).isEqualTo(1);
+    assertThat(decoded.encode()).isEqualTo(encoded);
+  }
+
+  @Test
+  public void should_merge_distributions() {
+    // given
+    MutatorDistribution first = new MutatorDistribution();
+    first.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.KILLED).build());
+    MutatorDistribution second = new MutatorDistribution();
+    second.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.KILLED).build());
+
+    // when
+    first.merge(second);
+    first.mergeEncoded(second.encode());
+
+    // then
+    assertThat(first.count(Mutator.MATH, MutantStatus.KILLED)).isEqualTo(3);
+  }
+
+  @Test
+  public void should_encode_non_zero_counts_by_mutator_and_status_names() {
+    // given
+    MutatorDistribution distribution = new MutatorDistribution();
+    distribution.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.KILLED).build());
+    distribution.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.KILLED).build());
+    distribution.add(new TestMutantBuilder().mutator(Mutator.MATH).mutantStatus(MutantStatus.SURVIVED).build());
+
+    // when
+    String encoded = distribution.encode();
+
+    // then
+    assertThat(encoded).isEqualTo("MATH:KILLED=2,MATH:SURVIVED=1");
+  }
+
+  @Test
+  public void empty_distribution_should_be_encoded_as_empty_string() {
+    // given
+    MutatorDistribution distribution = new MutatorDistribution();
+
+    // when
+    String encoded = distribution.encode();
+
+    // then
+    assertThat(distribution.isEmpty()).isTrue();
+    assertThat(encoded).isEmpty();
+    assertThat(MutatorDistribution.decode(encoded).isEmpty()).isTrue();
+  }
+
+  @Test
+  public void should_ignore_mutators_and_statuses_unknown_to_this_version() {
+    // when
+    MutatorDistribution distribution = MutatorDistribution.decode("MATH:KILLED=2,NEW_MUTATOR:KILLED=5,MATH:NEW_STATUS=7");
+
+    // then
+    assertThat(distribution.count(Mutator.MATH)).isEqualTo(2);
+    assertThat(distribution.encode()).isEqualTo("MATH:KILLED=2");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void should_reject_pair_without_count() {
+    MutatorDistribution.decode("MATH:KILLED");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void should_reject_invalid_characters() {
+    MutatorDistribution.decode("MATH:KILLED=1x");
+  }
+}
@@ -27,8 +27,9 @@ public class TestMutantBuilder {
   private boolean detected = true;
   private MutantStatus mutantStatus = MutantStatus.values()[ThreadLocalRandom.current().nextInt(0, 4)];
   private TestMutantLocationBuilder mutantLocationBuilder = new TestMutantLocationBuilder();
-  private Mutator mutator = Mutator.values()[ThreadLocalRandom.current().nextInt(0, mutatorKeyLength)];
+  private String mutatorKey = Mutator.values()[ThreadLocalRandom.current().nextInt(0, mutatorKeyLength)].getKey();
   private int index = ThreadLocalRandom.current().nextInt(0, 10);
+  private int block = Mutant.UNKNOWN_BLOCK;
   private String killingTest = null;
   private String description = random("description");
 
@@ -68,12 +69,12 @@ public class TestMutantBuilder {
   }
 
   public TestMutantBuilder mutator(Mutator mutator) {
-    this.mutator = mutator;
+    this.mutatorKey = mutator.getKey();
     return this;
   }
 
   public TestMutantBuilder mutator(String mutatorStr) {
-    this.mutator = Mutator.parse(mutatorStr);
+    this.mutatorKey = mutatorStr;
     return this;
   }
 
@@ -82,6 +83,11 @@ public class TestMutantBuilder {
     return this;
   }
 
+  public TestMutantBuilder block(int block) {
+    this.block = block;
+    return this;
+  }
+
   public TestMutantBuilder killingTest(String killingTest) {
     this.killingTest = killingTest;
     return this;
@@ -98,7 +104,7 @@ public class TestMutantBuilder {
         killingTest = random("killingtest");
       }
     }
-    return new Mutant(detected, mutantStatus, mutantLocationBuilder.build(), mutator.getKey(), index, description, killingTest);
+    return new Mutant(detected, mutantStatus, mutantLocationBuilder.build(), mutatorKey, index, block, description, killingTest);
   }
 
   private static String random(String in) {
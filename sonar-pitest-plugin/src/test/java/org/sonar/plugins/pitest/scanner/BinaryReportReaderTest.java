@@ -0,0 +1,191 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.Mutator;
+import org.sonar.plugins.pitest.listener.BinaryReportWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class BinaryReportReaderTest {
+  private static final String MODULE_BASE_DIR = "src/test/resources/xml-report-parser-test";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_read_all_mutants() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    int skipped = new BinaryReportReader(false, MutantExclusions.NONE).read(new File(MODULE_BASE_DIR, "mutations.bin"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(skipped).isZero();
+    assertThat(mutants).extracting(Mutant::sourceRelativePath).containsExactly("com/foo/Bar.java", "com/foo/Bar.java", "com/foo/bar/Baz.java");
+    Mutant killed = mutants.get(0);
+    assertThat(killed.detected).isTrue();
+    assertThat(killed.mutantStatus).isEqualTo(MutantStatus.KILLED);
+    assertThat(killed.mutator).isEqualTo(Mutator.MATH);
+    assertThat(killed.index).isEqualTo(7);
+    assertThat(killed.block).isZero();
+    assertThat(killed.killingTest).isEqualTo("com.foo.BarTest.should_compute(com.foo.BarTest)");
+    assertThat(killed.description).isEqualTo("Replaced integer addition with subtraction");
+    assertThat(killed.mutantLocation.mutatedMethod).isEqualTo("compute");
+    assertThat(killed.mutantLocation.methodDescription).isEqualTo("(I)I");
+    assertThat(killed.lineNumber()).isEqualTo(10);
+    Mutant survived = mutants.get(1);
+    assertThat(survived.detected).isFalse();
+    assertThat(survived.mutantStatus).isEqualTo(MutantStatus.SURVIVED);
+    assertThat(survived.block).isEqualTo(1);
+    assertThat(survived.killingTest).isNull();
+  }
+
+  @Test
+  public void should_skip_mutants_of_filtered_source_files() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    int skipped = new BinaryReportReader(false, MutantExclusions.NONE).read(new File(MODULE_BASE_DIR, "mutations.bin"), "com/foo/bar/Baz.java"::equals, mutants::add);
+
+    // then
+    assertThat(skipped).isEqualTo(2);
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(5);
+  }
+
+  @Test
+  public void should_skip_excluded_mutants() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+    MutantExclusions exclusions = MutantExclusions.of(new String[0], new String[] {"**/bar/**"}, new String[] {"MATH"});
+
+    // when
+    int skipped = new BinaryReportReader(false, exclusions).read(new File(MODULE_BASE_DIR, "mutations.bin"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(skipped).isEqualTo(2);
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(12);
+  }
+
+  @Test
+  public void should_keep_mutants_read_before_truncation_if_lenient() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    new BinaryReportReader(true, MutantExclusions.NONE).read(new File(MODULE_BASE_DIR, "mutations-truncated.bin"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10, 12);
+  }
+
+  @Test
+  public void should_reject_truncated_report_if_not_lenient() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-truncated.bin");
+
+    // when
+    Throwable thrown = catchThrowable(() -> new BinaryReportReader(false, MutantExclusions.NONE).read(report, relativePath -> true, mutant -> {
+    }));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageContaining("is truncated");
+  }
+
+  @Test
+  public void should_reject_file_that_is_not_a_binary_report() throws IOException {
+    // given
+    File report = temporaryFolder.newFile("mutations.bin");
+    Files.write(report.toPath(), "<?xml version=\"1.0\"?><mutations/>".getBytes("UTF-8"));
+
+    // when
+    Throwable thrown = catchThrowable(() -> new BinaryReportReader(false, MutantExclusions.NONE).read(report, relativePath -> true, mutant -> {
+    }));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageStartingWith("Not a binary PIT report");
+  }
+
+  @Test
+  public void should_read_report_written_by_the_listener() throws IOException {
+    // given
+    File report = temporaryFolder.newFile("mutations.bin");
+    try (BinaryReportWriter writer = new BinaryReportWriter(new FileOutputStream(report))) {
+      writer.writeMutant("Bar.java", "com.foo.Bar", "compute", "(I)I", 10, "org.pitest.mutationtest.engine.gregor.mutators.MathMutator", 7, 0,
+        "Replaced integer addition with subtraction", "com.foo.BarTest.should_compute(com.foo.BarTest)", "KILLED", true);
+      writer.writeMutant("Bar.java", "com.foo.Bar", "compute", null, 12, "org.pitest.mutationtest.engine.gregor.mutators.ROR1Mutator", 0, 3,
+        "changed conditional boundary", null, "SURVIVED", false);
+    }
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    int skipped = new BinaryReportReader(false, MutantExclusions.NONE).read(report, relativePath -> true, mutants::add);
+
+    // then
+    assertThat(skipped).isZero();
+    assertThat(mutants).hasSize(2);
+    Mutant killed = mutants.get(0);
+    assertThat(killed.sourceRelativePath()).isEqualTo("com/foo/Bar.java");
+    assertThat(killed.detected).isTrue();
+    assertThat(killed.mutantStatus).isEqualTo(MutantStatus.KILLED);
+    assertThat(killed.mutator).isEqualTo(Mutator.MATH);
+    assertThat(killed.index).isEqualTo(7);
+    assertThat(killed.block).isZero();
+    assertThat(killed.killingTest).isEqualTo("com.foo.BarTest.should_compute(com.foo.BarTest)");
+    assertThat(killed.mutantLocation.methodDescription).isEqualTo("(I)I");
+    assertThat(killed.lineNumber()).isEqualTo(10);
+    Mutant survived = mutants.get(1);
+    assertThat(survived.mutantStatus).isEqualTo(MutantStatus.SURVIVED);
+    assertThat(survived.mutatorKey()).isEqualTo("org.pitest.mutationtest.engine.gregor.mutators.ROR1Mutator");
+    assertThat(survived.block).isEqualTo(3);
+    assertThat(survived.mutantLocation.methodDescription).isEmpty();
+    assertThat(survived.killingTest).isNull();
+  }
+
+  @Test
+  public void should_use_the_format_of_the_listener() {
+    assertThat(BinaryReportReader.MAGIC).isEqualTo(BinaryReportWriter.MAGIC);
+    assertThat(BinaryReportReader.VERSION).isEqualTo(BinaryReportWriter.VERSION);
+    assertThat(BinaryReportReader.STRING).isEqualTo(BinaryReportWriter.STRING);
+    assertThat(BinaryReportReader.MUTANT).isEqualTo(BinaryReportWriter.MUTANT);
+    assertThat(BinaryReportReader.END).isEqualTo(BinaryReportWriter.END);
+    assertThat(BinaryReportReader.NONE).isEqualTo(BinaryReportWriter.NONE);
+  }
+
+  @Test
+  public void should_recognize_binary_reports_by_name() {
+    assertThat(BinaryReportReader.isBinaryReport(new File("target/pit-reports/mutations.bin"))).isTrue();
+    assertThat(BinaryReportReader.isBinaryReport(new File("target/pit-reports/mutations.xml"))).isFalse();
+  }
+}
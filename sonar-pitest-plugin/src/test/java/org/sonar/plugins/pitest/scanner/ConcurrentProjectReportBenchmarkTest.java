@@ -0,0 +1,120 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Measures the throughput of {@link ConcurrentProjectReport} with 1 to 32 producers sharing the same mutants, each
+ * producer feeding its own source files as report shards do. Skipped unless run with -Dpitest.benchmark=true; the
+ * number of mutants can be raised with -Dpitest.benchmark.mutants.
+ */
+public class ConcurrentProjectReportBenchmarkTest {
+
+  private static final int MUTANTS = Integer.getInteger("pitest.benchmark.mutants", 320_000);
+  private static final int SOURCE_FILES = 1_000;
+
+  private static final Logger LOG = Loggers.get(ConcurrentProjectReportBenchmarkTest.class);
+
+  @BeforeClass
+  public static void runOnlyOnDemand() {
+    assumeTrue(Boolean.getBoolean("pitest.benchmark"));
+  }
+
+  @Test
+  public void should_accept_mutants_of_1_to_32_producers() throws Exception {
+    // given
+    List<Mutant> mutants = mutants();
+    // warm up
+    produce(mutants, 4);
+
+    for (int producers = 1; producers <= 32; producers *= 2) {
+      // when
+      long start = System.nanoTime();
+      ConcurrentProjectReport report = produce(mutants, producers);
+      ProjectReport snapshot = report.snapshot();
+      long elapsed = System.nanoTime() - start;
+
+      // then
+      assertThat(report.size()).isEqualTo(MUTANTS);
+      assertThat(snapshot.getSourceFileReports()).hasSize(SOURCE_FILES);
+      LOG.info("ConcurrentProjectReport with {} producers: {} mutants in {} ms, {} mutants/ms", producers, MUTANTS, elapsed / 1_000_000,
+        MUTANTS * 1_000_000L / Math.max(1L, elapsed));
+    }
+  }
+
+  private static ConcurrentProjectReport produce(List<Mutant> mutants, int producers) throws Exception {
+    ConcurrentProjectReport report = new ConcurrentProjectReport();
+    ExecutorService executor = Executors.newFixedThreadPool(producers);
+    try {
+      CountDownLatch start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      int sliceSize = (mutants.size() + producers - 1) / producers;
+      for (int from = 0; from < mutants.size(); from += sliceSize) {
+        List<Mutant> slice = mutants.subList(from, Math.min(mutants.size(), from + sliceSize));
+        futures.add(executor.submit(() -> {
+          start.await();
+          slice.forEach(report);
+          return null;
+        }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+    return report;
+  }
+
+  /**
+   * Mutants sorted by source file, so that contiguous slices only share the source files at their boundaries.
+   */
+  private static List<Mutant> mutants() {
+    List<Mutant> mutants = new ArrayList<>(MUTANTS);
+    int mutantsPerSourceFile = MUTANTS / SOURCE_FILES;
+    for (int i = 0; i < MUTANTS; i++) {
+      int sourceFile = i / mutantsPerSourceFile;
+      mutants.add(new TestMutantBuilder()
+        .className("com.foo.Bar" + sourceFile)
+        .sourceFile("Bar" + sourceFile + ".java")
+        .lineNumber(i % mutantsPerSourceFile)
+        .mutantStatus(i % 3 == 0 ? MutantStatus.SURVIVED : MutantStatus.KILLED)
+        .build());
+    }
+    return mutants;
+  }
+}
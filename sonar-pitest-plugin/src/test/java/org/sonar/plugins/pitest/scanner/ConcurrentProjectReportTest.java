@@ -0,0 +1,144 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentProjectReportTest {
+
+  private static final int PRODUCERS = 16;
+  private static final int MUTANTS_PER_PRODUCER = 10_000;
+  private static final int SOURCE_FILES = 50;
+
+  @Test
+  public void should_organize_by_relative_path() {
+    // given
+    ConcurrentProjectReport report = new ConcurrentProjectReport();
+
+    // when
+    report.accept(new TestMutantBuilder().className("com.foo.bar.Toto").sourceFile("Toto.java").mutantStatus(MutantStatus.KILLED).build());
+    report.accept(new TestMutantBuilder().className("com.foo.bar.Toto").sourceFile("Toto.java").mutantStatus(MutantStatus.SURVIVED).build());
+    report.accept(new TestMutantBuilder().className("com.foo.bar.qix.Tata").sourceFile("Tata.java").mutantStatus(MutantStatus.KILLED).build());
+
+    // then
+    Collection<SourceFileReport> sourceFileReports = report.snapshot().getSourceFileReports();
+    assertThat(sourceFileReports).extracting(SourceFileReport::getRelativePath).containsOnly("com/foo/bar/Toto.java", "com/foo/bar/qix/Tata.java");
+    assertThat(sourceFileReports).extracting(SourceFileReport::getMutationsTotal).containsOnly(2, 1);
+    assertThat(report.size()).isEqualTo(3);
+    assertThat(report.count(MutantStatus.KILLED)).isEqualTo(2);
+    assertThat(report.count(MutantStatus.SURVIVED)).isEqualTo(1);
+    assertThat(report.count(MutantStatus.NO_COVERAGE)).isZero();
+  }
+
+  @Test
+  public void should_keep_order_of_single_producer() {
+    // given
+    ConcurrentProjectReport report = new ConcurrentProjectReport();
+
+    // when
+    for (int line = 1; line <= 5; line++) {
+      report.accept(new TestMutantBuilder().className("com.foo.Bar").sourceFile("Bar.java").lineNumber(line).build());
+    }
+
+    // then
+    SourceFileReport sourceFileReport = report.snapshot().getSourceFileReports().iterator().next();
+    assertThat(sourceFileReport.getMutants()).extracting(Mutant::lineNumber).containsExactly(1, 2, 3, 4, 5);
+  }
+
+  @Test
+  public void should_not_lose_mutants_of_concurrent_producers() throws Exception {
+    // given
+    ConcurrentProjectReport report = new ConcurrentProjectReport();
+    List<List<Mutant>> producerMutants = new ArrayList<>();
+    for (int producer = 0; producer < PRODUCERS; producer++) {
+      producerMutants.add(mutants(producer));
+    }
+    ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS);
+    CountDownLatch start = new CountDownLatch(1);
+
+    // when
+    List<Future<?>> producers = new ArrayList<>();
+    for (List<Mutant> mutants : producerMutants) {
+      producers.add(executor.submit(() -> {
+        start.await();
+        mutants.forEach(report);
+        return null;
+      }));
+    }
+    start.countDown();
+    // snapshots taken while producers are running hold whole mutants only
+    while (!allDone(producers)) {
+      for (SourceFileReport sourceFileReport : report.snapshot().getSourceFileReports()) {
+        assertThat(countsOf(sourceFileReport)).isEqualTo(sourceFileReport.getMutationsTotal());
+      }
+    }
+    for (Future<?> producer : producers) {
+      producer.get();
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    ProjectReport snapshot = report.snapshot();
+
+    // then
+    int total = PRODUCERS * MUTANTS_PER_PRODUCER;
+    assertThat(report.size()).isEqualTo(total);
+    assertThat(report.count(MutantStatus.KILLED)).isEqualTo(total / 2);
+    assertThat(report.count(MutantStatus.SURVIVED)).isEqualTo(total / 2);
+    assertThat(snapshot.getSourceFileReports()).hasSize(SOURCE_FILES);
+    assertThat(snapshot.getSourceFileReports()).extracting(SourceFileReport::getMutationsTotal).containsOnly(total / SOURCE_FILES);
+    assertThat(snapshot.getSourceFileReports()).extracting(SourceFileReport::getMutationsKilled).containsOnly(total / SOURCE_FILES / 2);
+  }
+
+  private static List<Mutant> mutants(int producer) {
+    List<Mutant> mutants = new ArrayList<>();
+    for (int i = 0; i < MUTANTS_PER_PRODUCER; i++) {
+      int sourceFile = i % SOURCE_FILES;
+      mutants.add(new TestMutantBuilder()
+        .className("com.foo.Bar" + sourceFile)
+        .sourceFile("Bar" + sourceFile + ".java")
+        .lineNumber(producer * MUTANTS_PER_PRODUCER + i)
+        .mutantStatus((i / SOURCE_FILES) % 2 == 0 ? MutantStatus.KILLED : MutantStatus.SURVIVED)
+        .build());
+    }
+    return mutants;
+  }
+
+  private static boolean allDone(List<Future<?>> futures) {
+    return futures.stream().allMatch(Future::isDone);
+  }
+
+  private static int countsOf(SourceFileReport sourceFileReport) {
+    return sourceFileReport.getMutationsNoCoverage() + sourceFileReport.getMutationsKilled() + sourceFileReport.getMutationsSurvived()
+      + sourceFileReport.getMutationsOther() + sourceFileReport.getMutationsUnknown();
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class CoverageThresholdsTest {
+
+  @Test
+  public void should_apply_longest_matching_prefix() {
+    // given
+    CoverageThresholds thresholds = CoverageThresholds.parse(65, "com.foo=80; com/foo/domain/=90,\n com.foo.generated = 20");
+
+    // when
+    CoverageThresholds.Threshold domain = thresholds.thresholdOf("com/foo/domain/model/Order.java");
+    CoverageThresholds.Threshold generated = thresholds.thresholdOf("com/foo/generated/Stub.java");
+    CoverageThresholds.Threshold foo = thresholds.thresholdOf("com/foo/Bar.java");
+
+    // then
+    assertThat(domain.getValue()).isEqualTo(90);
+    assertThat(domain.getPrefix()).isEqualTo("com/foo/domain/");
+    assertThat(generated.getValue()).isEqualTo(20);
+    assertThat(generated.getPrefix()).isEqualTo("com.foo.generated");
+    assertThat(foo.getValue()).isEqualTo(80);
+    assertThat(foo.getPrefix()).isEqualTo("com.foo");
+  }
+
+  @Test
+  public void should_apply_default_threshold_outside_prefixes() {
+    // given
+    CoverageThresholds thresholds = CoverageThresholds.parse(65, "com.foo=80");
+
+    // when
+    CoverageThresholds.Threshold otherPackage = thresholds.thresholdOf("com/foobar/Bar.java");
+    CoverageThresholds.Threshold defaultPackage = thresholds.thresholdOf("Maze.kt");
+
+    // then
+    assertThat(otherPackage.getValue()).isEqualTo(65);
+    assertThat(otherPackage.getPrefix()).isNull();
+    assertThat(defaultPackage.getValue()).isEqualTo(65);
+    assertThat(CoverageThresholds.parse(50, null).thresholdOf("com/foo/Bar.java").getValue()).isEqualTo(50);
+  }
+
+  @Test
+  public void should_fail_on_invalid_thresholds() {
+    assertThatThrownBy(() -> CoverageThresholds.parse(65, "com.foo"))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageContaining("'com.foo'");
+    assertThatThrownBy(() -> CoverageThresholds.parse(65, "com.foo=high"))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageContaining("integer");
+  }
+}
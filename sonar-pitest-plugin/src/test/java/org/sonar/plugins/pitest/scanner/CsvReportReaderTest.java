@@ -0,0 +1,181 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.Mutator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CsvReportReaderTest {
+  private static final String MODULE_BASE_DIR = "src/test/resources/xml-report-parser-test";
+
+  private final CsvReportReader reader = new CsvReportReader(false, MutantExclusions.NONE);
+
+  @Test
+  public void should_read_pitest_csv_layout() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    int skipped = reader.read(new File(MODULE_BASE_DIR, "mutations.csv"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(skipped).isZero();
+    assertThat(mutants).extracting(Mutant::sourceRelativePath).containsExactly("com/foo/Bar.java", "com/foo/Bar.java", "com/foo/bar/Baz.java");
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10, 12, 5);
+    assertThat(mutants).extracting(mutant -> mutant.mutantStatus).containsExactly(MutantStatus.KILLED, MutantStatus.SURVIVED, MutantStatus.OTHER);
+    assertThat(mutants).extracting(mutant -> mutant.detected).containsExactly(true, false, true);
+    assertThat(mutants).extracting(mutant -> mutant.mutator).containsExactly(Mutator.MATH, Mutator.CONDITIONALS_BOUNDARY, Mutator.VOID_METHOD_CALLS);
+    assertThat(mutants.get(0).killingTest).isEqualTo("com.foo.BarTest.should_compute(com.foo.BarTest)");
+    assertThat(mutants.get(0).mutantLocation.mutatedMethod).isEqualTo("compute");
+    assertThat(mutants.get(0).description).isEqualTo("in compute");
+    assertThat(mutants.get(1).killingTest).isNull();
+  }
+
+  @Test
+  public void should_keep_commas_of_the_killing_test() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    reader.read(new File(MODULE_BASE_DIR, "mutations.csv"), "com/foo/bar/Baz.java"::equals, mutants::add);
+
+    // then
+    assertThat(mutants).extracting(mutant -> mutant.killingTest)
+      .containsExactly("[engine:junit-jupiter]/[class:com.foo.bar.BazTest]/[method:should_run(int, int)]");
+  }
+
+  @Test
+  public void should_reuse_repeated_values() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    reader.read(new File(MODULE_BASE_DIR, "mutations.csv"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(mutants.get(1).mutantLocation.className).isSameAs(mutants.get(0).mutantLocation.className);
+    assertThat(mutants.get(1).mutantLocation.sourceFile).isSameAs(mutants.get(0).mutantLocation.sourceFile);
+  }
+
+  @Test
+  public void should_skip_mutants_of_filtered_source_files() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    int skipped = reader.read(new File(MODULE_BASE_DIR, "mutations.csv"), "com/foo/Bar.java"::equals, mutants::add);
+
+    // then
+    assertThat(skipped).isEqualTo(1);
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10, 12);
+  }
+
+  @Test
+  public void should_skip_excluded_mutants() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+    MutantExclusions exclusions = MutantExclusions.of(new String[] {"Baz"}, new String[0], new String[] {"MATH"});
+
+    // when
+    int skipped = new CsvReportReader(false, exclusions).read(new File(MODULE_BASE_DIR, "mutations.csv"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(skipped).isEqualTo(2);
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(12);
+  }
+
+  @Test
+  public void should_detect_layout_without_mutator() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    reader.read(new File(MODULE_BASE_DIR, "mutations-without-mutator.csv"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(mutants).hasSize(1);
+    assertThat(mutants.get(0).mutator).isEqualTo(Mutator.UNKNOWN);
+    assertThat(mutants.get(0).lineNumber()).isEqualTo(10);
+    assertThat(mutants.get(0).killingTest).isEqualTo("com.foo.BarTest.should_compute(com.foo.BarTest)");
+  }
+
+  @Test
+  public void should_detect_layout_from_header() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    reader.read(new File(MODULE_BASE_DIR, "mutations-with-header.csv"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(mutants).hasSize(1);
+    assertThat(mutants.get(0).sourceRelativePath()).isEqualTo("com/foo/Bar.java");
+    assertThat(mutants.get(0).mutantStatus).isEqualTo(MutantStatus.NO_COVERAGE);
+    assertThat(mutants.get(0).lineNumber()).isEqualTo(7);
+    assertThat(mutants.get(0).killingTest).isNull();
+  }
+
+  @Test
+  public void should_detect_layout_from_first_line_with_unknown_status() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    reader.read(new File(MODULE_BASE_DIR, "mutations-unknown-status.csv"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(mutants).extracting(mutant -> mutant.mutantStatus).containsExactly(MutantStatus.UNKNOWN, MutantStatus.SURVIVED);
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10, 12);
+    assertThat(mutants.get(1).mutator).isEqualTo(Mutator.CONDITIONALS_BOUNDARY);
+  }
+
+  @Test
+  public void should_reject_truncated_report_if_not_lenient() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-truncated.csv");
+
+    // when
+    Throwable thrown = catchThrowable(() -> reader.read(report, relativePath -> true, mutant -> {
+    }));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageContaining("Line 2 of PIT report");
+  }
+
+  @Test
+  public void should_keep_mutants_read_before_truncation_if_lenient() {
+    // given
+    List<Mutant> mutants = new ArrayList<>();
+
+    // when
+    new CsvReportReader(true, MutantExclusions.NONE).read(new File(MODULE_BASE_DIR, "mutations-truncated.csv"), relativePath -> true, mutants::add);
+
+    // then
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10);
+  }
+}
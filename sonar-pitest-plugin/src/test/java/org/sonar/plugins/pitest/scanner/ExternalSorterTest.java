@@ -0,0 +1,84 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExternalSorterTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_sort_in_memory_when_under_limit() throws Exception {
+    // given
+    File workDir = temporaryFolder.newFolder();
+    ExternalSorter sorter = new ExternalSorter(workDir, 10);
+
+    // when
+    sorter.add("c");
+    sorter.add("a");
+    sorter.add("b");
+    List<String> sorted = toList(sorter.sorted());
+
+    // then
+    assertThat(sorted).containsExactly("a", "b", "c");
+    assertThat(sorter.runCount()).isZero();
+    sorter.close();
+  }
+
+  @Test
+  public void should_merge_spilled_runs_and_delete_them_on_close() throws Exception {
+    // given
+    File workDir = temporaryFolder.newFolder();
+    ExternalSorter sorter = new ExternalSorter(workDir, 2);
+
+    // when
+    for (String record : new String[] {"e", "b", "d", "a", "c"}) {
+      sorter.add(record);
+    }
+    List<String> sorted = toList(sorter.sorted());
+
+    // then
+    assertThat(sorted).containsExactly("a", "b", "c", "d", "e");
+    assertThat(sorter.runCount()).isEqualTo(3);
+    sorter.close();
+    assertThat(workDir.listFiles()).isEmpty();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void should_reject_non_positive_limit() throws Exception {
+    new ExternalSorter(temporaryFolder.newFolder(), 0);
+  }
+
+  private static List<String> toList(Iterator<String> iterator) {
+    List<String> list = new ArrayList<>();
+    iterator.forEachRemaining(list::add);
+    return list;
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.Mutator;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class IssueBudgetTest {
+
+  @Test
+  public void should_be_unlimited_without_caps() {
+    assertThat(new IssueBudget(0, 0).isUnlimited()).isTrue();
+    assertThat(new IssueBudget(1, 0).isUnlimited()).isFalse();
+    assertThat(new IssueBudget(0, 1).isUnlimited()).isFalse();
+  }
+
+  @Test
+  public void should_keep_highest_priority_candidates_per_file_and_count_overflow() {
+    // given
+    InputFile inputFile = mock(InputFile.class);
+    IssueBudget budget = new IssueBudget(2, 0);
+    List<IssueCandidate> candidates = Arrays.asList(candidate(inputFile, 1, 1d), candidate(inputFile, 2, 3d), candidate(inputFile, 3, 2d), candidate(inputFile, 4, 0.5));
+    List<IssueCandidate> emitted = new ArrayList<>();
+    Map<InputFile, Integer> overflow = new HashMap<>();
+
+    // when
+    budget.offer(candidates);
+    budget.emit(emitted::add, overflow::put);
+
+    // then
+    assertThat(emitted).extracting(IssueCandidate::getLine).containsExactlyInAnyOrder(2, 3);
+    assertThat(overflow).containsEntry(inputFile, 2);
+  }
+
+  @Test
+  public void should_keep_highest_priority_candidates_across_files() {
+    // given
+    InputFile file1 = mock(InputFile.class);
+    InputFile file2 = mock(InputFile.class);
+    IssueBudget budget = new IssueBudget(0, 2);
+    List<IssueCandidate> emitted = new ArrayList<>();
+    Map<InputFile, Integer> overflow = new HashMap<>();
+
+    // when
+    budget.offer(Arrays.asList(candidate(file1, 1, 5d), candidate(file1, 2, 1d)));
+    budget.offer(Arrays.asList(candidate(file2, 1, 4d), candidate(file2, 2, 0.5)));
+    budget.emit(emitted::add, overflow::put);
+
+    // then
+    assertThat(emitted).extracting(IssueCandidate::getPriority).containsExactly(5d, 4d);
+    assertThat(overflow).containsEntry(file1, 1).containsEntry(file2, 1);
+  }
+
+  @Test
+  public void conditional_mutants_should_have_higher_priority_than_constant_mutants() {
+    // given
+    List<Mutant> conditional = Collections.singletonList(new TestMutantBuilder().mutantStatus(MutantStatus.SURVIVED).mutator(Mutator.NEGATE_CONDITIONALS).build());
+    List<Mutant> constant = Collections.singletonList(new TestMutantBuilder().mutantStatus(MutantStatus.SURVIVED).mutator(Mutator.INLINE_CONSTS).build());
+
+    // when
+    double conditionalPriority = IssueBudget.priority(conditional, 1);
+    double constantPriority = IssueBudget.priority(constant, 1);
+
+    // then
+    assertThat(conditionalPriority).isGreaterThan(constantPriority);
+    assertThat(IssueBudget.priority(constant, 20)).isGreaterThan(constantPriority);
+  }
+
+  private static IssueCandidate candidate(InputFile inputFile, int line, double priority) {
+    Mutant mutant = new TestMutantBuilder().mutantStatus(MutantStatus.SURVIVED).lineNumber(line).build();
+    return new IssueCandidate(inputFile, line, Collections.singletonList(mutant), priority);
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Assertions.entry;
+
+public class LineCoverageParserTest {
+  private static final String MODULE_BASE_DIR = "src/test/resources/line-coverage-test";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final LineCoverageParser parser = new LineCoverageParser();
+
+  @Test
+  public void should_parse_blocks_of_accepted_packages() {
+    // given
+    File lineCoverageFile = new File(MODULE_BASE_DIR, "linecoverage.xml");
+
+    // when
+    LineCoverage lineCoverage = parser.parse(lineCoverageFile, "com.foo"::equals);
+
+    // then
+    assertThat(lineCoverage.blockCount()).isEqualTo(2);
+    assertThat(lineCoverage.lineCount()).isZero();
+    Mutant covered = new TestMutantBuilder().mutantStatus(MutantStatus.SURVIVED).className("com.foo.Bar").mutatedMethod("compute")
+      .methodDescription("(I)I").lineNumber(10).block(0).build();
+    Mutant constructor = new TestMutantBuilder().mutantStatus(MutantStatus.KILLED).className("com.foo.Bar").mutatedMethod("<init>")
+      .methodDescription("()V").lineNumber(5).block(0).build();
+    assertThat(lineCoverage.lineHits(Arrays.asList(covered, constructor))).containsOnly(entry(5, 1), entry(10, 2));
+  }
+
+  @Test
+  public void should_parse_lines_of_older_pitest_versions() {
+    // given
+    File lineCoverageFile = new File(MODULE_BASE_DIR, "linecoverage-lines.xml");
+
+    // when
+    LineCoverage lineCoverage = parser.parse(lineCoverageFile, packageName -> true);
+
+    // then
+    assertThat(lineCoverage.blockCount()).isZero();
+    assertThat(lineCoverage.lineCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void should_reject_invalid_line_coverage() throws IOException {
+    // given
+    File lineCoverageFile = temporaryFolder.newFile("linecoverage.xml");
+    Files.write(lineCoverageFile.toPath(), "<coverage><block classname='com.foo.Bar'".getBytes(StandardCharsets.UTF_8));
+
+    // when
+    Throwable thrown = catchThrowable(() -> parser.parse(lineCoverageFile, packageName -> true));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageContaining("is not valid");
+  }
+}
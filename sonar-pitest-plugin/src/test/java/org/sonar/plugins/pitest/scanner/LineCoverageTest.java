@@ -0,0 +1,91 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Test;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+public class LineCoverageTest {
+
+  @Test
+  public void should_locate_blocks_with_mutants() {
+    // given
+    LineCoverage lineCoverage = new LineCoverage();
+    lineCoverage.addBlock("com.foo.Bar", "compute(I)I", 1, 3);
+    Mutant covered = mutant(MutantStatus.SURVIVED, 10, 1);
+    Mutant notCovered = mutant(MutantStatus.NO_COVERAGE, 12, 2);
+
+    // when
+    // then
+    assertThat(lineCoverage.lineHits(Arrays.asList(covered, notCovered))).containsExactly(entry(10, 3), entry(12, 0));
+  }
+
+  @Test
+  public void should_keep_the_highest_hits_of_a_line() {
+    // given
+    LineCoverage lineCoverage = new LineCoverage();
+    lineCoverage.addBlock("com.foo.Bar", "compute(I)I", 1, 3);
+    Mutant covered = mutant(MutantStatus.KILLED, 10, 1);
+    Mutant sameLineOtherBlock = mutant(MutantStatus.NO_COVERAGE, 10, 2);
+
+    // when
+    // then
+    assertThat(lineCoverage.lineHits(Arrays.asList(sameLineOtherBlock, covered))).containsExactly(entry(10, 3));
+  }
+
+  @Test
+  public void should_add_covered_lines_of_top_level_and_nested_classes() {
+    // given
+    LineCoverage lineCoverage = new LineCoverage();
+    lineCoverage.addLine("com.foo.Bar", 3, 1);
+    lineCoverage.addLine("com.foo.Bar$Inner", 20, 2);
+    lineCoverage.addLine("com.foo.Baz", 7, 1);
+    Mutant notCovered = mutant(MutantStatus.NO_COVERAGE, 12, Mutant.UNKNOWN_BLOCK);
+
+    // when
+    // then
+    assertThat(lineCoverage.lineHits(Collections.singletonList(notCovered))).containsExactly(entry(3, 1), entry(12, 0), entry(20, 2));
+  }
+
+  @Test
+  public void should_cover_lines_of_tested_mutants_without_block() {
+    // given
+    LineCoverage lineCoverage = new LineCoverage();
+    lineCoverage.addBlock("com.foo.Bar", "compute(I)I", 1, 3);
+    Mutant survived = mutant(MutantStatus.SURVIVED, 10, Mutant.UNKNOWN_BLOCK);
+    Mutant notCovered = mutant(MutantStatus.NO_COVERAGE, 12, Mutant.UNKNOWN_BLOCK);
+
+    // when
+    // then
+    assertThat(lineCoverage.lineHits(Arrays.asList(survived, notCovered))).containsExactly(entry(10, 1), entry(12, 0));
+  }
+
+  private static Mutant mutant(MutantStatus status, int line, int block) {
+    return new TestMutantBuilder().mutantStatus(status).className("com.foo.Bar").sourceFile("Bar.java").mutatedMethod("compute")
+      .methodDescription("(I)I").lineNumber(line).block(block).build();
+  }
+}
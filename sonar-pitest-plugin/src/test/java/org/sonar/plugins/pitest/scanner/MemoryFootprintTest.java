@@ -0,0 +1,153 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.openjdk.jol.info.GraphLayout;
+import org.sonar.plugins.pitest.domain.Mutant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Guards the memory used per mutant against the budgets of memory-footprint-test/budgets.properties, so that a change
+ * doubling the footprint of the domain model fails the build instead of the analysis of a large project.
+ */
+public class MemoryFootprintTest {
+
+  private static final int MUTANTS = 20_000;
+  private static final int SOURCE_FILES = 100;
+
+  private static Properties budgets;
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void loadBudgets() throws IOException {
+    budgets = new Properties();
+    try (InputStream input = MemoryFootprintTest.class.getResourceAsStream("/memory-footprint-test/budgets.properties")) {
+      budgets.load(input);
+    }
+  }
+
+  @Test
+  public void mutant_retained_size_should_stay_within_budget() throws IOException {
+    // given
+    Collection<Mutant> mutants = new XmlReportParser().parse(writeReport());
+
+    // when
+    long bytesPerMutant = GraphLayout.parseInstance(mutants.toArray()).totalSize() / MUTANTS;
+
+    // then
+    assertThat(bytesPerMutant).isLessThanOrEqualTo(budget("mutant.retainedBytes"));
+  }
+
+  @Test
+  public void mutant_location_retained_size_should_stay_within_budget() throws IOException {
+    // given
+    Collection<Mutant> mutants = new XmlReportParser().parse(writeReport());
+
+    // when
+    long bytesPerLocation = GraphLayout.parseInstance(mutants.stream().map(mutant -> mutant.mutantLocation).toArray()).totalSize() / MUTANTS;
+
+    // then
+    assertThat(bytesPerLocation).isLessThanOrEqualTo(budget("mutantLocation.retainedBytes"));
+  }
+
+  @Test
+  public void source_file_report_retained_size_should_stay_within_budget() throws IOException {
+    // given
+    Map<String, SourceFileReport> reports = new LinkedHashMap<>();
+    new XmlReportParser().parse(writeReport(), mutant -> reports.computeIfAbsent(mutant.sourceRelativePath(), SourceFileReport::new).addMutant(mutant));
+
+    // when
+    long bytesPerMutant = GraphLayout.parseInstance(reports.values().toArray()).totalSize() / MUTANTS;
+
+    // then
+    assertThat(reports).hasSize(SOURCE_FILES);
+    assertThat(bytesPerMutant)
+      .isLessThanOrEqualTo(budget("sourceFileReport.retainedBytesPerMutant"))
+      .isLessThanOrEqualTo(ReportMemoryEstimate.HEAP_BYTES_PER_MUTANT);
+  }
+
+  @Test
+  public void parser_allocations_should_stay_within_budget() throws IOException {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    assumeTrue(threads instanceof com.sun.management.ThreadMXBean
+      && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()
+      && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemoryEnabled());
+    com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+
+    // given
+    File report = writeReport();
+    XmlReportParser parser = new XmlReportParser();
+    long[] mutants = {0L};
+    // warm up
+    parser.parse(report, mutant -> mutants[0]++);
+    mutants[0] = 0L;
+
+    // when
+    long threadId = Thread.currentThread().getId();
+    long before = allocations.getThreadAllocatedBytes(threadId);
+    parser.parse(report, mutant -> mutants[0]++);
+    long bytesPerMutant = (allocations.getThreadAllocatedBytes(threadId) - before) / MUTANTS;
+
+    // then
+    assertThat(mutants[0]).isEqualTo(MUTANTS);
+    assertThat(bytesPerMutant).isLessThanOrEqualTo(budget("xmlReportParser.allocatedBytesPerMutant"));
+  }
+
+  private static long budget(String key) {
+    return Long.parseLong(budgets.getProperty(key));
+  }
+
+  private File writeReport() throws IOException {
+    File report = temporaryFolder.newFile("mutations.xml");
+    try (Writer writer = Files.newBufferedWriter(report.toPath(), StandardCharsets.UTF_8)) {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<mutations>\n");
+      for (int i = 0; i < MUTANTS; i++) {
+        writer.write("<mutation detected='true' status='KILLED' numberOfTestsRun='3'>"
+          + "<sourceFile>Bar" + (i % SOURCE_FILES) + ".java</sourceFile><mutatedClass>com.foo.Bar" + (i % SOURCE_FILES) + "</mutatedClass>"
+          + "<mutatedMethod>compute</mutatedMethod><methodDescription>(I)I</methodDescription><lineNumber>" + i + "</lineNumber>"
+          + "<mutator>org.pitest.mutationtest.engine.gregor.mutators.MathMutator</mutator><index>" + (i % 7) + "</index><block>" + (i % 5) + "</block>"
+          + "<killingTest>com.foo.BarTest.should_compute_case_0(com.foo.BarTest)</killingTest>"
+          + "<description>Replaced integer addition with subtraction</description></mutation>\n");
+      }
+      writer.write("</mutations>\n");
+    }
+    return report;
+  }
+}
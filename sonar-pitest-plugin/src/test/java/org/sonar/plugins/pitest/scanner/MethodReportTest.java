@@ -0,0 +1,102 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import org.junit.Test;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MethodReportTest {
+
+  @Test
+  public void should_count_mutants_by_status() {
+    // given
+    MethodReport methodReport = new MethodReport(mutant(MutantStatus.KILLED, 14).mutantLocation);
+
+    // when
+    methodReport.add(mutant(MutantStatus.KILLED, 14));
+    methodReport.add(mutant(MutantStatus.SURVIVED, 12));
+    methodReport.add(mutant(MutantStatus.NO_COVERAGE, 15));
+    methodReport.add(mutant(MutantStatus.KILLED, 0));
+
+    // then
+    assertThat(methodReport.getMutationsTotal()).isEqualTo(4);
+    assertThat(methodReport.getMutationsKilled()).isEqualTo(2);
+    assertThat(methodReport.getMutationsSurvived()).isEqualTo(1);
+    assertThat(methodReport.getKilledPercent()).isEqualTo(50d);
+    assertThat(methodReport.getLine()).isEqualTo(12);
+    assertThat(methodReport.getClassName()).isEqualTo("com.foo.Bar");
+    assertThat(methodReport.getMethod()).isEqualTo("compute(I)I");
+  }
+
+  @Test
+  public void should_match_locations_of_same_method_only() {
+    // given
+    Mutant mutant = mutant(MutantStatus.KILLED, 14);
+    MethodReport methodReport = new MethodReport(mutant.mutantLocation);
+
+    // when
+    Mutant overload = new TestMutantBuilder().className("com.foo.Bar").sourceFile("Bar.java").mutatedMethod("compute").methodDescription("(J)J").build();
+    Mutant inner = new TestMutantBuilder().className("com.foo.Bar$Inner").sourceFile("Bar.java").mutatedMethod("compute").methodDescription("(I)I").build();
+
+    // then
+    assertThat(methodReport.isMethodOf(mutant(MutantStatus.SURVIVED, 20).mutantLocation)).isTrue();
+    assertThat(methodReport.isMethodOf(overload.mutantLocation)).isFalse();
+    assertThat(methodReport.isMethodOf(inner.mutantLocation)).isFalse();
+    assertThat(MethodReport.key(mutant.mutantLocation)).isEqualTo("com.foo.Bar#compute(I)I");
+  }
+
+  @Test
+  public void should_match_locations_without_descriptor() {
+    // given
+    Mutant csvMutant = new TestMutantBuilder().className("com.foo.Bar").sourceFile("Bar.java").mutatedMethod("compute").methodDescription(null).build();
+    MethodReport methodReport = new MethodReport(csvMutant.mutantLocation);
+
+    // when
+    boolean sameMethod = methodReport.isMethodOf(csvMutant.mutantLocation);
+    boolean describedMethod = methodReport.isMethodOf(mutant(MutantStatus.KILLED, 14).mutantLocation);
+
+    // then
+    assertThat(sameMethod).isTrue();
+    assertThat(describedMethod).isFalse();
+    assertThat(methodReport.getMethod()).isEqualTo("compute");
+    assertThat(MethodReport.key(csvMutant.mutantLocation)).isEqualTo("com.foo.Bar#compute");
+  }
+
+  @Test
+  public void should_have_no_line_without_mutant_lines() {
+    // given
+    MethodReport methodReport = new MethodReport(mutant(MutantStatus.KILLED, 0).mutantLocation);
+
+    // when
+    methodReport.add(mutant(MutantStatus.KILLED, 0));
+
+    // then
+    assertThat(methodReport.getLine()).isZero();
+  }
+
+  private static Mutant mutant(MutantStatus status, int line) {
+    return new TestMutantBuilder().mutantStatus(status).className("com.foo.Bar").sourceFile("Bar.java").mutatedMethod("compute").methodDescription("(I)I")
+      .lineNumber(line).build();
+  }
+}
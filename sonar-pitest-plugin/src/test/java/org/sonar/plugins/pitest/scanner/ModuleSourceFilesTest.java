@@ -0,0 +1,79 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ModuleSourceFilesTest {
+
+  @Test
+  public void should_accept_report_paths_ending_module_main_files() {
+    // given
+    DefaultFileSystem fileSystem = new DefaultFileSystem(new File("module"));
+    fileSystem.add(new TestInputFileBuilder("module", "src/main/java/com/foo/Bar.java").setType(InputFile.Type.MAIN).build());
+    fileSystem.add(new TestInputFileBuilder("module", "src/test/java/com/foo/BarTest.java").setType(InputFile.Type.TEST).build());
+
+    // when
+    ModuleSourceFiles moduleSourceFiles = ModuleSourceFiles.of(fileSystem);
+
+    // then
+    assertThat(moduleSourceFiles.test("com/foo/Bar.java")).isTrue();
+    assertThat(moduleSourceFiles.test("src/main/java/com/foo/Bar.java")).isTrue();
+    assertThat(moduleSourceFiles.test("org/foo/Bar.java")).isFalse();
+    assertThat(moduleSourceFiles.test("com/foo/BarTest.java")).isFalse();
+    assertThat(moduleSourceFiles.test("om/foo/Bar.java")).isFalse();
+  }
+
+  @Test
+  public void should_relativize_file_against_module_base_directory() {
+    // given
+    File baseDir = new File("module");
+    InputFile inputFile = new TestInputFileBuilder("module", "src/main/java/com/foo/Bar.java").setModuleBaseDir(baseDir.getAbsoluteFile().toPath()).build();
+
+    // when
+    String relativePath = ModuleSourceFiles.relativePath(baseDir.toPath(), inputFile);
+
+    // then
+    assertThat(relativePath).isEqualTo("src/main/java/com/foo/Bar.java");
+  }
+
+  @Test
+  public void should_accept_packages_of_module_directories() {
+    // given
+    DefaultFileSystem fileSystem = new DefaultFileSystem(new File("module"));
+    fileSystem.add(new TestInputFileBuilder("module", "src/main/java/com/foo/bar/Baz.java").setType(InputFile.Type.MAIN).build());
+
+    // when
+    ModuleSourceFiles moduleSourceFiles = ModuleSourceFiles.of(fileSystem);
+
+    // then
+    assertThat(moduleSourceFiles.containsPackage("com.foo.bar")).isTrue();
+    assertThat(moduleSourceFiles.containsPackage("foo.bar")).isTrue();
+    assertThat(moduleSourceFiles.containsPackage("com.foo")).isFalse();
+    assertThat(moduleSourceFiles.containsPackage("com.foo.bar.Baz")).isFalse();
+    assertThat(moduleSourceFiles.containsPackage(ReportSharder.DEFAULT_PACKAGE)).isTrue();
+  }
+}
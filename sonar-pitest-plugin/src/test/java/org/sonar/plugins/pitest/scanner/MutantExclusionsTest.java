@@ -0,0 +1,116 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MutantExclusionsTest {
+
+  private static final String[] NONE = new String[0];
+  private static final String MATH_MUTATOR = "org.pitest.mutationtest.engine.gregor.mutators.MathMutator";
+
+  @Test
+  public void should_exclude_classes_by_name_in_any_package() {
+    // given
+    MutantExclusions exclusions = MutantExclusions.of(new String[] {"*Builder", "Dto?"}, NONE, NONE);
+
+    // then
+    assertThat(exclusions.excludesLocation("com/foo/Bar.java", "com.foo.BarBuilder")).isTrue();
+    assertThat(exclusions.excludesLocation("Bar.java", "BarBuilder")).isTrue();
+    assertThat(exclusions.excludesLocation("com/foo/DtoA.java", "com.foo.DtoA")).isTrue();
+    assertThat(exclusions.excludesLocation("com/foo/Bar.java", "com.foo.Bar")).isFalse();
+    assertThat(exclusions.excludesLocation("com/foo/Builders.java", "com.foo.Builders")).isFalse();
+  }
+
+  @Test
+  public void should_exclude_classes_by_package() {
+    // given
+    MutantExclusions exclusions = MutantExclusions.of(new String[] {"com.foo.*", "com.bar.**"}, NONE, NONE);
+
+    // then
+    assertThat(exclusions.excludesLocation("com/foo/Bar.java", "com.foo.Bar")).isTrue();
+    assertThat(exclusions.excludesLocation("com/foo/bar/Baz.java", "com.foo.bar.Baz")).isFalse();
+    assertThat(exclusions.excludesLocation("com/bar/baz/Qux.java", "com.bar.baz.Qux")).isTrue();
+  }
+
+  @Test
+  public void should_exclude_paths() {
+    // given
+    MutantExclusions exclusions = MutantExclusions.of(NONE, new String[] {"**/generated/**", "com/*/Bar.java"}, NONE);
+
+    // then
+    assertThat(exclusions.excludesLocation("generated/Foo.java", "generated.Foo")).isTrue();
+    assertThat(exclusions.excludesLocation("com/foo/generated/dto/Foo.java", "com.foo.generated.dto.Foo")).isTrue();
+    assertThat(exclusions.excludesLocation("com/foo/Bar.java", "com.foo.Bar")).isTrue();
+    assertThat(exclusions.excludesLocation("com/foo/bar/Bar.java", "com.foo.bar.Bar")).isFalse();
+    assertThat(exclusions.excludesLocation("com/foo/Generated.java", "com.foo.Generated")).isFalse();
+  }
+
+  @Test
+  public void should_exclude_mutators_by_name() {
+    // given
+    MutantExclusions exclusions = MutantExclusions.of(NONE, NONE, new String[] {"EXPERIMENTAL_*", "MATH"});
+
+    // then
+    assertThat(exclusions.excludesMutator(MATH_MUTATOR)).isTrue();
+    assertThat(exclusions.excludesMutator("org.pitest.mutationtest.engine.gregor.mutators.experimental.SwitchMutator")).isTrue();
+    assertThat(exclusions.excludesMutator("org.pitest.mutationtest.engine.gregor.mutators.NegateConditionalsMutator")).isFalse();
+    assertThat(exclusions.excludesLocation("com/foo/Bar.java", "com.foo.Bar")).isFalse();
+  }
+
+  @Test
+  public void should_exclude_remove_conditionals_variants_one_by_one() {
+    // given
+    String removeConditionals = "org.pitest.mutationtest.engine.gregor.mutators.RemoveConditionalMutator";
+    MutantExclusions someVariants = MutantExclusions.of(NONE, NONE, new String[] {"REMOVE_CONDITIONALS_EQ_*"});
+    MutantExclusions allVariants = MutantExclusions.of(NONE, NONE, new String[] {"REMOVE_CONDITIONALS_*"});
+
+    // then
+    assertThat(someVariants.excludesMutator(removeConditionals + "_EQUAL_IF")).isTrue();
+    assertThat(someVariants.excludesMutator(removeConditionals + "_EQUAL_ELSE")).isTrue();
+    assertThat(someVariants.excludesMutator(removeConditionals + "_ORDER_IF")).isFalse();
+    assertThat(someVariants.excludesMutator(removeConditionals)).isFalse();
+    assertThat(allVariants.excludesMutator(removeConditionals + "_ORDER_ELSE")).isTrue();
+    assertThat(allVariants.excludesMutator(removeConditionals)).isTrue();
+  }
+
+  @Test
+  public void should_be_equal_when_built_from_the_same_patterns() {
+    assertThat(MutantExclusions.of(new String[] {"*Dto"}, NONE, new String[] {"MATH"}))
+      .isEqualTo(MutantExclusions.of(new String[] {"*Dto"}, NONE, new String[] {"MATH"}))
+      .isNotEqualTo(MutantExclusions.of(new String[] {"*Dto"}, NONE, NONE))
+      .isNotEqualTo(MutantExclusions.NONE);
+    assertThat(MutantExclusions.of(new String[] {"*Dto"}, NONE, new String[] {"MATH"}).hashCode())
+      .isEqualTo(MutantExclusions.of(new String[] {"*Dto"}, NONE, new String[] {"MATH"}).hashCode());
+  }
+
+  @Test
+  public void should_exclude_nothing_without_patterns() {
+    // when
+    MutantExclusions exclusions = MutantExclusions.of(new String[] {" "}, NONE, new String[] {"NOT_A_MUTATOR"});
+
+    // then
+    assertThat(exclusions.isEmpty()).isTrue();
+    assertThat(exclusions.excludesLocation("com/foo/Bar.java", "com.foo.Bar")).isFalse();
+    assertThat(exclusions.excludesMutator(MATH_MUTATOR)).isFalse();
+  }
+}
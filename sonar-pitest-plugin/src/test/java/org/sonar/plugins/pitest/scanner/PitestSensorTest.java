@@ -0,0 +1,893 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.FileSystem;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+import org.sonar.api.batch.sensor.SensorDescriptor;
+import org.sonar.api.batch.sensor.internal.SensorContextTester;
+import org.sonar.api.batch.sensor.issue.Issue;
+import org.sonar.api.batch.sensor.measure.Measure;
+import org.sonar.api.config.Configuration;
+import org.sonar.api.profiles.RulesProfile;
+import org.sonar.api.rules.ActiveRule;
+import org.sonar.api.rules.Rule;
+import org.sonar.plugins.pitest.PitestConstants;
+import org.sonar.plugins.pitest.PitestMetrics;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.Mutator;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.sonar.plugins.pitest.PitestConstants.BASE_REPORT_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.GROUP_SURVIVED_BY_LINE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.LINE_COVERAGE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MAX_ISSUES_PER_FILE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MODE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.MODE_REUSE_REPORT;
+import static org.sonar.plugins.pitest.PitestConstants.MODE_SKIP;
+import static org.sonar.plugins.pitest.PitestConstants.PREFETCH_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.PROCESSING_MODE_STREAMING;
+import static org.sonar.plugins.pitest.PitestConstants.REPORT_CACHE_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.REPORT_DIRECTORY_DEF;
+import static org.sonar.plugins.pitest.PitestConstants.REPORT_DIRECTORY_KEY;
+import static org.sonar.plugins.pitest.PitestConstants.REPOSITORY_KEY;
+
+public class PitestSensorTest {
+
+  private static final String MODULE_BASE_DIR = "src/test/resources/pitest-sensor-tests";
+  private static final String JAVA_RELATIVE_PATH = "com/foo/Bar.java";
+  private static final String JAVA_CLASS = "com.foo.Bar";
+  private static final String KOTLIN_RELATIVE_PATH = "Maze.kt";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_describe_execution_conditions() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    PitestSensor sensor = new PitestSensor(configuration, mockXmlReportParser(), mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    SensorDescriptor descriptor = spy(SensorDescriptor.class);
+
+    // when
+    sensor.describe(descriptor);
+
+    // then
+    verify(descriptor).name(PitestSensor.SENSOR_NAME);
+    verify(descriptor).onlyOnLanguages("java");
+    verify(descriptor).onlyOnFileType(InputFile.Type.MAIN);
+    verify(descriptor).createIssuesForRuleRepository(REPOSITORY_KEY);
+  }
+
+  @Test
+  public void should_skip_analysis_if_mode_is_skip() throws IOException {
+    // given
+    Configuration configuration = mock(Configuration.class);
+    when(configuration.get(MODE_KEY)).thenReturn(Optional.of(MODE_SKIP));
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(configuration, mock(XmlReportParser.class), mock(RulesProfile.class), mock(XmlReportFinder.class), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).isEmpty();
+  }
+
+  @Test
+  public void should_not_fail_if_no_report_found() throws IOException {
+    // given
+    Configuration configuration = mock(Configuration.class);
+    when(configuration.get(MODE_KEY)).thenReturn(Optional.of(MODE_REUSE_REPORT));
+    when(configuration.get(REPORT_DIRECTORY_KEY)).thenReturn(Optional.of("nonexistant-directory"));
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(configuration, mock(XmlReportParser.class), mock(RulesProfile.class), mock(XmlReportFinder.class), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).isEmpty();
+  }
+
+  @Test
+  public void should_create_issue_for_survived_mutant() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(2);
+    assertThat(context.allIssues()).allMatch(i -> i.ruleKey().rule().equals(PitestConstants.SURVIVED_MUTANT_RULE_KEY));
+
+  }
+
+  @Test
+  public void should_create_issues_on_methods_with_most_survived_mutants() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    List<Mutant> mutants = Arrays.asList(
+      methodMutant("compute", 10, MutantStatus.SURVIVED),
+      methodMutant("compute", 11, MutantStatus.SURVIVED),
+      methodMutant("compute", 12, MutantStatus.KILLED),
+      methodMutant("reset", 20, MutantStatus.SURVIVED),
+      methodMutant("get", 30, MutantStatus.KILLED));
+    XmlReportParser parser = mock(XmlReportParser.class);
+    when(parser.parseSourceFiles(any(File.class), any(Predicate.class))).thenReturn(mutants);
+    RulesProfile qualityProfile = mock(RulesProfile.class);
+    ActiveRule hotspotRule = mock(ActiveRule.class);
+    when(hotspotRule.getParameter(PitestConstants.MAX_METHODS_PARAM)).thenReturn("1");
+    when(qualityProfile.getActiveRule(PitestConstants.REPOSITORY_KEY, PitestConstants.METHOD_HOTSPOT_RULE_KEY)).thenReturn(hotspotRule);
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), parser, qualityProfile, mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(1);
+    Issue issue = context.allIssues().iterator().next();
+    assertThat(issue.ruleKey().rule()).isEqualTo(PitestConstants.METHOD_HOTSPOT_RULE_KEY);
+    assertThat(issue.gap()).isEqualTo(2d);
+    assertThat(issue.primaryLocation().textRange().start().line()).isEqualTo(10);
+    assertThat(issue.primaryLocation().message()).isEqualTo("2 of the 3 mutants of method compute(I)I survived");
+    assertThat(context.measure("module.key:com/foo/Bar.java", PitestMetrics.WORST_METHOD_KILLED_PERCENT_KEY).value()).isEqualTo(0d);
+  }
+
+  @Test
+  public void should_create_issues_on_methods_of_csv_report() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    XmlReportFinder xmlReportFinder = mock(XmlReportFinder.class);
+    when(xmlReportFinder.findReport(any(File.class))).thenReturn(new File("src/test/resources/xml-report-parser-test/mutations.csv"));
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), new XmlReportParser(false, XmlBackend.JDK), mockHotspotRulesProfile("1"), xmlReportFinder,
+      mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(1);
+    Issue issue = context.allIssues().iterator().next();
+    assertThat(issue.ruleKey().rule()).isEqualTo(PitestConstants.METHOD_HOTSPOT_RULE_KEY);
+    assertThat(issue.primaryLocation().textRange().start().line()).isEqualTo(10);
+    assertThat(issue.primaryLocation().message()).isEqualTo("1 of the 2 mutants of method compute survived");
+  }
+
+  @Test
+  public void should_create_issues_on_methods_on_file_when_line_is_out_of_file() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    XmlReportParser parser = mock(XmlReportParser.class);
+    when(parser.parseSourceFiles(any(File.class), any(Predicate.class))).thenReturn(Arrays.asList(methodMutant("compute", 2000, MutantStatus.SURVIVED)));
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), parser, mockHotspotRulesProfile("1"), mockXmlReportFinder(), mock(XmlReportDiff.class),
+      mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(1);
+    assertThat(context.allIssues().iterator().next().primaryLocation().textRange()).isNull();
+  }
+
+  @Test
+  public void should_not_create_issues_on_methods_when_max_methods_is_not_positive() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    XmlReportParser parser = mock(XmlReportParser.class);
+    when(parser.parseSourceFiles(any(File.class), any(Predicate.class))).thenReturn(Arrays.asList(methodMutant("compute", 10, MutantStatus.SURVIVED)));
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), parser, mockHotspotRulesProfile("0"), mockXmlReportFinder(), mock(XmlReportDiff.class),
+      mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).isEmpty();
+  }
+
+  private static RulesProfile mockHotspotRulesProfile(String maxMethods) {
+    RulesProfile qualityProfile = mock(RulesProfile.class);
+    ActiveRule hotspotRule = mock(ActiveRule.class);
+    when(hotspotRule.getParameter(PitestConstants.MAX_METHODS_PARAM)).thenReturn(maxMethods);
+    when(qualityProfile.getActiveRule(PitestConstants.REPOSITORY_KEY, PitestConstants.METHOD_HOTSPOT_RULE_KEY)).thenReturn(hotspotRule);
+    return qualityProfile;
+  }
+
+  private static Mutant methodMutant(String method, int line, MutantStatus status) {
+    return new TestMutantBuilder().mutantStatus(status).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).mutatedMethod(method).methodDescription("(I)I")
+      .lineNumber(line).build();
+  }
+
+  @Test
+  public void should_not_create_issue_for_survived_mutant_if_present_but_rule_not_active() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(false, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).isEmpty();
+
+  }
+
+
+
+  @Test
+  public void should_create_issue_for_coverage_not_met() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(false, true), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    // threshold is 50%
+    // com/foo/Bar.java : coverage 60%
+    // Maze.kt: : killedPercent 33%
+    assertThat(context.allIssues()).hasSize(1);
+    assertThat(context.allIssues()).allMatch(i -> i.ruleKey().rule().equals(PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY));
+
+  }
+
+  @Test
+  public void should_create_issue_for_coverage_not_met_high_threshold() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    RulesProfile mockRulesProfile = mockRulesProfile(false, true);
+    ActiveRule mockCoverageRule = mockRulesProfile.getActiveRule(PitestConstants.REPOSITORY_KEY, PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY);
+    when(mockCoverageRule.getParameter(PitestConstants.COVERAGE_RATIO_PARAM)).thenReturn("70");
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile, mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    // threshold is 50%
+    // com/foo/Bar.java : coverage 60%
+    // Maze.kt: : killedPercent 33%
+    assertThat(context.allIssues()).hasSize(2);
+    assertThat(context.allIssues()).allMatch(i -> i.ruleKey().rule().equals(PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY));
+
+  }
+
+  @Test
+  public void should_not_create_issue_for_coverage_not_met_if_coverage_below_threshold() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    RulesProfile mockRulesProfile = mockRulesProfile(false, true);
+    ActiveRule mockCoverageRule = mockRulesProfile.getActiveRule(PitestConstants.REPOSITORY_KEY, PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY);
+    when(mockCoverageRule.getParameter(PitestConstants.COVERAGE_RATIO_PARAM)).thenReturn("10");
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile, mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).isEmpty();
+  }
+
+  @Test
+  public void should_create_issue_for_coverage_not_met_threshold_of_package() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    RulesProfile mockRulesProfile = mockRulesProfile(false, true);
+    ActiveRule mockCoverageRule = mockRulesProfile.getActiveRule(PitestConstants.REPOSITORY_KEY, PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY);
+    when(mockCoverageRule.getParameter(PitestConstants.COVERAGE_RATIO_PARAM)).thenReturn("10");
+    when(mockCoverageRule.getParameter(PitestConstants.COVERAGE_RATIO_BY_PREFIX_PARAM)).thenReturn("com=50, com.foo=70, com.foo.bar=10");
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile, mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    // com/foo/Bar.java : coverage 60%, threshold 70% of com.foo
+    // Maze.kt: : killedPercent 33%, threshold 10% of the rule
+    assertThat(context.allIssues()).hasSize(1);
+    Issue issue = context.allIssues().iterator().next();
+    assertThat(issue.primaryLocation().inputComponent().key()).isEqualTo("module.key:" + JAVA_RELATIVE_PATH);
+    assertThat(issue.primaryLocation().message()).endsWith("minimum threshold of 70% mutant coverage set for com.foo");
+  }
+
+  @Test
+  public void should_not_create_issue_for_coverage_not_met_if_rule_not_active() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(false, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).isEmpty();
+
+  }
+
+  @Test
+  public void should_create_measures_if_rules_are_disabled() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(false, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    String componentKey = "module.key:com/foo/Bar.java";  
+    assertThat(context.measures(componentKey)).hasSize(9);
+  }
+  
+  @Test
+  public void should_estimate_population_of_sampled_run() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.getDouble(PitestConstants.SAMPLING_PERCENT_KEY)).thenReturn(Optional.of(10d));
+    PitestSensor sensor = new PitestSensor(configuration, mockXmlReportParser(), mockRulesProfile(false, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.measures("module.key:com/foo/Bar.java")).hasSize(10);
+    assertThat(context.measure("module.key:com/foo/Bar.java", PitestMetrics.MUTATIONS_POPULATION_KEY).value()).isEqualTo(50);
+    assertThat(context.measure("module.key:Maze.kt", PitestMetrics.MUTATIONS_POPULATION_KEY).value()).isEqualTo(30);
+  }
+
+  @Test
+  public void should_reject_invalid_sampling_percentage() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.getDouble(PitestConstants.SAMPLING_PERCENT_KEY)).thenReturn(Optional.of(0d));
+    PitestSensor sensor = new PitestSensor(configuration, mockXmlReportParser(), mockRulesProfile(false, false), mockXmlReportFinder(),
+      mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    Throwable thrown = catchThrowable(() -> sensor.execute(context));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageContaining(PitestConstants.SAMPLING_PERCENT_KEY);
+  }
+
+  @Test
+  public void should_create_measures_if_survive_mutant_rule_is_active() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    String componentKey = "module.key:com/foo/Bar.java";  
+    assertThat(context.measures(componentKey)).hasSize(9);
+  }
+  
+  
+  @Test
+  public void should_create_measures_if_insufficient_coverage_rule_is_active() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(false, true), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    String componentKey = "module.key:com/foo/Bar.java";  
+    assertThat(context.measures(componentKey)).hasSize(9);
+  }  
+
+  @Test
+  public void measures_for_mock_java_class_should_be_correct() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(false, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    String componentKey = "module.key:com/foo/Bar.java";  
+    assertThat(context.measures(componentKey)).hasSize(9);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_NOT_COVERED_KEY, 1);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_GENERATED_KEY, 5);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_KILLED_KEY, 3);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_SURVIVED_KEY, 1);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_ERROR_KEY, 0);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_UNKNOWN_KEY, 0);  
+  }
+  
+  @Test
+  public void measures_for_mock_kotlin_class_should_be_correct() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(false, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    String componentKey = "module.key:Maze.kt";  
+    assertThat(context.measures(componentKey)).hasSize(9);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_NOT_COVERED_KEY, 1);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_GENERATED_KEY, 3);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_KILLED_KEY, 1);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_SURVIVED_KEY, 1);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_ERROR_KEY, 0);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_UNKNOWN_KEY, 0);  
+  }  
+  @Test
+  public void should_save_diff_measures_and_regression_issues_if_base_report_is_configured() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.get(BASE_REPORT_KEY)).thenReturn(Optional.of(JAVA_RELATIVE_PATH));
+    RulesProfile rulesProfile = mockRulesProfile(false, false);
+    ActiveRule regressionRule = mock(ActiveRule.class);
+    when(rulesProfile.getActiveRule(PitestConstants.REPOSITORY_KEY, PitestConstants.MUTANT_REGRESSION_RULE_KEY)).thenReturn(regressionRule);
+    XmlReportDiff xmlReportDiff = mock(XmlReportDiff.class);
+    when(xmlReportDiff.diff(any(File.class), any(File.class), any(File.class), any())).thenAnswer(invocation -> {
+      ReportDiff reportDiff = new ReportDiff();
+      reportDiff.added(JAVA_RELATIVE_PATH);
+      reportDiff.statusChanged(JAVA_RELATIVE_PATH);
+      Consumer<ReportDiff.Regression> regressions = invocation.getArgument(3);
+      regressions.accept(new ReportDiff.Regression(JAVA_RELATIVE_PATH, 1, "MATH", MutantStatus.KILLED, MutantStatus.SURVIVED));
+      return reportDiff;
+    });
+    PitestSensor sensor = new PitestSensor(configuration, mockXmlReportParser(), rulesProfile, mockXmlReportFinder(), xmlReportDiff, mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    String componentKey = "module.key:com/foo/Bar.java";
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_ADDED_KEY, 1);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_REMOVED_KEY, 0);
+    assertMeasure(context, componentKey, PitestMetrics.MUTATIONS_STATUS_CHANGED_KEY, 1);
+    assertThat(context.allIssues()).hasSize(1);
+    assertThat(context.allIssues()).allMatch(i -> i.ruleKey().rule().equals(PitestConstants.MUTANT_REGRESSION_RULE_KEY));
+  }
+
+  @Test
+  public void should_create_one_issue_per_line_for_survived_mutants_if_grouping_is_enabled() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.getBoolean(GROUP_SURVIVED_BY_LINE_KEY)).thenReturn(Optional.of(true));
+    List<Mutant> mutants = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      mutants.add(new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.SURVIVED).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).lineNumber(10)
+        .mutator(Mutator.MATH).description("mutant " + i).build());
+    }
+    mutants.add(new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.SURVIVED).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).lineNumber(20).build());
+    mutants.add(new TestMutantBuilder().detected(true).mutantStatus(MutantStatus.KILLED).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).lineNumber(20).build());
+    XmlReportParser parser = mock(XmlReportParser.class);
+    when(parser.parseSourceFiles(any(File.class), any(Predicate.class))).thenReturn(mutants);
+    PitestSensor sensor = new PitestSensor(configuration, parser, mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(2);
+    Issue groupedIssue = context.allIssues().stream().filter(i -> i.primaryLocation().textRange().start().line() == 10).findFirst().get();
+    assertThat(groupedIssue.gap()).isEqualTo(3.0);
+    assertThat(groupedIssue.primaryLocation().message())
+      .isEqualTo("3 mutants survived on this line: MATH [mutant 0], MATH [mutant 1], MATH [mutant 2]");
+    assertThat(groupedIssue.flows()).isEmpty();
+    Issue singleIssue = context.allIssues().stream().filter(i -> i.primaryLocation().textRange().start().line() == 20).findFirst().get();
+    assertThat(singleIssue.gap()).isNull();
+    assertThat(singleIssue.flows()).isEmpty();
+  }
+
+  @Test
+  public void should_cap_survived_mutant_issues_per_file_and_summarize_the_rest() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.getInt(MAX_ISSUES_PER_FILE_KEY)).thenReturn(Optional.of(2));
+    List<Mutant> mutants = new ArrayList<>();
+    for (int line = 1; line <= 5; line++) {
+      mutants.add(new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.SURVIVED).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).lineNumber(line).build());
+    }
+    XmlReportParser parser = mock(XmlReportParser.class);
+    when(parser.parseSourceFiles(any(File.class), any(Predicate.class))).thenReturn(mutants);
+    PitestSensor sensor = new PitestSensor(configuration, parser, mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(3);
+    assertThat(context.allIssues()).filteredOn(i -> i.primaryLocation().textRange() == null)
+      .hasSize(1)
+      .allMatch(i -> i.primaryLocation().message().startsWith("3 more survived mutants"));
+  }
+
+  @Test
+  public void should_read_prefetched_report_with_the_module_filter() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.getBoolean(PREFETCH_KEY)).thenReturn(Optional.of(true));
+    XmlReportParser parser = mock(XmlReportParser.class);
+    when(parser.parseSourceFiles(any(File.class), any(Predicate.class))).thenReturn(mutantsBackedByFileSystem());
+    PitestSensor sensor = new PitestSensor(configuration, parser, mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(2);
+    verify(parser).parseSourceFiles(any(File.class), any(ModuleSourceFiles.class));
+  }
+
+  @Test
+  public void should_prefetch_report_shared_between_modules() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.getBoolean(PREFETCH_KEY)).thenReturn(Optional.of(true));
+    when(configuration.getBoolean(REPORT_CACHE_KEY)).thenReturn(Optional.of(true));
+    ReportCache reportCache = mock(ReportCache.class);
+    when(reportCache.sliceFor(any(File.class), any(XmlReportParser.class), any(FileSystem.class))).thenReturn(new ProjectReport(mutantsBackedByFileSystem()));
+    PitestSensor sensor = new PitestSensor(configuration, mock(XmlReportParser.class), mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), reportCache,
+      context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(2);
+  }
+
+  @Test
+  public void should_start_prefetch_when_sensor_is_described() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.getBoolean(PREFETCH_KEY)).thenReturn(Optional.of(true));
+    XmlReportFinder xmlReportFinder = mockXmlReportFinder();
+    PitestSensor sensor = new PitestSensor(configuration, mock(XmlReportParser.class), mockRulesProfile(true, false), xmlReportFinder, mock(XmlReportDiff.class),
+      mock(ReportCache.class), context.fileSystem());
+    verify(xmlReportFinder, never()).findReport(any(File.class));
+
+    // when
+    sensor.describe(spy(SensorDescriptor.class));
+
+    // then
+    verify(xmlReportFinder, timeout(10_000)).findReport(any(File.class));
+  }
+
+  @Test
+  public void should_propagate_prefetch_failure() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.getBoolean(PREFETCH_KEY)).thenReturn(Optional.of(true));
+    XmlReportParser parser = mock(XmlReportParser.class);
+    when(parser.parseSourceFiles(any(File.class), any(Predicate.class))).thenThrow(new IllegalStateException("XML is not valid"));
+    PitestSensor sensor = new PitestSensor(configuration, parser, mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    Throwable thrown = catchThrowable(() -> sensor.execute(context));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessage("XML is not valid");
+  }
+
+  @Test
+  public void should_not_prefetch_report_if_mode_is_skip() throws Exception {
+    // given
+    Configuration configuration = mock(Configuration.class);
+    when(configuration.get(MODE_KEY)).thenReturn(Optional.of(MODE_SKIP));
+    when(configuration.getBoolean(PREFETCH_KEY)).thenReturn(Optional.of(true));
+    XmlReportFinder xmlReportFinder = mockXmlReportFinder();
+    SensorContextTester context = createTestSensorContext();
+
+    // when
+    new PitestSensor(configuration, mock(XmlReportParser.class), mock(RulesProfile.class), xmlReportFinder, mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem())
+      .execute(context);
+
+    // then
+    verify(xmlReportFinder, never()).findReport(any(File.class));
+  }
+
+  @Test
+  public void should_process_report_one_source_file_at_a_time_in_streaming_mode() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    Configuration configuration = mockConfiguration();
+    when(configuration.get(PROCESSING_MODE_KEY)).thenReturn(Optional.of(PROCESSING_MODE_STREAMING));
+    XmlReportParser parser = mock(XmlReportParser.class);
+    doAnswer(invocation -> {
+      Consumer<Mutant> consumer = invocation.getArgument(2);
+      mutantsBackedByFileSystem().forEach(consumer);
+      return null;
+    }).when(parser).parse(any(File.class), any(Predicate.class), any(Consumer.class));
+    PitestSensor sensor = new PitestSensor(configuration, parser, mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    assertThat(context.allIssues()).hasSize(2);
+    assertThat(context.measures("module.key:com/foo/Bar.java")).hasSize(9);
+    verify(parser, never()).parseSourceFiles(any(File.class), any(Predicate.class));
+  }
+
+  private void assertMeasure(SensorContextTester context, String componentKey, String metricKey, Integer expectedValue) {
+    Measure<Serializable> measure = context.measure(componentKey, metricKey);
+    Serializable value = measure.value();
+      assertThat(value).isEqualTo(expectedValue);
+  }
+  
+  @Test
+  public void should_import_pitest_line_coverage_at_once() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    XmlReportParser parser = mock(XmlReportParser.class);
+    when(parser.parseSourceFiles(any(File.class), any(Predicate.class))).thenReturn(Arrays.asList(
+      new TestMutantBuilder().mutantStatus(MutantStatus.SURVIVED).className(JAVA_CLASS).sourceFile("Bar.java").mutatedMethod("compute")
+        .methodDescription("(I)I").lineNumber(10).block(0).build(),
+      new TestMutantBuilder().mutantStatus(MutantStatus.NO_COVERAGE).className(JAVA_CLASS).sourceFile("Bar.java").mutatedMethod("compute")
+        .methodDescription("(I)I").lineNumber(12).block(1).build()));
+    XmlReportFinder finder = mockXmlReportFinder();
+    when(finder.findLineCoverage(any(File.class))).thenReturn(new File("src/test/resources/line-coverage-test/linecoverage.xml"));
+    PitestSensor sensor = new PitestSensor(mockLineCoverageConfiguration(), parser, mockRulesProfile(false, false), finder, mock(XmlReportDiff.class), mock(ReportCache.class),
+      context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    String componentKey = "module.key:" + JAVA_RELATIVE_PATH;
+    assertThat(context.lineHits(componentKey, 10)).isEqualTo(2);
+    assertThat(context.lineHits(componentKey, 12)).isZero();
+  }
+
+  @Test
+  public void should_not_import_pitest_line_coverage_by_default() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    XmlReportFinder finder = mock(XmlReportFinder.class);
+    when(finder.findReport(any(File.class))).thenReturn(new File("src/test/resources/xml-report-parser-test/mutations.bin"));
+    when(finder.findLineCoverage(any(File.class))).thenReturn(new File("src/test/resources/line-coverage-test/linecoverage.xml"));
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), new XmlReportParser(false, XmlBackend.JDK), mockRulesProfile(false, false), finder,
+      mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then only the lines of killed mutants are covered
+    String componentKey = "module.key:" + JAVA_RELATIVE_PATH;
+    assertThat(context.lineHits(componentKey, 10)).isEqualTo(1);
+    assertThat(context.lineHits(componentKey, 12)).isNull();
+    verify(finder, never()).findLineCoverage(any(File.class));
+  }
+
+  @Test
+  public void should_import_pitest_line_coverage_of_binary_report() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    XmlReportFinder finder = mock(XmlReportFinder.class);
+    when(finder.findReport(any(File.class))).thenReturn(new File("src/test/resources/xml-report-parser-test/mutations.bin"));
+    when(finder.findLineCoverage(any(File.class))).thenReturn(new File("src/test/resources/line-coverage-test/linecoverage.xml"));
+    PitestSensor sensor = new PitestSensor(mockLineCoverageConfiguration(), new XmlReportParser(false, XmlBackend.JDK), mockRulesProfile(false, false), finder,
+      mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then the blocks of the binary report match the mutants with the tests covering them
+    String componentKey = "module.key:" + JAVA_RELATIVE_PATH;
+    assertThat(context.lineHits(componentKey, 10)).isEqualTo(2);
+    assertThat(context.lineHits(componentKey, 12)).isZero();
+  }
+
+  @Test
+  public void should_not_import_pitest_line_coverage_of_csv_report() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    XmlReportFinder finder = mock(XmlReportFinder.class);
+    when(finder.findReport(any(File.class))).thenReturn(new File("src/test/resources/xml-report-parser-test/mutations.csv"));
+    when(finder.findLineCoverage(any(File.class))).thenReturn(new File("src/test/resources/line-coverage-test/linecoverage.xml"));
+    PitestSensor sensor = new PitestSensor(mockLineCoverageConfiguration(), new XmlReportParser(false, XmlBackend.JDK), mockRulesProfile(false, false), finder,
+      mock(XmlReportDiff.class), mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then only the lines of killed mutants are covered
+    String componentKey = "module.key:" + JAVA_RELATIVE_PATH;
+    assertThat(context.lineHits(componentKey, 10)).isEqualTo(1);
+    assertThat(context.lineHits(componentKey, 12)).isNull();
+  }
+
+  @Test
+  public void should_write_sensor_profile_to_work_directory() throws Exception {
+    // given
+    SensorContextTester context = createTestSensorContext();
+    PitestSensor sensor = new PitestSensor(mockConfiguration(), mockXmlReportParser(), mockRulesProfile(true, false), mockXmlReportFinder(), mock(XmlReportDiff.class),
+      mock(ReportCache.class), context.fileSystem());
+
+    // when
+    sensor.execute(context);
+
+    // then
+    File profile = new File(context.fileSystem().workDir(), SensorProfiler.PROFILE_FILE);
+    assertThat(profile).exists();
+    String json = new String(Files.readAllBytes(profile.toPath()), StandardCharsets.UTF_8);
+    assertThat(json).contains("\"parse\"", "\"locateFile\"", "\"measures\"", "\"issues\"", "\"coverage\"");
+    assertThat(json).contains("\"mutants\":8", "\"files\":2", "\"issues\":2", "\"measures\":18");
+  }
+
+  private Configuration mockConfiguration() {
+    Configuration configuration = mock(Configuration.class);
+    when(configuration.get(MODE_KEY)).thenReturn(Optional.of(MODE_REUSE_REPORT));
+    when(configuration.get(REPORT_DIRECTORY_KEY)).thenReturn(Optional.of(REPORT_DIRECTORY_DEF));
+    return configuration;
+  }
+
+  private Configuration mockLineCoverageConfiguration() {
+    Configuration configuration = mockConfiguration();
+    when(configuration.getBoolean(LINE_COVERAGE_KEY)).thenReturn(Optional.of(true));
+    return configuration;
+  }
+
+  private XmlReportParser mockXmlReportParser() {
+    XmlReportParser xmlReportParser = mock(XmlReportParser.class);
+    when(xmlReportParser.parseSourceFiles(any(File.class), any(Predicate.class))).thenReturn(mutantsBackedByFileSystem());
+    return xmlReportParser;
+  }
+
+  private XmlReportFinder mockXmlReportFinder() {
+    XmlReportFinder xmlReportFinder = mock(XmlReportFinder.class);
+    when(xmlReportFinder.findReport(any(File.class))).thenReturn(new File("fake-report.xml"));
+    return xmlReportFinder;
+  }
+
+  private RulesProfile mockRulesProfile(boolean survivedMutantRuleActive, boolean coverageRuleActive) {
+    RulesProfile qualityProfile = mock(RulesProfile.class);
+    when(qualityProfile.getName()).thenReturn("fake pit profile");
+
+    if (survivedMutantRuleActive) {
+      ActiveRule survivedMutantRule = mock(ActiveRule.class);
+      when(survivedMutantRule.getRule()).thenReturn(Rule.create());
+      when(qualityProfile.getActiveRule(PitestConstants.REPOSITORY_KEY, PitestConstants.SURVIVED_MUTANT_RULE_KEY)).thenReturn(survivedMutantRule);
+    }
+    if (coverageRuleActive) {
+      ActiveRule coverageRule = mock(ActiveRule.class);
+      when(coverageRule.getParameter(PitestConstants.COVERAGE_RATIO_PARAM)).thenReturn("50");
+      when(coverageRule.getRule()).thenReturn(Rule.create());
+      when(qualityProfile.getActiveRule(PitestConstants.REPOSITORY_KEY, PitestConstants.INSUFFICIENT_MUTATION_COVERAGE_RULE_KEY)).thenReturn(coverageRule);
+
+    }
+    return qualityProfile;
+  }
+
+  private SensorContextTester createTestSensorContext() throws IOException {
+
+    SensorContextTester context = SensorContextTester.create(new File(MODULE_BASE_DIR));
+    DefaultFileSystem fs = context.fileSystem();
+    fs.setWorkDir(temporaryFolder.newFolder().toPath());
+
+    File javaFile = new File(fs.baseDir(), JAVA_RELATIVE_PATH);
+    DefaultInputFile javaInputFile = new TestInputFileBuilder("module.key", JAVA_RELATIVE_PATH).setLanguage("java").setModuleBaseDir(fs.baseDirPath())
+      .setType(InputFile.Type.MAIN)
+      .setLines(1000)
+      .setOriginalLineOffsets(new int[] {0, 2, 10, 42, 1000})
+      .setLastValidOffset(1)
+      .initMetadata(new String(Files.readAllBytes(javaFile.toPath()), StandardCharsets.UTF_8))
+      .setCharset(StandardCharsets.UTF_8)
+      .build();
+    fs.add(javaInputFile);
+
+    File kotlinFile = new File(fs.baseDir(), KOTLIN_RELATIVE_PATH);
+    DefaultInputFile kotlinInputFile = new TestInputFileBuilder("module.key", KOTLIN_RELATIVE_PATH).setModuleBaseDir(fs.baseDirPath())
+      .setType(InputFile.Type.MAIN)
+      .setLines(1000)
+      .setOriginalLineOffsets(new int[] {0, 2, 10, 42, 1000})
+      .setLastValidOffset(1)
+      .initMetadata(new String(Files.readAllBytes(kotlinFile.toPath()), StandardCharsets.UTF_8))
+      .setCharset(StandardCharsets.UTF_8)
+      .build();
+    fs.add(kotlinInputFile);
+
+    return context;
+  }
+
+  private List<Mutant> mutantsBackedByFileSystem() {
+
+    List<Mutant> mutants = new ArrayList<>();
+    // 60% coverage on Java class com.foo.Bar
+    /*
+     * MUTATIONS_NOT_COVERED = 1
+     * MUTATIONS_GENERATED = 5
+     * MUTATIONS_KILLED = 3
+     * MUTATIONS_SURVIVED = 1
+     * MUTATIONS_ERROR = 0 
+     * MUTATIONS_UNKNOWN = 0 
+     */
+    mutants.add(new TestMutantBuilder().detected(true).mutantStatus(MutantStatus.KILLED).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).build());
+    mutants.add(new TestMutantBuilder().detected(true).mutantStatus(MutantStatus.KILLED).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).build());
+    mutants.add(new TestMutantBuilder().detected(true).mutantStatus(MutantStatus.KILLED).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).build());
+    mutants.add(new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.SURVIVED).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).build());
+    mutants.add(new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.NO_COVERAGE).className(JAVA_CLASS).sourceFile(JAVA_RELATIVE_PATH).build());
+
+    // 33% coverage on Kotlin class Maze.kt
+    /*
+     * MUTATIONS_NOT_COVERED = 1
+     * MUTATIONS_GENERATED = 3
+     * MUTATIONS_KILLED = 1
+     * MUTATIONS_SURVIVED = 1
+     * MUTATIONS_ERROR = 0 
+     * MUTATIONS_UNKNOWN = 0 
+     */    
+    mutants.add(new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.SURVIVED).sourceFile(KOTLIN_RELATIVE_PATH).build());
+    mutants.add(new TestMutantBuilder().detected(true).mutantStatus(MutantStatus.KILLED).sourceFile(KOTLIN_RELATIVE_PATH).build());
+    mutants.add(new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.NO_COVERAGE).sourceFile(KOTLIN_RELATIVE_PATH).build());
+
+    return mutants;
+  }
+
+
+
+  
+}
@@ -0,0 +1,110 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import org.junit.Test;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.TestInputFileBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class ReportCacheTest {
+
+  private static final File REPORT = new File("src/test/resources/xml-report-diff-test/mutations.xml");
+
+  @Test
+  public void should_parse_report_once_and_give_each_module_its_own_files() {
+    // given
+    ReportCache cache = new ReportCache();
+    XmlReportParser parser = spy(new XmlReportParser());
+    DefaultFileSystem module1 = moduleFileSystem("module1", "src/main/java/com/foo/Bar.java");
+    DefaultFileSystem module2 = moduleFileSystem("module2", "src/main/java/com/foo/Baz.java");
+
+    // when
+    ProjectReport report1 = cache.sliceFor(REPORT, parser, module1);
+    ProjectReport report2 = cache.sliceFor(REPORT, parser, module2);
+
+    // then
+    verify(parser, times(1)).parse(eq(REPORT), any());
+    assertThat(report1.getSourceFileReports()).extracting(SourceFileReport::getRelativePath).containsExactly("com/foo/Bar.java");
+    assertThat(report1.getSourceFileReports().iterator().next().getMutationsTotal()).isEqualTo(2);
+    assertThat(report2.getSourceFileReports()).extracting(SourceFileReport::getRelativePath).containsExactly("com/foo/Baz.java");
+  }
+
+  @Test
+  public void should_parse_report_again_for_modules_with_other_exclusions() {
+    // given
+    ReportCache cache = new ReportCache();
+    XmlReportParser excludingParser = new XmlReportParser(false, XmlBackend.JDK, MutantExclusions.of(new String[] {"com.foo.Bar"}, null, null));
+    DefaultFileSystem module1 = moduleFileSystem("module1", "src/main/java/com/foo/Baz.java");
+    DefaultFileSystem module2 = moduleFileSystem("module2", "src/main/java/com/foo/Bar.java");
+
+    // when
+    cache.sliceFor(REPORT, excludingParser, module1);
+    ProjectReport report2 = cache.sliceFor(REPORT, new XmlReportParser(), module2);
+
+    // then
+    assertThat(cache.cachedReports()).isEqualTo(2);
+    assertThat(report2.getSourceFileReports()).extracting(SourceFileReport::getRelativePath).containsExactly("com/foo/Bar.java");
+    assertThat(report2.getSourceFileReports().iterator().next().getMutationsTotal()).isEqualTo(2);
+  }
+
+  @Test
+  public void should_hand_out_source_files_only_once() {
+    // given
+    ReportCache cache = new ReportCache();
+    XmlReportParser parser = new XmlReportParser();
+    DefaultFileSystem module = moduleFileSystem("module", "src/main/java/com/foo/Bar.java");
+
+    // when
+    cache.sliceFor(REPORT, parser, module);
+    ProjectReport again = cache.sliceFor(REPORT, parser, module);
+
+    // then
+    assertThat(again.getSourceFileReports()).isEmpty();
+  }
+
+  @Test
+  public void should_release_reports_when_stopped() {
+    // given
+    ReportCache cache = new ReportCache();
+    cache.start();
+    cache.sliceFor(REPORT, new XmlReportParser(), moduleFileSystem("module", "src/main/java/com/foo/Bar.java"));
+
+    // when
+    cache.stop();
+
+    // then
+    assertThat(cache.cachedReports()).isZero();
+  }
+
+  private static DefaultFileSystem moduleFileSystem(String moduleKey, String relativePath) {
+    DefaultFileSystem fileSystem = new DefaultFileSystem(new File(moduleKey));
+    fileSystem.add(new TestInputFileBuilder(moduleKey, relativePath).setType(InputFile.Type.MAIN).setLanguage("java").build());
+    return fileSystem;
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReportMemoryEstimateTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_estimate_mutants_and_heap_from_report_size() throws IOException {
+    // given
+    File report = report("mutations.xml", 1_000 * ReportMemoryEstimate.XML_BYTES_PER_MUTANT);
+
+    // when
+    ReportMemoryEstimate estimate = ReportMemoryEstimate.of(Collections.singletonList(report), 10 * ReportMemoryEstimate.MEGABYTE);
+
+    // then
+    assertThat(estimate.getEstimatedMutants()).isEqualTo(1_000);
+    assertThat(estimate.getEstimatedPeakBytes()).isEqualTo(1_000 * ReportMemoryEstimate.HEAP_BYTES_PER_MUTANT);
+    assertThat(estimate.fitsInHeap()).isTrue();
+  }
+
+  @Test
+  public void should_estimate_mutants_with_the_size_of_a_mutant_in_each_format() throws IOException {
+    // given
+    File binaryReport = report("mutations.bin", 1_000 * ReportMemoryEstimate.BINARY_BYTES_PER_MUTANT);
+    File csvReport = report("mutations.csv", 1_000 * ReportMemoryEstimate.CSV_BYTES_PER_MUTANT);
+
+    // when
+    ReportMemoryEstimate binary = ReportMemoryEstimate.of(Collections.singletonList(binaryReport), 10 * ReportMemoryEstimate.MEGABYTE);
+    ReportMemoryEstimate csv = ReportMemoryEstimate.of(Collections.singletonList(csvReport), 10 * ReportMemoryEstimate.MEGABYTE);
+    ReportMemoryEstimate both = ReportMemoryEstimate.of(Arrays.asList(binaryReport, csvReport), 10 * ReportMemoryEstimate.MEGABYTE);
+
+    // then
+    assertThat(binary.getEstimatedMutants()).isEqualTo(1_000);
+    assertThat(csv.getEstimatedMutants()).isEqualTo(1_000);
+    assertThat(both.getEstimatedMutants()).isEqualTo(2_000);
+  }
+
+  @Test
+  public void should_not_fit_if_more_than_half_of_available_heap_is_needed() throws IOException {
+    // given
+    long availableHeapBytes = 2 * 1_000 * ReportMemoryEstimate.HEAP_BYTES_PER_MUTANT;
+
+    // when
+    ReportMemoryEstimate fitting = ReportMemoryEstimate.of(
+      Collections.singletonList(report("fitting.bin", 1_000 * ReportMemoryEstimate.BINARY_BYTES_PER_MUTANT)), availableHeapBytes);
+    ReportMemoryEstimate notFitting = ReportMemoryEstimate.of(
+      Collections.singletonList(report("not-fitting.bin", 1_001 * ReportMemoryEstimate.BINARY_BYTES_PER_MUTANT)), availableHeapBytes);
+
+    // then
+    assertThat(fitting.fitsInHeap()).isTrue();
+    assertThat(notFitting.fitsInHeap()).isFalse();
+  }
+
+  private File report(String name, long length) throws IOException {
+    File report = temporaryFolder.newFile(name);
+    try (RandomAccessFile file = new RandomAccessFile(report, "rw")) {
+      file.setLength(length);
+    }
+    return report;
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ReportPrefetchTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_return_prefetched_report() {
+    // given
+    ModuleReport moduleReport = ModuleReport.inMemory(new File("mutations.xml"), Collections.emptyList(), null);
+    ReportPrefetch prefetch = new ReportPrefetch(profiler -> {
+      profiler.count("mutants", 3);
+      return moduleReport;
+    });
+    prefetch.start();
+
+    // when
+    ModuleReport result = prefetch.join(10, TimeUnit.SECONDS);
+
+    // then
+    assertThat(result).isSameAs(moduleReport);
+    assertThat(prefetch.getProfiler().counter("mutants")).isEqualTo(3);
+  }
+
+  @Test
+  public void should_not_read_report_before_being_started() throws Exception {
+    // given
+    CountDownLatch loaded = new CountDownLatch(1);
+    ReportPrefetch prefetch = new ReportPrefetch(profiler -> {
+      loaded.countDown();
+      return null;
+    });
+
+    // when
+    boolean loadedBeforeStart = loaded.await(50, TimeUnit.MILLISECONDS);
+    ModuleReport result = prefetch.join(10, TimeUnit.SECONDS);
+
+    // then
+    assertThat(loadedBeforeStart).isFalse();
+    assertThat(loaded.getCount()).isZero();
+    assertThat(result).isNull();
+  }
+
+  @Test
+  public void should_release_report_read_when_cancelled() {
+    // given
+    File workDir = temporaryFolder.getRoot();
+    SpilledSourceFileReports sourceFileReports = new SpilledSourceFileReports(workDir, 1);
+    sourceFileReports.add(new TestMutantBuilder().className("com.foo.Bar").sourceFile("Bar.java").build());
+    sourceFileReports.add(new TestMutantBuilder().className("com.foo.Baz").sourceFile("Baz.java").build());
+    ReportPrefetch prefetch = new ReportPrefetch(profiler -> ModuleReport.spilled(new File("mutations.xml"), sourceFileReports, null));
+    prefetch.join(10, TimeUnit.SECONDS);
+
+    // when
+    prefetch.cancel();
+
+    // then
+    assertThat(workDir.listFiles()).isEmpty();
+  }
+
+  @Test
+  public void should_rethrow_failure_of_background_thread() {
+    // given
+    IllegalStateException failure = new IllegalStateException("XML is not valid");
+    ReportPrefetch prefetch = new ReportPrefetch(profiler -> {
+      throw failure;
+    });
+
+    // when
+    Throwable thrown = catchThrowable(() -> prefetch.join(10, TimeUnit.SECONDS));
+
+    // then
+    assertThat(thrown).isSameAs(failure);
+  }
+
+  @Test
+  public void should_wrap_checked_failure_of_background_thread() {
+    // given
+    ReportPrefetch prefetch = new ReportPrefetch(profiler -> {
+      throw new Exception("boom");
+    });
+
+    // when
+    Throwable thrown = catchThrowable(() -> prefetch.join(10, TimeUnit.SECONDS));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasRootCauseInstanceOf(Exception.class);
+  }
+
+  @Test
+  public void should_fail_and_cancel_on_timeout() {
+    // given
+    CountDownLatch neverReleased = new CountDownLatch(1);
+    ReportPrefetch prefetch = new ReportPrefetch(profiler -> {
+      neverReleased.await();
+      return null;
+    });
+
+    // when
+    Throwable thrown = catchThrowable(() -> prefetch.join(50, TimeUnit.MILLISECONDS));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageContaining("not parsed after 50 milliseconds");
+    assertThat(prefetch.isCancelled()).isTrue();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.Properties;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.pitest.domain.Mutant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ReportSharderTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_write_one_shard_per_package_and_an_index() throws IOException {
+    // given
+    File report = copyReport();
+
+    // when
+    int shards = new ReportSharder().shard(report);
+
+    // then
+    assertThat(shards).isEqualTo(3);
+    File shardsDirectory = new File(report.getParentFile(), ReportSharder.SHARDS_DIRECTORY);
+    Properties index = new Properties();
+    try (InputStream is = new FileInputStream(new File(shardsDirectory, ReportSharder.INDEX_FILE))) {
+      index.load(is);
+    }
+    assertThat(index.stringPropertyNames()).containsOnly("com.foo", "com.foo.bar", ReportSharder.DEFAULT_PACKAGE);
+
+    Collection<Mutant> mutants = new XmlReportParser().parse(new File(shardsDirectory, index.getProperty("com.foo")));
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10, 12);
+    assertThat(new XmlReportParser().parse(new File(shardsDirectory, index.getProperty("com.foo.bar")))).hasSize(1);
+    assertThat(new XmlReportParser().parse(new File(shardsDirectory, index.getProperty(ReportSharder.DEFAULT_PACKAGE)))).hasSize(1);
+  }
+
+  @Test
+  public void should_replace_previous_shards() throws IOException {
+    // given
+    File report = copyReport();
+    new ReportSharder().shard(report);
+
+    // when
+    new ReportSharder().shard(report);
+
+    // then
+    File shard = new File(new File(report.getParentFile(), ReportSharder.SHARDS_DIRECTORY), "com.foo" + ReportSharder.SHARD_SUFFIX);
+    assertThat(new XmlReportParser().parse(shard)).hasSize(2);
+  }
+
+  @Test
+  public void should_write_shards_even_if_more_packages_than_open_files() throws IOException {
+    // given
+    File report = temporaryFolder.newFile("mutations.xml");
+    StringBuilder xml = new StringBuilder("<mutations>");
+    for (int i = 0; i < 200; i++) {
+      // mutants of a same package are not contiguous, so shards are closed and reopened
+      xml.append(mutation("p" + (i % 100) + ".Foo"));
+    }
+    Files.write(report.toPath(), xml.append("</mutations>").toString().getBytes("UTF-8"));
+
+    // when
+    int shards = new ReportSharder().shard(report);
+
+    // then
+    assertThat(shards).isEqualTo(100);
+    File shard = new File(new File(report.getParentFile(), ReportSharder.SHARDS_DIRECTORY), "p42" + ReportSharder.SHARD_SUFFIX);
+    assertThat(new XmlReportParser().parse(shard)).hasSize(2);
+  }
+
+  private File copyReport() throws IOException {
+    File report = new File(temporaryFolder.newFolder(), "mutations.xml");
+    Files.copy(new File("src/test/resources/report-sharder-test/mutations.xml").toPath(), report.toPath());
+    return report;
+  }
+
+  private static String mutation(String mutatedClass) {
+    return "<mutation detected='false' status='SURVIVED'><sourceFile>Foo.java</sourceFile><mutatedClass>" + mutatedClass + "</mutatedClass>"
+      + "<mutatedMethod>m</mutatedMethod><methodDescription>()V</methodDescription><lineNumber>1</lineNumber>"
+      + "<mutator>org.pitest.mutationtest.engine.gregor.mutators.MathMutator</mutator><index>1</index><killingTest></killingTest>"
+      + "<description>d</description></mutation>";
+  }
+}
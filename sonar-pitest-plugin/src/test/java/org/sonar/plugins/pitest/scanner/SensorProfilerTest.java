@@ -0,0 +1,147 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SensorProfilerTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_sum_runs_of_a_phase() {
+    // given
+    SensorProfiler profiler = new SensorProfiler();
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      try (SensorProfiler.Phase phase = profiler.phase("parse")) {
+        consume(new byte[1024 * 1024]);
+      }
+    }
+
+    // then
+    SensorProfiler.Figures parse = profiler.getPhases().get("parse");
+    assertThat(parse.getRuns()).isEqualTo(3);
+    assertThat(parse.getWallNanos()).isPositive();
+    if (parse.getAllocatedBytes() != -1) {
+      assertThat(parse.getAllocatedBytes()).isGreaterThanOrEqualTo(3 * 1024 * 1024);
+    }
+  }
+
+  @Test
+  public void should_add_tasks_run_on_other_threads_to_the_phase() throws Exception {
+    // given
+    SensorProfiler profiler = new SensorProfiler();
+
+    // when
+    try (SensorProfiler.Phase phase = profiler.phase("parse")) {
+      Thread worker = new Thread(() -> phase.measure(() -> consume(new byte[4 * 1024 * 1024])));
+      worker.start();
+      worker.join();
+    }
+
+    // then
+    SensorProfiler.Figures parse = profiler.getPhases().get("parse");
+    assertThat(parse.getRuns()).isEqualTo(1);
+    if (parse.getAllocatedBytes() != -1) {
+      assertThat(parse.getAllocatedBytes()).isGreaterThanOrEqualTo(4 * 1024 * 1024);
+    }
+  }
+
+  @Test
+  public void should_sum_counters() {
+    // given
+    SensorProfiler profiler = new SensorProfiler();
+
+    // when
+    profiler.count("mutants", 5);
+    profiler.count("mutants", 2);
+    profiler.count("files", 1);
+
+    // then
+    assertThat(profiler.getCounters()).containsEntry("mutants", 7L).containsEntry("files", 1L);
+  }
+
+  @Test
+  public void should_add_phases_and_counters_of_another_profiler() {
+    // given
+    SensorProfiler profiler = new SensorProfiler();
+    SensorProfiler prefetchProfiler = new SensorProfiler();
+    try (SensorProfiler.Phase phase = profiler.phase("parse")) {
+      profiler.count("mutants", 2);
+    }
+    try (SensorProfiler.Phase phase = prefetchProfiler.phase("parse")) {
+      prefetchProfiler.count("mutants", 3);
+    }
+
+    // when
+    profiler.addAll(prefetchProfiler);
+
+    // then
+    assertThat(profiler.getPhases().get("parse").getRuns()).isEqualTo(2);
+    assertThat(profiler.getCounters()).containsEntry("mutants", 5L);
+  }
+
+  @Test
+  public void should_write_json_profile() throws IOException {
+    // given
+    SensorProfiler profiler = new SensorProfiler();
+    try (SensorProfiler.Phase phase = profiler.phase("find")) {
+      profiler.count("mutants", 4);
+    }
+    File workDir = new File(temporaryFolder.getRoot(), "work");
+
+    // when
+    File profile = profiler.finish(workDir);
+
+    // then
+    assertThat(profile).isEqualTo(new File(workDir, SensorProfiler.PROFILE_FILE));
+    String json = new String(Files.readAllBytes(profile.toPath()), StandardCharsets.UTF_8);
+    assertThat(json).startsWith("{\"total\":{\"runs\":1,").contains("\"phases\":{\"find\":{\"runs\":1,").endsWith("\"counters\":{\"mutants\":4}}");
+    assertThat(profiler.summary()).startsWith("Pitest sensor profile: total ").contains(", find ").endsWith(", 4 mutants");
+  }
+
+  @Test
+  public void should_not_fail_if_profile_cannot_be_written() throws IOException {
+    // given
+    SensorProfiler profiler = new SensorProfiler();
+    File notADirectory = temporaryFolder.newFile();
+
+    // when
+    File profile = profiler.finish(notADirectory);
+
+    // then
+    assertThat(profile).isNull();
+  }
+
+  private static void consume(byte[] bytes) {
+    bytes[bytes.length - 1] = 1;
+  }
+}
@@ -19,6 +19,7 @@
  */
 package org.sonar.plugins.pitest.scanner;
 
+import java.io.File;
 import org.junit.Test;
 import org.sonar.plugins.pitest.domain.Mutant;
 import org.sonar.plugins.pitest.domain.MutantStatus;
@@ -150,4 +151,82 @@ public class SourceFileReportTest {
      * UNKNOWN;
      */
   }
+
+  @Test
+  public void should_count_mutants_per_mutator() {
+    // given
+    Mutant m1 = new TestMutantBuilder().mutantStatus(MutantStatus.KILLED).className("com.foo.bar.Qix").mutator(Mutator.INLINE_CONSTS).sourceFile("Qix.java").build();
+    Mutant m2 = new TestMutantBuilder().mutantStatus(MutantStatus.SURVIVED).className("com.foo.bar.Qix").mutator(Mutator.INLINE_CONSTS).sourceFile("Qix.java").build();
+
+    // when
+    SourceFileReport fileMutants = new SourceFileReport("com/foo/bar/Qix.java");
+    fileMutants.addMutant(m1);
+    fileMutants.addMutant(m2);
+
+    // then
+    assertThat(fileMutants.getMutatorDistribution().count(Mutator.INLINE_CONSTS, MutantStatus.KILLED)).isEqualTo(1);
+    assertThat(fileMutants.getMutatorDistribution().count(Mutator.INLINE_CONSTS, MutantStatus.SURVIVED)).isEqualTo(1);
+  }
+
+  @Test
+  public void should_aggregate_mutants_per_method() {
+    // given
+    Mutant m1 = new TestMutantBuilder().mutantStatus(MutantStatus.KILLED).className("com.foo.bar.Qix").sourceFile("Qix.java").mutatedMethod("compute")
+      .methodDescription("(I)I").lineNumber(12).build();
+    Mutant m2 = new TestMutantBuilder().mutantStatus(MutantStatus.SURVIVED).className("com.foo.bar.Qix").sourceFile("Qix.java").mutatedMethod("reset")
+      .methodDescription("()V").lineNumber(20).build();
+    Mutant m3 = new TestMutantBuilder().mutantStatus(MutantStatus.SURVIVED).className("com.foo.bar.Qix").sourceFile("Qix.java").mutatedMethod("compute")
+      .methodDescription("(I)I").lineNumber(10).build();
+    Mutant overload = new TestMutantBuilder().mutantStatus(MutantStatus.NO_COVERAGE).className("com.foo.bar.Qix").sourceFile("Qix.java").mutatedMethod("compute")
+      .methodDescription("(J)J").lineNumber(30).build();
+
+    // when
+    SourceFileReport fileMutants = new SourceFileReport("com/foo/bar/Qix.java");
+    fileMutants.addMutant(m1);
+    fileMutants.addMutant(m2);
+    fileMutants.addMutant(m3);
+    fileMutants.addMutant(overload);
+
+    // then
+    assertThat(fileMutants.getMethodReports()).extracting(MethodReport::getMethod).containsExactly("compute(I)I", "reset()V", "compute(J)J");
+    MethodReport compute = fileMutants.getMethodReport(m1);
+    assertThat(compute.getMutationsTotal()).isEqualTo(2);
+    assertThat(compute.getMutationsKilled()).isEqualTo(1);
+    assertThat(compute.getMutationsSurvived()).isEqualTo(1);
+    assertThat(compute.getLine()).isEqualTo(10);
+    assertThat(fileMutants.getMethodReport(m3)).isSameAs(compute);
+    assertThat(fileMutants.getMethodReport(overload).getKilledPercent()).isZero();
+  }
+
+  @Test
+  public void should_not_find_method_of_other_mutant() {
+    // given
+    SourceFileReport fileMutants = new SourceFileReport("com/foo/bar/Qix.java");
+    fileMutants.addMutant(new TestMutantBuilder().className("com.foo.bar.Qix").sourceFile("Qix.java").mutatedMethod("compute").build());
+
+    // when
+    MethodReport methodReport = fileMutants.getMethodReport(new TestMutantBuilder().className("com.foo.bar.Qix").sourceFile("Qix.java").mutatedMethod("reset").build());
+
+    // then
+    assertThat(methodReport).isNull();
+    assertThat(fileMutants.getMethodReports()).hasSize(1);
+  }
+
+  @Test
+  public void should_report_methods_of_csv_mutants() {
+    // given
+    SourceFileReport fileMutants = new SourceFileReport("com/foo/Bar.java");
+
+    // when
+    new CsvReportReader(false, MutantExclusions.NONE).read(new File("src/test/resources/xml-report-parser-test", "mutations.csv"),
+      "com/foo/Bar.java"::equals, fileMutants::addMutant);
+
+    // then
+    assertThat(fileMutants.getMethodReports()).hasSize(1);
+    MethodReport methodReport = fileMutants.getMethodReports().iterator().next();
+    assertThat(methodReport.getMethod()).isEqualTo("compute");
+    assertThat(methodReport.getMutationsTotal()).isEqualTo(2);
+    assertThat(methodReport.getMutationsSurvived()).isEqualTo(1);
+    assertThat(methodReport.getLine()).isEqualTo(10);
+  }
 }
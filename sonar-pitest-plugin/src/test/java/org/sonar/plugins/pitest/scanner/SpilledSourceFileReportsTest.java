@@ -0,0 +1,76 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SpilledSourceFileReportsTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_group_spilled_mutants_by_source_file_in_report_order() throws Exception {
+    // given
+    List<SourceFileReport> sourceFileReports = new ArrayList<>();
+    try (SpilledSourceFileReports spilled = new SpilledSourceFileReports(temporaryFolder.newFolder(), 2)) {
+      spilled.add(mutant("com.foo.Bar", 3, MutantStatus.KILLED));
+      spilled.add(mutant("com.foo.Baz", 1, MutantStatus.SURVIVED));
+      spilled.add(mutant("com.foo.Bar", 1, MutantStatus.SURVIVED));
+      spilled.add(mutant("com.foo.Baz", 2, MutantStatus.KILLED));
+      spilled.add(mutant("com.foo.Bar", 2, MutantStatus.NO_COVERAGE));
+
+      // when
+      spilled.forEach(sourceFileReports::add);
+
+      // then
+      assertThat(spilled.runCount()).isGreaterThan(1);
+    }
+
+    assertThat(sourceFileReports).extracting(SourceFileReport::getRelativePath).containsExactly("com/foo/Bar.java", "com/foo/Baz.java");
+    SourceFileReport bar = sourceFileReports.get(0);
+    assertThat(bar.getMutants()).extracting(Mutant::lineNumber).containsExactly(3, 1, 2);
+    assertThat(bar.getMutationsKilled()).isEqualTo(1);
+    assertThat(bar.getMutationsSurvived()).isEqualTo(1);
+    assertThat(bar.getMutationsNoCoverage()).isEqualTo(1);
+    assertThat(sourceFileReports.get(1).getMutationsTotal()).isEqualTo(2);
+  }
+
+  @Test
+  public void should_iterate_over_nothing_if_no_mutant() throws Exception {
+    try (SpilledSourceFileReports spilled = new SpilledSourceFileReports(temporaryFolder.newFolder())) {
+      assertThat(spilled.iterator().hasNext()).isFalse();
+    }
+  }
+
+  private static Mutant mutant(String className, int line, MutantStatus status) {
+    return new TestMutantBuilder().className(className).sourceFile(className.substring(className.lastIndexOf('.') + 1) + ".java")
+      .lineNumber(line).mutantStatus(status).detected(status == MutantStatus.KILLED).build();
+  }
+}
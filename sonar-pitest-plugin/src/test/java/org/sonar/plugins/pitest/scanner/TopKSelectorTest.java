@@ -0,0 +1,77 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.util.Comparator;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TopKSelectorTest {
+
+  @Test
+  public void should_keep_greatest_elements() {
+    // given
+    TopKSelector<Integer> selector = new TopKSelector<>(3, Comparator.naturalOrder());
+
+    // when
+    for (int i : new int[] {5, 1, 9, 3, 7, 2}) {
+      selector.offer(i);
+    }
+
+    // then
+    assertThat(selector.size()).isEqualTo(3);
+    assertThat(selector.toSortedList()).containsExactly(9, 7, 5);
+  }
+
+  @Test
+  public void should_return_evicted_element() {
+    // given
+    TopKSelector<Integer> selector = new TopKSelector<>(2, Comparator.naturalOrder());
+    selector.offer(5);
+    selector.offer(8);
+
+    // when
+    Integer rejected = selector.offer(1);
+    Integer evicted = selector.offer(10);
+
+    // then
+    assertThat(rejected).isEqualTo(1);
+    assertThat(evicted).isEqualTo(5);
+    assertThat(selector.toSortedList()).containsExactly(10, 8);
+  }
+
+  @Test
+  public void should_not_evict_while_under_capacity() {
+    // given
+    TopKSelector<Integer> selector = new TopKSelector<>(2, Comparator.naturalOrder());
+
+    // when
+    Integer evicted = selector.offer(1);
+
+    // then
+    assertThat(evicted).isNull();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void should_reject_non_positive_k() {
+    new TopKSelector<Integer>(0, Comparator.naturalOrder());
+  }
+}
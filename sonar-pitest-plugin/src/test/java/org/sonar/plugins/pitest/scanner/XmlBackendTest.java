@@ -0,0 +1,61 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import javax.xml.stream.XMLInputFactory;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class XmlBackendTest {
+
+  @Test
+  public void should_find_backend_by_key() {
+    assertThat(XmlBackend.fromKey("jdk")).isEqualTo(XmlBackend.JDK);
+    assertThat(XmlBackend.fromKey("Woodstox")).isEqualTo(XmlBackend.WOODSTOX);
+    assertThat(XmlBackend.fromKey("aalto")).isEqualTo(XmlBackend.AALTO);
+  }
+
+  @Test
+  public void should_use_jdk_backend_if_key_is_unknown() {
+    assertThat(XmlBackend.fromKey("xerces")).isEqualTo(XmlBackend.JDK);
+  }
+
+  @Test
+  public void should_disable_dtd_and_external_entities() {
+    for (XmlBackend backend : XmlBackend.values()) {
+      // when
+      XMLInputFactory factory = backend.createFactory();
+
+      // then
+      assertThat(factory.getProperty(XMLInputFactory.SUPPORT_DTD)).as(backend.getKey()).isEqualTo(false);
+      assertThat(factory.getProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES)).as(backend.getKey()).isEqualTo(false);
+      assertThat(factory.getProperty(XMLInputFactory.IS_COALESCING)).as(backend.getKey()).isEqualTo(false);
+    }
+  }
+
+  @Test
+  public void should_instantiate_selected_implementation() {
+    // woodstox and aalto are dependencies of the plugin
+    assertThat(XmlBackend.WOODSTOX.createFactory().getClass().getName()).startsWith("com.ctc.wstx.");
+    assertThat(XmlBackend.AALTO.createFactory().getClass().getName()).startsWith("com.fasterxml.aalto.");
+    assertThat(XmlBackend.JDK.createFactory().getClass().getName()).doesNotContain("wstx").doesNotContain("aalto");
+  }
+}
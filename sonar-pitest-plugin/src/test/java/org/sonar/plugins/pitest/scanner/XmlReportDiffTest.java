@@ -0,0 +1,122 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class XmlReportDiffTest {
+  private static final String MODULE_BASE_DIR = "src/test/resources/xml-report-diff-test";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_find_added_removed_and_status_changed_mutants() throws Exception {
+    // given
+    XmlReportDiff diff = new XmlReportDiff(new XmlReportParser());
+    List<ReportDiff.Regression> regressions = new ArrayList<>();
+
+    // when
+    ReportDiff reportDiff = diff.diff(new File(MODULE_BASE_DIR, "base-mutations.xml"), new File(MODULE_BASE_DIR, "mutations.xml"), temporaryFolder.newFolder(),
+      regressions::add);
+
+    // then
+    assertThat(reportDiff.getAdded()).isEqualTo(1);
+    assertThat(reportDiff.getRemoved()).isEqualTo(1);
+    assertThat(reportDiff.getStatusChanged()).isEqualTo(1);
+    assertThat(reportDiff.getFileDiffs()).containsOnlyKeys("com/foo/Bar.java", "com/foo/Baz.java");
+    assertThat(reportDiff.getFileDiffs().get("com/foo/Baz.java").getAdded()).isEqualTo(1);
+    assertThat(reportDiff.getFileDiffs().get("com/foo/Baz.java").getRemoved()).isEqualTo(1);
+    assertThat(reportDiff.getFileDiffs().get("com/foo/Bar.java").getStatusChanged()).isEqualTo(1);
+  }
+
+  @Test
+  public void should_report_killed_mutants_which_now_survive_as_regressions() throws Exception {
+    // given
+    XmlReportDiff diff = new XmlReportDiff(new XmlReportParser());
+    List<ReportDiff.Regression> regressions = new ArrayList<>();
+
+    // when
+    diff.diff(new File(MODULE_BASE_DIR, "base-mutations.xml"), new File(MODULE_BASE_DIR, "mutations.xml"), temporaryFolder.newFolder(), regressions::add);
+
+    // then
+    assertThat(regressions).hasSize(1);
+    ReportDiff.Regression regression = regressions.get(0);
+    assertThat(regression.getRelativePath()).isEqualTo("com/foo/Bar.java");
+    assertThat(regression.getLineNumber()).isEqualTo(10);
+    assertThat(regression.getPreviousStatus()).isEqualTo(MutantStatus.KILLED);
+    assertThat(regression.getCurrentStatus()).isEqualTo(MutantStatus.SURVIVED);
+    assertThat(regression.violationDescription()).contains("NEGATE_CONDITIONALS");
+  }
+
+  @Test
+  public void should_tell_apart_mutators_unknown_to_the_plugin() {
+    // given
+    TestMutantBuilder mutant = new TestMutantBuilder().className("com.foo.Bar").sourceFile("Bar.java").mutatedMethod("compute").methodDescription("(I)I")
+      .lineNumber(10).index(1);
+
+    // when
+    String ror1 = XmlReportDiff.toRecord(mutant.mutator("org.pitest.mutationtest.engine.gregor.mutators.rv.ROR1Mutator").build());
+    String ror2 = XmlReportDiff.toRecord(mutant.mutator("org.pitest.mutationtest.engine.gregor.mutators.rv.ROR2Mutator").build());
+
+    // then
+    assertThat(ror1.substring(0, ror1.indexOf('\u0001'))).isNotEqualTo(ror2.substring(0, ror2.indexOf('\u0001')));
+  }
+
+  @Test
+  public void should_give_same_result_when_spilling_to_disk() throws Exception {
+    // given
+    XmlReportDiff diff = new XmlReportDiff(new XmlReportParser(), 1);
+    File workDir = temporaryFolder.newFolder();
+
+    // when
+    ReportDiff reportDiff = diff.diff(new File(MODULE_BASE_DIR, "base-mutations.xml"), new File(MODULE_BASE_DIR, "mutations.xml"), workDir, r -> {
+    });
+
+    // then
+    assertThat(reportDiff.getAdded()).isEqualTo(1);
+    assertThat(reportDiff.getRemoved()).isEqualTo(1);
+    assertThat(reportDiff.getStatusChanged()).isEqualTo(1);
+    assertThat(workDir.listFiles()).isEmpty();
+  }
+
+  @Test
+  public void identical_reports_should_have_no_difference() throws Exception {
+    // given
+    XmlReportDiff diff = new XmlReportDiff(new XmlReportParser());
+    File report = new File(MODULE_BASE_DIR, "mutations.xml");
+
+    // when
+    ReportDiff reportDiff = diff.diff(report, report, temporaryFolder.newFolder(), r -> {
+    });
+
+    // then
+    assertThat(reportDiff.getFileDiffs()).isEmpty();
+  }
+}
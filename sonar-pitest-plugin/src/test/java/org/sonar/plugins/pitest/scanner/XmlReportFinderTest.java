@@ -0,0 +1,271 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import com.google.common.io.Resources;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class XmlReportFinderTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void should_find_latest_report_file_with_one_timestamped_folder() {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File reportDirectory = new File(Resources.getResource("test-pit-reports-1").getFile());
+
+    // when
+    File report = finder.findReport(reportDirectory);
+
+    // then
+    assertThat(report).isNotNull();
+    report.getAbsolutePath().endsWith("123/mutations.xml");
+  }
+
+  @Test
+  public void should_find_latest_report_file_with_two_timestamped_folders() {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File reportDirectory = new File(Resources.getResource("test-pit-reports-2").getFile());
+    new File(Resources.getResource("test-pit-reports-2/123/mutations.xml").getFile()).setLastModified(400);
+    new File(Resources.getResource("test-pit-reports-2/124/mutations.xml").getFile()).setLastModified(500);
+
+    // when
+    File report = finder.findReport(reportDirectory);
+
+    // then
+    assertThat(report).isNotNull();
+    report.getAbsolutePath().endsWith("124/mutations.xml");
+  }
+
+  @Test
+  public void should_find_latest_report_file_with_inconsistent_timestamp() {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File reportDirectory = new File(Resources.getResource("test-pit-reports-2").getFile());
+    new File(Resources.getResource("test-pit-reports-2/123/mutations.xml").getFile()).setLastModified(600);
+    new File(Resources.getResource("test-pit-reports-2/124/mutations.xml").getFile()).setLastModified(500);
+
+    // when
+    File report = finder.findReport(reportDirectory);
+
+    // then
+    assertThat(report).isNotNull();
+    report.getAbsolutePath().endsWith("123/mutations.xml");
+  }
+
+  @Test
+  public void should_return_null_if_no_report() {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File directory = new File(Resources.getResource("fake_libs").getFile());
+
+    // when
+    File report = finder.findReport(directory);
+
+    // then
+    assertThat(report).isNull();
+  }
+
+  @Test
+  public void should_return_null_if_input_is_not_a_directory() {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File directory = new File(Resources.getResource("Maze.kt").getFile());
+
+    // when
+    File report = finder.findReport(directory);
+
+    // then
+    assertThat(report).isNull();
+  }
+
+  @Test
+  public void should_return_null_if_directory_does_not_exist() {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File directory = new File("imaginary");
+
+    // when
+    File report = finder.findReport(directory);
+
+    // then
+    assertThat(report).isNull();
+  }
+
+  @Test
+  public void should_prefer_binary_report_of_the_same_run() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File reportDirectory = temporaryFolder.newFolder();
+    File xmlReport = new File(reportDirectory, "mutations.xml");
+    File binaryReport = new File(reportDirectory, "mutations.bin");
+    Files.write(xmlReport.toPath(), new byte[0]);
+    Files.write(binaryReport.toPath(), new byte[0]);
+    xmlReport.setLastModified(100_000);
+    binaryReport.setLastModified(90_000);
+
+    // when
+    File report = finder.findReport(reportDirectory);
+
+    // then
+    assertThat(report).isEqualTo(binaryReport);
+  }
+
+  @Test
+  public void should_fall_back_to_xml_report_of_a_later_run() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File binaryReport = new File(temporaryFolder.newFolder("123"), "mutations.bin");
+    File xmlReport = new File(temporaryFolder.newFolder("124"), "mutations.xml");
+    Files.write(xmlReport.toPath(), new byte[0]);
+    Files.write(binaryReport.toPath(), new byte[0]);
+    binaryReport.setLastModified(100_000);
+    xmlReport.setLastModified(100_000 + XmlReportFinder.SAME_RUN_TOLERANCE_MILLIS + 1);
+
+    // when
+    File report = finder.findReport(temporaryFolder.getRoot());
+
+    // then
+    assertThat(report).isEqualTo(xmlReport);
+  }
+
+  @Test
+  public void should_prefer_xml_report_of_the_same_run_over_csv_report() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File reportDirectory = temporaryFolder.newFolder();
+    File xmlReport = new File(reportDirectory, "mutations.xml");
+    File csvReport = new File(reportDirectory, "mutations.csv");
+    Files.write(xmlReport.toPath(), new byte[0]);
+    Files.write(csvReport.toPath(), new byte[0]);
+    xmlReport.setLastModified(99_000);
+    csvReport.setLastModified(100_000);
+
+    // when
+    File report = finder.findReport(reportDirectory);
+
+    // then
+    assertThat(report).isEqualTo(xmlReport);
+  }
+
+  @Test
+  public void should_fall_back_to_csv_report_without_xml_report_of_the_same_run() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File xmlReport = new File(temporaryFolder.newFolder("123"), "mutations.xml");
+    File csvReport = new File(temporaryFolder.newFolder("124"), "mutations.csv");
+    Files.write(xmlReport.toPath(), new byte[0]);
+    Files.write(csvReport.toPath(), new byte[0]);
+    xmlReport.setLastModified(100_000);
+    csvReport.setLastModified(100_000 + XmlReportFinder.SAME_RUN_TOLERANCE_MILLIS + 1);
+
+    // when
+    File report = finder.findReport(temporaryFolder.getRoot());
+
+    // then
+    assertThat(report).isEqualTo(csvReport);
+  }
+
+  @Test
+  public void should_find_line_coverage_of_the_same_run() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File report = temporaryFolder.newFile("mutations.xml");
+    File lineCoverage = temporaryFolder.newFile("linecoverage.xml");
+
+    // when
+    // then
+    assertThat(finder.findLineCoverage(report)).isEqualTo(lineCoverage);
+  }
+
+  @Test
+  public void should_ignore_line_coverage_of_an_earlier_run() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File report = temporaryFolder.newFile("mutations.xml");
+    File lineCoverage = temporaryFolder.newFile("linecoverage.xml");
+    report.setLastModified(500_000);
+    lineCoverage.setLastModified(500_000 - XmlReportFinder.SAME_RUN_TOLERANCE_MILLIS - 1);
+
+    // when
+    // then
+    assertThat(finder.findLineCoverage(report)).isNull();
+  }
+
+  @Test
+  public void should_find_shards_of_accepted_packages() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File report = shardedReport();
+
+    // when
+    File shardIndex = finder.findShardIndex(report);
+    List<File> shards = finder.findShards(shardIndex, "com.foo"::equals);
+
+    // then
+    assertThat(shardIndex).isNotNull();
+    assertThat(shards).extracting(File::getName).containsExactly("com.foo" + ReportSharder.SHARD_SUFFIX);
+  }
+
+  @Test
+  public void should_ignore_shards_if_report_was_not_sharded() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File report = temporaryFolder.newFile("mutations.xml");
+
+    // when
+    File shardIndex = finder.findShardIndex(report);
+
+    // then
+    assertThat(shardIndex).isNull();
+  }
+
+  @Test
+  public void should_ignore_shards_older_than_report() throws IOException {
+    // given
+    XmlReportFinder finder = new XmlReportFinder();
+    File report = shardedReport();
+    report.setLastModified(System.currentTimeMillis() + 60_000);
+
+    // when
+    File shardIndex = finder.findShardIndex(report);
+
+    // then
+    assertThat(shardIndex).isNull();
+  }
+
+  private File shardedReport() throws IOException {
+    File report = new File(temporaryFolder.newFolder(), "mutations.xml");
+    Files.copy(new File("src/test/resources/report-sharder-test/mutations.xml").toPath(), report.toPath());
+    new ReportSharder().shard(report);
+    return report;
+  }
+}
@@ -0,0 +1,159 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Parses a synthetic report produced with the pitest fullMutationMatrix option, where the killingTests and
+ * succeedingTests lists dominate the file size, and compares the XML backends and the CSV reader on a flat report.
+ * Skipped unless run with -Dpitest.benchmark=true; the report size can be raised with -Dpitest.benchmark.mutants and
+ * -Dpitest.benchmark.testsPerMutant.
+ */
+public class XmlReportParserBenchmarkTest {
+
+  private static final int MUTANTS = Integer.getInteger("pitest.benchmark.mutants", 2_000);
+  private static final int TESTS_PER_MUTANT = Integer.getInteger("pitest.benchmark.testsPerMutant", 50);
+
+  private static final Logger LOG = Loggers.get(XmlReportParserBenchmarkTest.class);
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @BeforeClass
+  public static void runOnlyOnDemand() {
+    assumeTrue(Boolean.getBoolean("pitest.benchmark"));
+  }
+
+  @Test
+  public void should_parse_full_mutation_matrix_report() throws IOException {
+    // given
+    File report = writeReport(temporaryFolder.newFile("mutations.xml"), fullMatrixTests());
+    AtomicInteger mutants = new AtomicInteger();
+
+    // when
+    long start = System.nanoTime();
+    new XmlReportParser().parse(report, mutant -> mutants.incrementAndGet());
+    long elapsed = System.nanoTime() - start;
+
+    // then
+    assertThat(mutants.get()).isEqualTo(MUTANTS);
+    LOG.info("XmlReportParser: {} mutants, {} KB parsed in {} ms", MUTANTS, report.length() / 1024, elapsed / 1_000_000);
+  }
+
+  @Test
+  public void should_parse_flat_report_with_each_backend() throws IOException {
+    // given
+    File report = writeReport(temporaryFolder.newFile("flat-mutations.xml"), "");
+
+    for (XmlBackend backend : XmlBackend.values()) {
+      XmlReportParser parser = new XmlReportParser(false, backend);
+      AtomicInteger mutants = new AtomicInteger();
+      // warm up
+      parser.parse(report, mutant -> mutants.incrementAndGet());
+      mutants.set(0);
+
+      // when
+      long start = System.nanoTime();
+      parser.parse(report, mutant -> mutants.incrementAndGet());
+      long elapsed = System.nanoTime() - start;
+
+      // then
+      assertThat(mutants.get()).isEqualTo(MUTANTS);
+      LOG.info("XmlReportParser with {}: {} mutants, {} KB parsed in {} ms", backend.getKey(), MUTANTS, report.length() / 1024, elapsed / 1_000_000);
+    }
+  }
+
+  @Test
+  public void should_parse_csv_report_of_the_same_mutants() throws IOException {
+    // given
+    File xmlReport = writeReport(temporaryFolder.newFile("flat-mutations.xml"), "");
+    File csvReport = writeCsvReport(temporaryFolder.newFile("flat-mutations.csv"));
+    XmlReportParser parser = new XmlReportParser();
+
+    for (File report : new File[] {xmlReport, csvReport}) {
+      AtomicInteger mutants = new AtomicInteger();
+      // warm up
+      parser.parse(report, mutant -> mutants.incrementAndGet());
+      mutants.set(0);
+
+      // when
+      long start = System.nanoTime();
+      parser.parse(report, mutant -> mutants.incrementAndGet());
+      long elapsed = System.nanoTime() - start;
+
+      // then
+      assertThat(mutants.get()).isEqualTo(MUTANTS);
+      LOG.info("XmlReportParser on {}: {} mutants, {} KB parsed in {} ms", report.getName(), MUTANTS, report.length() / 1024, elapsed / 1_000_000);
+    }
+  }
+
+  private static String fullMatrixTests() {
+    StringBuilder tests = new StringBuilder();
+    for (int i = 0; i < TESTS_PER_MUTANT; i++) {
+      if (i > 0) {
+        tests.append('|');
+      }
+      tests.append("com.foo.BarTest.should_compute_case_").append(i).append("(com.foo.BarTest)");
+    }
+    return "<killingTests>" + tests + "</killingTests><succeedingTests>" + tests + "</succeedingTests>";
+  }
+
+  private static File writeReport(File report, String testLists) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(report.toPath(), StandardCharsets.UTF_8)) {
+      writer.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<mutations>\n");
+      for (int i = 0; i < MUTANTS; i++) {
+        writer.write("<mutation detected='true' status='KILLED' numberOfTestsRun='" + TESTS_PER_MUTANT + "'>"
+          + "<sourceFile>Bar" + (i % 100) + ".java</sourceFile><mutatedClass>com.foo.Bar" + (i % 100) + "</mutatedClass>"
+          + "<mutatedMethod>compute</mutatedMethod><methodDescription>(I)I</methodDescription><lineNumber>" + i + "</lineNumber>"
+          + "<mutator>org.pitest.mutationtest.engine.gregor.mutators.MathMutator</mutator><index>" + i + "</index>"
+          + "<killingTest>com.foo.BarTest.should_compute_case_0(com.foo.BarTest)</killingTest>"
+          + testLists
+          + "<description>Replaced integer addition with subtraction</description></mutation>\n");
+      }
+      writer.write("</mutations>\n");
+    }
+    return report;
+  }
+
+  private static File writeCsvReport(File report) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(report.toPath(), StandardCharsets.UTF_8)) {
+      for (int i = 0; i < MUTANTS; i++) {
+        writer.write("Bar" + (i % 100) + ".java,com.foo.Bar" + (i % 100) + ",org.pitest.mutationtest.engine.gregor.mutators.MathMutator,compute,"
+          + i + ",KILLED,com.foo.BarTest.should_compute_case_0(com.foo.BarTest)\n");
+      }
+    }
+    return report;
+  }
+}
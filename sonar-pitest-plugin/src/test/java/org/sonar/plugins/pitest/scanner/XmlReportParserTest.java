@@ -0,0 +1,329 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.scanner;
+
+import com.google.common.io.Resources;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.sonar.api.config.Configuration;
+import org.sonar.plugins.pitest.PitestConstants;
+import org.sonar.plugins.pitest.domain.Mutant;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.assertj.core.api.Fail.failBecauseExceptionWasNotThrown;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class XmlReportParserTest {
+  private static final String MODULE_BASE_DIR = "src/test/resources/xml-report-parser-test";
+
+  private XmlReportParser parser;
+
+  @Before
+  public void setUp() {
+    parser = new XmlReportParser();
+  }
+
+  @Test
+  public void should_parse_report_and_find_mutants() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations.xml");
+    Mutant targetMutant = new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.SURVIVED).sourceFile("PitestSensor.java")
+      .className("org.sonar.plugins.pitest.scanner.PitestSensor")
+      .mutatedMethod("addCoverageForKilledMutants")
+      .methodDescription("(Lorg/sonar/api/batch/sensor/SensorContext;Lorg/sonar/api/batch/fs/InputFile;Lorg/sonar/plugins/pitest/scanner/SourceFileReport;)V")
+      .lineNumber(212).mutator("org.pitest.mutationtest.engine.gregor.mutators.NegateConditionalsMutator").index(15).killingTest("").description("negated conditional")
+      .build();
+
+    // when
+    Collection<Mutant> mutants = parser.parse(report);
+
+    // then
+    assertThat(mutants).hasSize(1);
+    // FIXME: find out why mutantLocation comparison fails
+    assertThat(mutants).usingElementComparatorIgnoringFields("mutantLocation").contains(targetMutant);
+  }
+
+  @Test
+  public void should_parse_report_and_find_mutants_if_elements_are_unordered() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-unordered.xml");
+    Mutant targetMutant = new TestMutantBuilder().detected(false).mutantStatus(MutantStatus.SURVIVED).sourceFile("PitestSensor.java")
+      .className("org.sonar.plugins.pitest.scanner.PitestSensor")
+      .mutatedMethod("addCoverageForKilledMutants")
+      .methodDescription("(Lorg/sonar/api/batch/sensor/SensorContext;Lorg/sonar/api/batch/fs/InputFile;Lorg/sonar/plugins/pitest/scanner/SourceFileReport;)V")
+      .lineNumber(212).mutator("org.pitest.mutationtest.engine.gregor.mutators.NegateConditionalsMutator").index(15).killingTest("").description("negated conditional")
+      .build();
+
+    // when
+    Collection<Mutant> mutants = parser.parse(report);
+
+    // then
+    assertThat(mutants).hasSize(1);
+    assertThat(mutants).usingElementComparatorIgnoringFields("mutantLocation").contains(targetMutant);
+  }
+
+  @Test
+  public void should_skip_test_lists_and_unknown_elements() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-full-matrix.xml");
+
+    // when
+    Collection<Mutant> mutants = parser.parse(report);
+
+    // then
+    assertThat(mutants).hasSize(2);
+    Mutant killed = mutants.iterator().next();
+    assertThat(killed.lineNumber()).isEqualTo(10);
+    assertThat(killed.killingTest).isEqualTo("com.foo.BarTest.should_compute(com.foo.BarTest)");
+    assertThat(killed.description).isEqualTo("Replaced integer addition with subtraction");
+    assertThat(mutants).extracting(mutant -> mutant.mutantStatus).containsExactly(MutantStatus.KILLED, MutantStatus.SURVIVED);
+  }
+
+  @Test
+  public void should_parse_mutations_wrapped_in_unknown_elements() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-wrapped.xml");
+
+    // when
+    Collection<Mutant> mutants = parser.parse(report);
+
+    // then
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(12);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void should_throw_exception_if_file_is_missing() {
+    // given
+
+    // when
+    new File(Resources.getResource("imaginary").getFile());
+
+    // then
+    failBecauseExceptionWasNotThrown(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void should_only_parse_mutants_of_accepted_source_files() {
+    // given
+    File report = new File("src/test/resources/xml-report-diff-test/mutations.xml");
+
+    // when
+    Collection<Mutant> mutants = parser.parseSourceFiles(report, "com/foo/Bar.java"::equals);
+
+    // then
+    assertThat(mutants).hasSize(2);
+    assertThat(mutants).extracting(Mutant::sourceRelativePath).containsOnly("com/foo/Bar.java");
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(12, 10);
+  }
+
+  @Test
+  public void should_filter_mutants_if_elements_are_unordered() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-unordered.xml");
+
+    // when
+    Collection<Mutant> accepted = parser.parseSourceFiles(report, "org/sonar/plugins/pitest/scanner/PitestSensor.java"::equals);
+    Collection<Mutant> rejected = parser.parseSourceFiles(report, relativePath -> false);
+
+    // then
+    assertThat(accepted).hasSize(1);
+    assertThat(rejected).isEmpty();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void should_throw_exception_if_file_is_invalid() {
+    // given
+
+    // when
+    File report = new File(Resources.getResource("mutations-invalid-format.xml").getFile());
+    parser.parse(report);
+
+    // then
+    failBecauseExceptionWasNotThrown(IllegalStateException.class);
+  }
+
+  @Test
+  public void should_keep_mutants_read_before_truncation_if_lenient() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-truncated.xml");
+
+    // when
+    Collection<Mutant> mutants = new XmlReportParser(true).parse(report);
+
+    // then
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(20, 12);
+  }
+
+  @Test
+  public void should_reject_truncated_report_if_not_lenient() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-truncated.xml");
+
+    // when
+    Throwable thrown = catchThrowable(() -> parser.parse(report));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessage("XML is not valid");
+  }
+
+  @Test
+  public void should_read_block_of_mutants() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-full-matrix.xml");
+
+    // when
+    Collection<Mutant> mutants = parser.parse(report);
+
+    // then
+    assertThat(mutants).extracting(mutant -> mutant.block).containsExactly(2, Mutant.UNKNOWN_BLOCK);
+  }
+
+  @Test
+  public void should_parse_binary_report() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations.bin");
+
+    // when
+    Collection<Mutant> mutants = parser.parse(report);
+
+    // then
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10, 12, 5);
+  }
+
+  @Test
+  public void should_parse_csv_report() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations.csv");
+
+    // when
+    Collection<Mutant> mutants = parser.parse(report);
+
+    // then
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10, 12, 5);
+  }
+
+  @Test
+  public void should_be_lenient_if_configured() {
+    // given
+    Configuration configuration = mock(Configuration.class);
+    when(configuration.getBoolean(PitestConstants.LENIENT_PARSING_KEY)).thenReturn(Optional.of(true));
+    File report = new File(Resources.getResource("mutations-invalid-format.xml").getFile());
+
+    // when
+    Collection<Mutant> mutants = new XmlReportParser(configuration).parse(report);
+
+    // then
+    assertThat(mutants).isEmpty();
+  }
+
+  @Test
+  public void should_skip_excluded_mutants() {
+    // given
+    Configuration configuration = mock(Configuration.class);
+    when(configuration.getStringArray(PitestConstants.EXCLUSIONS_CLASSES_KEY)).thenReturn(new String[0]);
+    when(configuration.getStringArray(PitestConstants.EXCLUSIONS_PATHS_KEY)).thenReturn(new String[0]);
+    when(configuration.getStringArray(PitestConstants.EXCLUSIONS_MUTATORS_KEY)).thenReturn(new String[] {"CONDITIONALS_*"});
+    File report = new File(MODULE_BASE_DIR, "mutations-full-matrix.xml");
+
+    // when
+    Collection<Mutant> mutants = new XmlReportParser(configuration).parse(report);
+
+    // then
+    assertThat(mutants).extracting(Mutant::lineNumber).containsExactly(10);
+  }
+
+  @Test
+  public void should_skip_mutants_of_excluded_classes() {
+    // given
+    XmlReportParser exclusionParser = new XmlReportParser(false, XmlBackend.JDK, MutantExclusions.of(new String[] {"com.foo.*"}, new String[0], new String[0]));
+
+    // when
+    Collection<Mutant> mutants = exclusionParser.parse(new File(MODULE_BASE_DIR, "mutations.csv"));
+
+    // then
+    assertThat(mutants).extracting(mutant -> mutant.mutantLocation.className).containsExactly("com.foo.bar.Baz");
+  }
+
+  @Test
+  public void should_not_resolve_external_entities() {
+    // given
+    File report = new File(MODULE_BASE_DIR, "mutations-external-entity.xml");
+
+    // when
+    Throwable thrown = catchThrowable(() -> parser.parse(report));
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void should_parse_report_with_any_backend() {
+    for (XmlBackend backend : XmlBackend.values()) {
+      // given
+      XmlReportParser backendParser = new XmlReportParser(false, backend);
+
+      // when
+      Collection<Mutant> mutants = backendParser.parse(new File(MODULE_BASE_DIR, "mutations-full-matrix.xml"));
+
+      // then
+      assertThat(mutants).as(backend.getKey()).extracting(Mutant::lineNumber).containsExactly(10, 12);
+    }
+  }
+
+  @Test
+  public void should_log_but_not_throw_exception_if_line_number_parsing_fails() {
+    // given
+
+    // when
+    File report = new File(Resources.getResource("mutations-invalid-format-line-number.xml").getFile());
+    parser.parse(report);
+
+    // then
+  }
+
+  @Test
+  public void should_stop_parsing_when_thread_is_interrupted() {
+    // given
+    XmlReportParser lenientParser = new XmlReportParser(true, XmlBackend.JDK);
+    List<Mutant> mutants = new ArrayList<>();
+    Thread.currentThread().interrupt();
+
+    // when
+    Throwable thrown;
+    try {
+      thrown = catchThrowable(() -> lenientParser.parse(new File(MODULE_BASE_DIR, "mutations.csv"), mutants::add));
+    } finally {
+      Thread.interrupted();
+    }
+
+    // then
+    assertThat(thrown).isInstanceOf(IllegalStateException.class).hasMessageStartingWith("Interrupted while parsing PIT report");
+    assertThat(mutants).isEmpty();
+  }
+}
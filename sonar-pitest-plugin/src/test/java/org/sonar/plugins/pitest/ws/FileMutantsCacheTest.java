@@ -0,0 +1,125 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.ws;
+
+import org.junit.Test;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+import org.sonar.plugins.pitest.scanner.SourceFileReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileMutantsCacheTest {
+
+  private static final String ANALYSIS = "2018-05-01T10:00:00+0000";
+  private static final String NEXT_ANALYSIS = "2018-05-02T10:00:00+0000";
+
+  private final FileMutants oneMutant = FileMutants.decode(mutationsData(1));
+  private final FileMutants twoMutants = FileMutants.decode(mutationsData(2));
+
+  @Test
+  public void should_return_mutants_of_the_same_analysis() {
+    // given
+    FileMutantsCache cache = new FileMutantsCache(FileMutantsCache.DEFAULT_MAX_BYTES);
+
+    // when
+    cache.put(key("a"), ANALYSIS, oneMutant);
+
+    // then
+    assertThat(cache.get(key("a"), ANALYSIS)).isSameAs(oneMutant);
+    assertThat(cache.get(key("a"), NEXT_ANALYSIS)).isNull();
+    assertThat(cache.get(key("b"), ANALYSIS)).isNull();
+  }
+
+  @Test
+  public void should_keep_mutants_of_branches_and_pull_requests_apart() {
+    // given
+    FileMutantsCache cache = new FileMutantsCache(FileMutantsCache.DEFAULT_MAX_BYTES);
+    cache.put(key("a"), ANALYSIS, oneMutant);
+
+    // when
+    cache.put(new FileMutantsCache.FileKey("a", "feature", null), ANALYSIS, twoMutants);
+
+    // then
+    assertThat(cache.get(key("a"), ANALYSIS)).isSameAs(oneMutant);
+    assertThat(cache.get(new FileMutantsCache.FileKey("a", "feature", null), ANALYSIS)).isSameAs(twoMutants);
+    assertThat(cache.get(new FileMutantsCache.FileKey("a", null, "feature"), ANALYSIS)).isNull();
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void should_replace_mutants_of_a_new_analysis() {
+    // given
+    FileMutantsCache cache = new FileMutantsCache(FileMutantsCache.DEFAULT_MAX_BYTES);
+    cache.put(key("a"), ANALYSIS, oneMutant);
+
+    // when
+    cache.put(key("a"), NEXT_ANALYSIS, twoMutants);
+
+    // then
+    assertThat(cache.get(key("a"), NEXT_ANALYSIS)).isSameAs(twoMutants);
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.estimatedBytes()).isEqualTo(twoMutants.estimatedBytes());
+  }
+
+  @Test
+  public void should_evict_least_recently_used_files_above_size_limit() {
+    // given
+    FileMutantsCache cache = new FileMutantsCache(2 * oneMutant.estimatedBytes());
+    cache.put(key("a"), ANALYSIS, oneMutant);
+    cache.put(key("b"), ANALYSIS, oneMutant);
+    cache.get(key("a"), ANALYSIS);
+
+    // when
+    cache.put(key("c"), ANALYSIS, oneMutant);
+
+    // then
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get(key("a"), ANALYSIS)).isSameAs(oneMutant);
+    assertThat(cache.get(key("b"), ANALYSIS)).isNull();
+    assertThat(cache.estimatedBytes()).isEqualTo(2 * oneMutant.estimatedBytes());
+  }
+
+  @Test
+  public void should_not_cache_mutants_larger_than_the_cache() {
+    // given
+    FileMutantsCache cache = new FileMutantsCache(oneMutant.estimatedBytes());
+    cache.put(key("a"), ANALYSIS, oneMutant);
+
+    // when
+    cache.put(key("b"), ANALYSIS, twoMutants);
+
+    // then
+    assertThat(cache.get(key("b"), ANALYSIS)).isNull();
+    assertThat(cache.get(key("a"), ANALYSIS)).isSameAs(oneMutant);
+    assertThat(cache.estimatedBytes()).isEqualTo(oneMutant.estimatedBytes());
+  }
+
+  private static FileMutantsCache.FileKey key(String componentKey) {
+    return new FileMutantsCache.FileKey(componentKey, null, null);
+  }
+
+  private static String mutationsData(int mutants) {
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    for (int i = 0; i < mutants; i++) {
+      sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(i + 1).build());
+    }
+    return sourceFileReport.toJSON();
+  }
+}
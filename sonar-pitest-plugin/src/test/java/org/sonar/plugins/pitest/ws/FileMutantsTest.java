@@ -0,0 +1,119 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.ws;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import org.junit.Test;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+import org.sonar.plugins.pitest.scanner.SourceFileReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class FileMutantsTest {
+
+  @Test
+  public void should_decode_mutations_data_sorted_by_line() {
+    // given
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(20).mutantStatus(MutantStatus.SURVIVED).detected(false).build());
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(5).mutantStatus(MutantStatus.KILLED).detected(true)
+      .killingTest("com.foo.BarTest.shouldCompute").build());
+
+    // when
+    FileMutants fileMutants = FileMutants.decode(sourceFileReport.toJSON());
+
+    // then
+    assertThat(fileMutants.size()).isEqualTo(2);
+    FileMutants.Selection selection = fileMutants.select(1, Integer.MAX_VALUE, Collections.emptySet(), 1, 10);
+    assertThat(selection.total).isEqualTo(2);
+    assertThat(selection.mutants)
+      .extracting(m -> m.line, m -> m.status, m -> m.detected, m -> m.killingTest)
+      .containsExactly(
+        tuple(5, MutantStatus.KILLED, true, "com.foo.BarTest.shouldCompute"),
+        tuple(20, MutantStatus.SURVIVED, false, null));
+    assertThat(selection.mutants.get(0).mutatorName).isNotEmpty();
+    assertThat(selection.mutants.get(0).className).isNotEmpty();
+  }
+
+  @Test
+  public void should_select_mutants_by_line_range_status_and_page() {
+    // given
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    for (int line = 1; line <= 30; line++) {
+      MutantStatus status = line % 2 == 0 ? MutantStatus.SURVIVED : MutantStatus.KILLED;
+      sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(line).mutantStatus(status).detected(status == MutantStatus.KILLED).build());
+    }
+    FileMutants fileMutants = FileMutants.decode(sourceFileReport.toJSON());
+
+    // when
+    FileMutants.Selection selection = fileMutants.select(10, 20, EnumSet.of(MutantStatus.SURVIVED), 2, 4);
+
+    // then
+    assertThat(selection.total).isEqualTo(6);
+    assertThat(selection.mutants).extracting(m -> m.line).containsExactly(18, 20);
+  }
+
+  @Test
+  public void should_select_nothing_past_the_last_page_or_line() {
+    // given
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(3).build());
+    FileMutants fileMutants = FileMutants.decode(sourceFileReport.toJSON());
+
+    // when
+    FileMutants.Selection afterLastPage = fileMutants.select(1, 10, Collections.emptySet(), 2, 10);
+    FileMutants.Selection afterLastLine = fileMutants.select(4, 10, Collections.emptySet(), 1, 10);
+
+    // then
+    assertThat(afterLastPage.total).isEqualTo(1);
+    assertThat(afterLastPage.mutants).isEmpty();
+    assertThat(afterLastLine.total).isZero();
+    assertThat(afterLastLine.mutants).isEmpty();
+    assertThat(FileMutants.EMPTY.select(1, 10, Collections.emptySet(), 1, 10).total).isZero();
+  }
+
+  @Test
+  public void should_estimate_size_from_mutants_and_their_strings() {
+    // given
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(5).build());
+    FileMutants oneMutant = FileMutants.decode(sourceFileReport.toJSON());
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(6).killingTest("com.foo.BarTest.shouldCompute").build());
+
+    // when
+    FileMutants twoMutants = FileMutants.decode(sourceFileReport.toJSON());
+
+    // then
+    assertThat(FileMutants.EMPTY.estimatedBytes()).isZero();
+    assertThat(oneMutant.estimatedBytes()).isPositive();
+    assertThat(twoMutants.estimatedBytes()).isGreaterThan(oneMutant.estimatedBytes());
+  }
+
+  @Test
+  public void should_fail_on_invalid_mutations_data() {
+    assertThatThrownBy(() -> FileMutants.decode("{\"12\":"))
+      .isInstanceOf(IllegalStateException.class)
+      .hasMessageStartingWith("Invalid mutations data");
+  }
+}
@@ -0,0 +1,345 @@
+/*
+ * Sonar Pitest Plugin
+ * Copyright (C) 2009-2018 Vinod Anandan
+ * vinod@owasp.org
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.pitest.ws;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.sonar.api.server.ws.LocalConnector;
+import org.sonar.api.server.ws.Response;
+import org.sonar.api.server.ws.WebService;
+import org.sonar.api.server.ws.internal.SimpleGetRequest;
+import org.sonar.api.utils.text.JsonWriter;
+import org.sonar.api.utils.text.XmlWriter;
+import org.sonar.plugins.pitest.PitestMetrics;
+import org.sonar.plugins.pitest.domain.MutantStatus;
+import org.sonar.plugins.pitest.domain.TestMutantBuilder;
+import org.sonar.plugins.pitest.scanner.SourceFileReport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MutantsActionTest {
+
+  private static final String FILE_KEY = "my_project:src/main/java/com/foo/Bar.java";
+  private static final String ANALYSIS = "2018-05-01T10:00:00+0000";
+  private static final String NEXT_ANALYSIS = "2018-05-02T10:00:00+0000";
+
+  private final FileMutantsCache cache = new FileMutantsCache(FileMutantsCache.DEFAULT_MAX_BYTES);
+  private final MutantsAction underTest = new MutantsAction(cache);
+  private final LocalConnector localConnector = mock(LocalConnector.class);
+  private final TestResponse response = new TestResponse();
+
+  @Test
+  public void should_define_action() {
+    // given
+    WebService.Context context = new WebService.Context();
+
+    // when
+    new PitestWebService(underTest).define(context);
+
+    // then
+    WebService.Action action = context.controller(PitestWebService.CONTROLLER).action(MutantsAction.ACTION);
+    assertThat(action.isPost()).isFalse();
+    assertThat(action.responseExampleAsString()).isNotEmpty();
+    assertThat(action.param(MutantsAction.PARAM_COMPONENT).isRequired()).isTrue();
+    assertThat(action.param(MutantsAction.PARAM_FROM_LINE).defaultValue()).isEqualTo("1");
+    assertThat(action.param(MutantsAction.PARAM_STATUSES).possibleValues()).hasSize(MutantStatus.values().length);
+    assertThat(action.param(WebService.Param.PAGE_SIZE).defaultValue()).isEqualTo("100");
+    assertThat(action.param(MutantsAction.PARAM_BRANCH).isInternal()).isTrue();
+    assertThat(action.param(MutantsAction.PARAM_PULL_REQUEST).isInternal()).isTrue();
+  }
+
+  @Test
+  public void should_return_page_of_mutants_in_line_range() throws IOException {
+    // given
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    for (int line = 1; line <= 10; line++) {
+      sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(line).mutantStatus(MutantStatus.SURVIVED).detected(false).build());
+    }
+    respond(MutantsAction.COMPONENTS_PATH, 200, component(ANALYSIS));
+    respond(MutantsAction.MEASURES_PATH, 200, measures(sourceFileReport.toJSON()));
+
+    // when
+    underTest.handle(request().setParam("from", "3").setParam("to", "8").setParam("p", "2").setParam("ps", "4"), response);
+
+    // then
+    String json = response.content();
+    assertThat(json).startsWith("{\"component\":\"" + FILE_KEY + "\",\"paging\":{\"pageIndex\":2,\"pageSize\":4,\"total\":6}");
+    assertThat(json).contains("\"line\":7,\"status\":\"SURVIVED\"", "\"line\":8,\"status\":\"SURVIVED\"");
+    assertThat(json).doesNotContain("\"line\":6,", "\"line\":9,");
+
+    ArgumentCaptor<LocalConnector.LocalRequest> requests = ArgumentCaptor.forClass(LocalConnector.LocalRequest.class);
+    verify(localConnector, times(2)).call(requests.capture());
+    LocalConnector.LocalRequest componentRequest = requests.getAllValues().get(0);
+    assertThat(componentRequest.getPath()).isEqualTo(MutantsAction.COMPONENTS_PATH);
+    assertThat(componentRequest.getParam("component")).isEqualTo(FILE_KEY);
+    LocalConnector.LocalRequest measuresRequest = requests.getAllValues().get(1);
+    assertThat(measuresRequest.getPath()).isEqualTo(MutantsAction.MEASURES_PATH);
+    assertThat(measuresRequest.getParam("component")).isEqualTo(FILE_KEY);
+    assertThat(measuresRequest.getParam("metricKeys")).isEqualTo(PitestMetrics.MUTATIONS_DATA_KEY);
+    assertThat(measuresRequest.hasParam("branch")).isFalse();
+    assertThat(measuresRequest.hasParam("pullRequest")).isFalse();
+  }
+
+  @Test
+  public void should_read_mutants_of_branch_and_pull_request() throws IOException {
+    // given
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(1).build());
+    respond(MutantsAction.COMPONENTS_PATH, 200, component(ANALYSIS));
+    respond(MutantsAction.MEASURES_PATH, 200, measures(sourceFileReport.toJSON()));
+    underTest.handle(request(), new TestResponse());
+
+    // when
+    underTest.handle(request().setParam("branch", "feature/my_branch"), new TestResponse());
+    underTest.handle(request().setParam("pullRequest", "5461"), response);
+
+    // then each branch and pull request has its own analysis and mutants
+    ArgumentCaptor<LocalConnector.LocalRequest> requests = ArgumentCaptor.forClass(LocalConnector.LocalRequest.class);
+    verify(localConnector, times(6)).call(requests.capture());
+    assertThat(requests.getAllValues()).extracting(localRequest -> localRequest.getParam("branch"))
+      .containsExactly(null, null, "feature/my_branch", "feature/my_branch", null, null);
+    assertThat(requests.getAllValues()).extracting(localRequest -> localRequest.getParam("pullRequest"))
+      .containsExactly(null, null, null, null, "5461", "5461");
+    assertThat(cache.size()).isEqualTo(3);
+    assertThat(cache.get(new FileMutantsCache.FileKey(FILE_KEY, "feature/my_branch", null), ANALYSIS)).isNotNull();
+  }
+
+  @Test
+  public void should_read_measure_once_per_analysis() throws IOException {
+    // given
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(1).build());
+    respond(MutantsAction.COMPONENTS_PATH, 200, component(ANALYSIS));
+    respond(MutantsAction.MEASURES_PATH, 200, measures(sourceFileReport.toJSON()));
+    underTest.handle(request(), new TestResponse());
+
+    // when
+    underTest.handle(request(), new TestResponse());
+    respond(MutantsAction.COMPONENTS_PATH, 200, component(NEXT_ANALYSIS));
+    underTest.handle(request(), response);
+
+    // then
+    verify(localConnector, times(3)).call(argThat(localRequest -> MutantsAction.COMPONENTS_PATH.equals(localRequest.getPath())));
+    verify(localConnector, times(2)).call(argThat(localRequest -> MutantsAction.MEASURES_PATH.equals(localRequest.getPath())));
+    assertThat(response.content()).contains("\"total\":1");
+    assertThat(cache.get(new FileMutantsCache.FileKey(FILE_KEY, null, null), NEXT_ANALYSIS)).isNotNull();
+  }
+
+  @Test
+  public void should_not_cache_mutants_of_component_without_analysis_date() throws IOException {
+    // given
+    respond(MutantsAction.COMPONENTS_PATH, 200, "{\"component\":{\"key\":\"" + FILE_KEY + "\"}}");
+    respond(MutantsAction.MEASURES_PATH, 200, measures("{\"1\":[]}"));
+
+    // when
+    underTest.handle(request(), response);
+
+    // then
+    assertThat(response.content()).contains("\"total\":0");
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void should_filter_mutants_by_status() throws IOException {
+    // given
+    SourceFileReport sourceFileReport = new SourceFileReport("com/foo/Bar.java");
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(1).mutantStatus(MutantStatus.KILLED).build());
+    sourceFileReport.addMutant(new TestMutantBuilder().lineNumber(2).mutantStatus(MutantStatus.NO_COVERAGE).detected(false).build());
+    respond(MutantsAction.COMPONENTS_PATH, 200, component(ANALYSIS));
+    respond(MutantsAction.MEASURES_PATH, 200, measures(sourceFileReport.toJSON()));
+
+    // when
+    underTest.handle(request().setParam("statuses", "SURVIVED,NO_COVERAGE"), response);
+
+    // then
+    assertThat(response.content())
+      .contains("\"total\":1")
+      .contains("\"line\":2,\"status\":\"NO_COVERAGE\"")
+      .doesNotContain("KILLED");
+  }
+
+  @Test
+  public void should_return_no_mutants_when_file_has_no_measure() throws IOException {
+    // given
+    respond(MutantsAction.COMPONENTS_PATH, 200, component(ANALYSIS));
+    respond(MutantsAction.MEASURES_PATH, 200, "{\"component\":{\"key\":\"" + FILE_KEY + "\",\"measures\":[]}}");
+
+    // when
+    underTest.handle(request(), response);
+
+    // then
+    assertThat(response.content()).contains("\"total\":0").contains("\"mutants\":[]");
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  public void should_forward_component_errors() throws IOException {
+    // given
+    String error = "{\"errors\":[{\"msg\":\"Insufficient privileges\"}]}";
+    respond(MutantsAction.COMPONENTS_PATH, 403, error);
+
+    // when
+    underTest.handle(request(), response);
+
+    // then
+    assertThat(response.status).isEqualTo(403);
+    assertThat(response.content()).isEqualTo(error);
+    verify(localConnector, never()).call(argThat(localRequest -> MutantsAction.MEASURES_PATH.equals(localRequest.getPath())));
+  }
+
+  @Test
+  public void should_forward_measures_errors() throws IOException {
+    // given
+    String error = "{\"errors\":[{\"msg\":\"Component not found\"}]}";
+    respond(MutantsAction.COMPONENTS_PATH, 200, component(ANALYSIS));
+    respond(MutantsAction.MEASURES_PATH, 404, error);
+
+    // when
+    underTest.handle(request(), response);
+
+    // then
+    assertThat(response.status).isEqualTo(404);
+    assertThat(response.content()).isEqualTo(error);
+  }
+
+  @Test
+  public void should_extract_analysis_date_from_component() {
+    assertThat(MutantsAction.analysisDate(bytes(component(ANALYSIS)))).isEqualTo(ANALYSIS);
+    assertThat(MutantsAction.analysisDate(bytes("{\"component\":{\"key\":\"" + FILE_KEY + "\"}}"))).isNull();
+  }
+
+  @Test
+  public void should_extract_mutations_data_from_measures() {
+    assertThat(MutantsAction.mutationsData(bytes(measures("{\"1\":[]}")))).isEqualTo("{\"1\":[]}");
+  }
+
+  private SimpleGetRequest request() {
+    SimpleGetRequest request = new SimpleGetRequest() {
+      @Override
+      public LocalConnector localConnector() {
+        return localConnector;
+      }
+    };
+    // SimpleGetRequest does not apply the default values of the action
+    return request.setParam("component", FILE_KEY).setParam("from", "1").setParam("p", "1").setParam("ps", "100");
+  }
+
+  private void respond(String path, int status, String body) {
+    LocalConnector.LocalResponse localResponse = mock(LocalConnector.LocalResponse.class);
+    when(localResponse.getStatus()).thenReturn(status);
+    when(localResponse.getMediaType()).thenReturn("application/json");
+    when(localResponse.getBytes()).thenReturn(bytes(body));
+    when(localConnector.call(argThat(localRequest -> localRequest != null && path.equals(localRequest.getPath())))).thenReturn(localResponse);
+  }
+
+  private static String component(String analysisDate) {
+    return "{\"component\":{\"key\":\"" + FILE_KEY + "\",\"qualifier\":\"FIL\",\"analysisDate\":\"" + analysisDate + "\"}}";
+  }
+
+  private static String measures(String mutationsData) {
+    StringWriter writer = new StringWriter();
+    JsonWriter json = JsonWriter.of(writer);
+    json.beginObject().name("component").beginObject()
+      .prop("key", FILE_KEY)
+      .name("measures").beginArray()
+      .beginObject().prop("metric", PitestMetrics.MUTATIONS_DATA_KEY).prop("value", mutationsData).endObject()
+      .endArray()
+      .endObject().endObject().close();
+    return writer.toString();
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(StandardCharsets.UTF_8);
+  }
+
+  private static final class TestResponse implements Response, Response.Stream {
+    private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    private int status = 200;
+
+    String content() {
+      return new String(output.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public JsonWriter newJsonWriter() {
+      return JsonWriter.of(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public XmlWriter newXmlWriter() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Response noContent() {
+      return this;
+    }
+
+    @Override
+    public Response setHeader(String name, String value) {
+      return this;
+    }
+
+    @Override
+    public Collection<String> getHeaderNames() {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public String getHeader(String name) {
+      return null;
+    }
+
+    @Override
+    public Stream stream() {
+      return this;
+    }
+
+    @Override
+    public Stream setMediaType(String s) {
+      return this;
+    }
+
+    @Override
+    public Stream setStatus(int httpStatus) {
+      this.status = httpStatus;
+      return this;
+    }
+
+    @Override
+    public OutputStream output() {
+      return output;
+    }
+  }
+}